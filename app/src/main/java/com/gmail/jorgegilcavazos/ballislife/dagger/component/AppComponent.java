@@ -3,6 +3,8 @@ package com.gmail.jorgegilcavazos.ballislife.dagger.component;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.AppModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.BindModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.DataModule;
+import com.gmail.jorgegilcavazos.ballislife.data.firebase.MyMessagingService;
+import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.boxscore.BoxScoreFragment;
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesFragment;
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesHomeFragment;
@@ -31,6 +33,8 @@ import dagger.Component;
 @Singleton
 @Component(modules = {AppModule.class, DataModule.class, BindModule.class})
 public interface AppComponent {
+    void inject(BallIsLifeApplication application);
+
     void inject(MainActivity activity);
 
     void inject(HighlightsFragment fragment);
@@ -70,4 +74,6 @@ public interface AppComponent {
     void inject(GamesHomeFragment gamesHomeFragment);
 
     void inject(HighlightsMenuFragment highlightsMenuFragment);
+
+    void inject(MyMessagingService myMessagingService);
 }
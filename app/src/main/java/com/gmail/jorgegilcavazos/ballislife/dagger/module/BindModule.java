@@ -8,16 +8,28 @@ import com.gmail.jorgegilcavazos.ballislife.data.local.AppLocalRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthenticationImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreLocalStore;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreLocalStoreImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.comments.ContributionRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.comments.ContributionRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesLocalStore;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesLocalStoreImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.PlayoffSeriesRepository;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.PlayoffSeriesRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesLocalStore;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesLocalStoreImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesRemoteStore;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesRemoteStoreImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.FavoritesRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.HighlightsLocalStore;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.HighlightsLocalStoreImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.HighlightsRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.HighlightsRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.posts.PostsRepository;
@@ -65,14 +77,33 @@ public abstract class BindModule {
     @Binds
     public abstract GamesRepository bindGamesRepository(GamesRepositoryImpl gamesRepositoryImpl);
 
+    @Binds
+    public abstract GamesLocalStore bindGamesLocalStore(GamesLocalStoreImpl gamesLocalStoreImpl);
+
+    @Binds
+    public abstract PlayoffSeriesRepository bindPlayoffSeriesRepository(
+            PlayoffSeriesRepositoryImpl playoffSeriesRepositoryImpl);
+
     @Binds
     public abstract HighlightsRepository bindHighlightsRepository(
             HighlightsRepositoryImpl highlightsRepositoryImpl);
 
+    @Binds
+    public abstract HighlightsLocalStore bindHighlightsLocalStore(
+            HighlightsLocalStoreImpl highlightsLocalStoreImpl);
+
     @Binds
     public abstract FavoritesRepository bindFavoritesRepository(
             FavoritesRepositoryImpl favoritesRepositoryImpl);
 
+    @Binds
+    public abstract FavoritesLocalStore bindFavoritesLocalStore(
+            FavoritesLocalStoreImpl favoritesLocalStoreImpl);
+
+    @Binds
+    public abstract FavoritesRemoteStore bindFavoritesRemoteStore(
+            FavoritesRemoteStoreImpl favoritesRemoteStoreImpl);
+
     @Binds
     public abstract SubmissionRepository bindSubmissionRepository(
             SubmissionRepositoryImpl submissionRepositoryImpl);
@@ -98,6 +129,10 @@ public abstract class BindModule {
     public abstract BoxScoreRepository bindBoxScoreRepository(
             BoxScoreRepositoryImpl boxScoreRepositoryImpl);
 
+    @Binds
+    public abstract BoxScoreLocalStore bindBoxScoreLocalStore(
+            BoxScoreLocalStoreImpl boxScoreLocalStoreImpl);
+
     @Binds
     public abstract RemoteConfig bindRemoteConfig(RemoteConfigImpl remoteConfigImpl);
 }
@@ -6,21 +6,30 @@ import android.preference.PreferenceManager;
 
 import com.gmail.jorgegilcavazos.ballislife.BuildConfig;
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalSharedPreferences;
+import com.gmail.jorgegilcavazos.ballislife.data.service.CachePolicyInterceptor;
 import com.gmail.jorgegilcavazos.ballislife.data.service.HighlightsService;
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService;
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaService;
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.json.BoxScoreResponseTypeAdapter;
+import com.gmail.jorgegilcavazos.ballislife.data.service.json.GameV2TypeAdapter;
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse;
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2;
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils;
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtilsImpl;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.jakewharton.retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
+import java.io.File;
+
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
 import io.reactivex.disposables.CompositeDisposable;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
@@ -33,6 +42,9 @@ import static com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthenticat
 @Module
 public class DataModule {
 
+    private static final String HTTP_CACHE_DIR = "http";
+    private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024;
+
     String swishBaseUrl;
     String nbaBaseUrl;
 
@@ -44,17 +56,27 @@ public class DataModule {
     @Provides
     @Singleton
     Gson provideGson() {
-        return new Gson();
+        // Payloads that are fetched often are streamed by hand instead of decoded by reflection.
+        return new GsonBuilder()
+                .registerTypeAdapter(BoxScoreResponse.class, new BoxScoreResponseTypeAdapter())
+                .registerTypeAdapter(GameV2.class, new GameV2TypeAdapter())
+                .create();
     }
 
     @Provides
     @Singleton
-    OkHttpClient provideOkHttpClient() {
+    OkHttpClient provideOkHttpClient(Application app) {
         HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
         interceptor.setLevel(BuildConfig.DEBUG ? HttpLoggingInterceptor.Level.BODY :
                 HttpLoggingInterceptor.Level.NONE);
 
-        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+        Cache cache = new Cache(new File(app.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE);
+
+        return new OkHttpClient.Builder()
+                .cache(cache)
+                .addNetworkInterceptor(CachePolicyInterceptor.withDefaultPolicies())
+                .addInterceptor(interceptor)
+                .build();
     }
 
     @Provides
@@ -11,14 +11,21 @@ import android.preference.PreferenceManager;
 import android.support.v4.app.NotificationCompat;
 
 import com.gmail.jorgegilcavazos.ballislife.R;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepository;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.ScoreUpdate;
+import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.main.MainActivity;
 import com.gmail.jorgegilcavazos.ballislife.features.settings.SettingsFragment;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
+import com.google.gson.Gson;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.inject.Inject;
+
 public class MyMessagingService extends FirebaseMessagingService {
 
     private static final String TAG = "MyMessagingService";
@@ -30,9 +37,25 @@ public class MyMessagingService extends FirebaseMessagingService {
     public static final String KEY_SCORES_UPDATED = "scores_updated";
     public static final String FILTER_SCORES_UPDATED = "com.gmail.jorgegilcavazos.ballislife.SCORES_UPDATED";
 
+    @Inject GamesRepository gamesRepository;
+    @Inject Gson gson;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        BallIsLifeApplication.getAppComponent().inject(this);
+    }
+
     @Override
     public void onMessageReceived(RemoteMessage remoteMessage) {
         // If the application is in the foreground handle both data and notification messages here.
+        Map<String, String> data = remoteMessage.getData();
+
+        // Score updates aren't alerts, they only keep the cached games fresh.
+        if (data.size() > 0 && SCORES_UPDATE_TYPE.equals(data.get(TYPE_KEY))) {
+            onScoresUpdateReceived(data);
+            return;
+        }
 
         // Ignore notifications if alerts are disabled in settings.
         if (!areAlertsEnabled()) {
@@ -40,16 +63,8 @@ public class MyMessagingService extends FirebaseMessagingService {
         }
 
         // Check if message contains a data payload.
-        if (remoteMessage.getData().size() > 0) {
-            Map<String, String> data = remoteMessage.getData();
-            switch (data.get(TYPE_KEY)) {
-                case CGA_TYPE:
-                    onCgaMessageReceived(data);
-                    break;
-                case SCORES_UPDATE_TYPE:
-                    onScoresUpdateReceived(data);
-                    break;
-            }
+        if (data.size() > 0 && CGA_TYPE.equals(data.get(TYPE_KEY))) {
+            onCgaMessageReceived(data);
         }
 
         // Check if message contains a notification payload.
@@ -59,9 +74,20 @@ public class MyMessagingService extends FirebaseMessagingService {
 
     }
 
+    /**
+     * Applies the score changes in the message to the cached games. The body of the message is a
+     * JSON array of {@link ScoreUpdate}s.
+     */
     private void onScoresUpdateReceived(Map<String, String> data) {
+        String body = data.get("body");
+
+        List<ScoreUpdate> updates = ScoreUpdate.parseAll(gson, body);
+        if (!updates.isEmpty()) {
+            gamesRepository.applyScoreUpdates(updates);
+        }
+
         Intent intent = new Intent(FILTER_SCORES_UPDATED);
-        intent.putExtra(KEY_SCORES_UPDATED, data.get("body"));
+        intent.putExtra(KEY_SCORES_UPDATED, body);
         sendBroadcast(intent);
     }
 
@@ -0,0 +1,61 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns
+
+/**
+ * Binary encoding of a [BoxScoreResponse]. The stats of a team are stored by column, one int
+ * per player for each stat, followed by the player ids and names.
+ */
+object BoxScoreSnapshot {
+
+  // Nulls are stored as this value in int columns.
+  private const val NO_VALUE = TeamStatColumns.NO_ID
+
+  fun write(writer: SnapshotWriter, boxScore: BoxScoreResponse) {
+    val values = boxScore.game
+    writer.putInt(values.st ?: NO_VALUE)
+    writeTeam(writer, values.hls)
+    writeTeam(writer, values.vls)
+  }
+
+  fun read(reader: SnapshotReader): BoxScoreResponse {
+    val status = reader.getInt().takeIf { it != NO_VALUE }
+    val home = readTeam(reader)
+    val visitor = readTeam(reader)
+    return BoxScoreResponse(BoxScoreValues(home, visitor, status))
+  }
+
+  private fun writeTeam(writer: SnapshotWriter, team: BoxScoreTeam) {
+    val players = team.players
+    val count = players.playerCount
+    writer.putInt(team.score)
+    writer.putInt(count)
+    for (stat in 0 until TeamStatColumns.STAT_COUNT) {
+      writer.putInts(count) { players.get(stat, it) }
+    }
+    writer.putInts(count) { players.playerId(it) ?: NO_VALUE }
+    for (player in 0 until count) {
+      writer.putString(players.firstName(player))
+      writer.putString(players.lastName(player))
+    }
+  }
+
+  private fun readTeam(reader: SnapshotReader): BoxScoreTeam {
+    val score = reader.getInt()
+    // Each player has every stat, an id and two names.
+    val count = reader.getCount((TeamStatColumns.STAT_COUNT + 3) * 4)
+    // Same layout as TeamStatColumns, so the arrays are used as read.
+    val stats = Array(TeamStatColumns.STAT_COUNT) { reader.getIntArray(count) }
+    val ids = reader.getIntArray(count)
+    val firstNames = arrayOfNulls<String>(count)
+    val lastNames = arrayOfNulls<String>(count)
+    for (player in 0 until count) {
+      firstNames[player] = reader.getString()
+      lastNames[player] = reader.getString()
+    }
+    return BoxScoreTeam(TeamStatColumns.of(stats, ids, firstNames, lastNames), score)
+  }
+}
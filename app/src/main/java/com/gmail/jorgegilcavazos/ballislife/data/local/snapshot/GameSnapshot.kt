@@ -0,0 +1,113 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Broadcaster
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.MediaSource
+
+/**
+ * Binary encoding of lists of [GameV2].
+ */
+object GameSnapshot {
+
+  // The smallest encodings: a game with empty strings and no broadcasters, a media type without
+  // broadcasters and a broadcaster with empty strings.
+  private const val MIN_GAME_BYTES = 24 * 4 + 8 + 4
+  private const val MIN_MEDIA_TYPE_BYTES = 4 + 4
+  private const val MIN_BROADCASTER_BYTES = 3 * 4
+
+  fun writeAll(writer: SnapshotWriter, games: Collection<GameV2>) {
+    writer.putInt(games.size)
+    games.forEach { write(writer, it) }
+  }
+
+  fun readAll(reader: SnapshotReader): List<GameV2> {
+    val count = reader.getCount(MIN_GAME_BYTES)
+    return List(count) { read(reader) }
+  }
+
+  fun write(writer: SnapshotWriter, game: GameV2) {
+    writer.putString(game.arena)
+        .putString(game.awayTeamAbbr)
+        .putString(game.awayTeamCity)
+        .putString(game.awayTeamId)
+        .putString(game.awayTeamKey)
+        .putString(game.awayTeamNickname)
+        .putString(game.awayTeamScore)
+        .putString(game.city)
+        .putString(game.date)
+        .putString(game.gameClock)
+        .putString(game.gameStatus)
+        .putString(game.homeTeamAbbr)
+        .putString(game.homeTeamCity)
+        .putString(game.homeTeamId)
+        .putString(game.homeTeamKey)
+        .putString(game.homeTeamNickname)
+        .putString(game.homeTeamScore)
+        .putString(game.id)
+        .putString(game.periodName)
+        .putString(game.periodStatus)
+        .putString(game.periodValue)
+        .putString(game.time)
+        .putLong(game.timeUtc)
+        .putString(game.totalPeriods)
+        .putString(game.seriesSummary)
+
+    writer.putInt(game.broadcasters.size)
+    game.broadcasters.forEach { (mediaType, source) ->
+      writer.putString(mediaType)
+      writer.putInt(source.broadcaster.size)
+      source.broadcaster.forEach {
+        writer.putString(it.displayName)
+            .putString(it.homeVisitor)
+            .putString(it.scope)
+      }
+    }
+  }
+
+  fun read(reader: SnapshotReader): GameV2 {
+    val game = GameV2(
+        arena = reader.string(),
+        awayTeamAbbr = reader.string(),
+        awayTeamCity = reader.string(),
+        awayTeamId = reader.string(),
+        awayTeamKey = reader.string(),
+        awayTeamNickname = reader.string(),
+        awayTeamScore = reader.string(),
+        broadcasters = emptyMap(),
+        city = reader.string(),
+        date = reader.string(),
+        gameClock = reader.string(),
+        gameStatus = reader.string(),
+        homeTeamAbbr = reader.string(),
+        homeTeamCity = reader.string(),
+        homeTeamId = reader.string(),
+        homeTeamKey = reader.string(),
+        homeTeamNickname = reader.string(),
+        homeTeamScore = reader.string(),
+        id = reader.string(),
+        periodName = reader.string(),
+        periodStatus = reader.string(),
+        periodValue = reader.string(),
+        time = reader.string(),
+        timeUtc = reader.getLong(),
+        totalPeriods = reader.string(),
+        seriesSummary = reader.getString())
+
+    val mediaTypes = reader.getCount(MIN_MEDIA_TYPE_BYTES)
+    if (mediaTypes == 0) {
+      return game
+    }
+    val broadcasters = HashMap<String, MediaSource>(mediaTypes)
+    repeat(mediaTypes) {
+      val mediaType = reader.string()
+      val sources = List(reader.getCount(MIN_BROADCASTER_BYTES)) {
+        Broadcaster(reader.string(), reader.string(), reader.string())
+      }
+      broadcasters[mediaType] = MediaSource(sources)
+    }
+    return game.copy(broadcasters = broadcasters)
+  }
+
+  // Reads a property that is never written as null.
+  private fun SnapshotReader.string() = getString() ?: ""
+}
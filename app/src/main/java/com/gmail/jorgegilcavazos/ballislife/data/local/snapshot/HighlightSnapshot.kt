@@ -0,0 +1,49 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import java.util.*
+
+/**
+ * Binary encoding of lists of [Highlight].
+ */
+object HighlightSnapshot {
+
+  // Highlights without a favorite date store this instead.
+  private const val NO_DATE = Long.MIN_VALUE
+
+  // A highlight with empty strings.
+  const val MIN_HIGHLIGHT_BYTES = 5 * 4 + 4 + 8 + 8
+
+  fun writeAll(writer: SnapshotWriter, highlights: Collection<Highlight>) {
+    writer.putInt(highlights.size)
+    highlights.forEach { write(writer, it) }
+  }
+
+  fun readAll(reader: SnapshotReader): List<Highlight> {
+    val count = reader.getCount(MIN_HIGHLIGHT_BYTES)
+    return List(count) { read(reader) }
+  }
+
+  fun write(writer: SnapshotWriter, highlight: Highlight) {
+    writer.putString(highlight.id)
+        .putString(highlight.title)
+        .putString(highlight.thumbnail)
+        .putString(highlight.hdThumbnail)
+        .putString(highlight.url)
+        .putInt(highlight.score)
+        .putLong(highlight.createdUtc)
+        .putLong(highlight.favTime?.time ?: NO_DATE)
+  }
+
+  fun read(reader: SnapshotReader): Highlight {
+    return Highlight(
+        id = reader.getString() ?: "",
+        title = reader.getString() ?: "",
+        thumbnail = reader.getString(),
+        hdThumbnail = reader.getString(),
+        url = reader.getString() ?: "",
+        score = reader.getInt(),
+        createdUtc = reader.getLong(),
+        favTime = reader.getLong().takeIf { it != NO_DATE }?.let { Date(it) })
+  }
+}
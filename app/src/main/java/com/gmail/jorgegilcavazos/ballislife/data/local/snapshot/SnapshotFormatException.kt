@@ -0,0 +1,10 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import java.io.IOException
+
+/**
+ * Thrown when a snapshot can't be decoded, either because it's truncated or because it was
+ * written with a different format version. The snapshot should be discarded.
+ */
+class SnapshotFormatException(message: String, cause: Throwable? = null)
+  : IOException(message, cause)
@@ -0,0 +1,54 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import java.nio.ByteBuffer
+
+/**
+ * Decodes the primitives written by a [SnapshotWriter], in the same order.
+ */
+class SnapshotReader(private val buffer: ByteBuffer) {
+
+  fun getByte(): Byte = buffer.get()
+
+  fun getShort(): Short = buffer.short
+
+  fun getInt(): Int = buffer.int
+
+  fun getLong(): Long = buffer.long
+
+  fun getString(): String? {
+    val length = buffer.int
+    if (length < 0) {
+      return null
+    }
+    if (length > buffer.remaining()) {
+      throw SnapshotFormatException("String of $length bytes past the end of the snapshot")
+    }
+    val string = String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+        Charsets.UTF_8)
+    buffer.position(buffer.position() + length)
+    return string
+  }
+
+  /**
+   * Reads the number of elements that follow, each taking at least [minElementBytes]. A negative
+   * count, or one that can't fit in the rest of the snapshot, means it's corrupt.
+   */
+  fun getCount(minElementBytes: Int): Int {
+    val count = buffer.int
+    if (count < 0 || count > buffer.remaining() / minElementBytes) {
+      throw SnapshotFormatException(
+          "Count $count doesn't fit in the ${buffer.remaining()} bytes left")
+    }
+    return count
+  }
+
+  fun getIntArray(count: Int): IntArray {
+    if (count < 0 || count > buffer.remaining() / 4) {
+      throw SnapshotFormatException("Array of $count ints past the end of the snapshot")
+    }
+    val array = IntArray(count)
+    buffer.asIntBuffer().get(array)
+    buffer.position(buffer.position() + count * 4)
+    return array
+  }
+}
@@ -0,0 +1,71 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import java.nio.ByteBuffer
+
+/**
+ * Encodes primitives into a growable [ByteBuffer]. Strings are written as their UTF-8 length
+ * followed by their bytes, with a length of -1 for null.
+ */
+class SnapshotWriter(initialCapacity: Int = 4096) {
+
+  private var buffer: ByteBuffer = ByteBuffer.allocate(initialCapacity)
+
+  fun putByte(value: Byte) = apply {
+    ensureCapacity(1)
+    buffer.put(value)
+  }
+
+  fun putShort(value: Short) = apply {
+    ensureCapacity(2)
+    buffer.putShort(value)
+  }
+
+  fun putInt(value: Int) = apply {
+    ensureCapacity(4)
+    buffer.putInt(value)
+  }
+
+  fun putLong(value: Long) = apply {
+    ensureCapacity(8)
+    buffer.putLong(value)
+  }
+
+  fun putString(value: String?) = apply {
+    if (value == null) {
+      putInt(-1)
+    } else {
+      val bytes = value.toByteArray(Charsets.UTF_8)
+      putInt(bytes.size)
+      ensureCapacity(bytes.size)
+      buffer.put(bytes)
+    }
+  }
+
+  /**
+   * Writes [count] ints produced by [valueAt], without boxing them.
+   */
+  inline fun putInts(count: Int, valueAt: (Int) -> Int) = apply {
+    for (i in 0 until count) {
+      putInt(valueAt(i))
+    }
+  }
+
+  /**
+   * Returns the written bytes, ready to be read or written to a channel.
+   */
+  fun toBuffer(): ByteBuffer {
+    val result = buffer.duplicate()
+    result.flip()
+    return result
+  }
+
+  private fun ensureCapacity(bytes: Int) {
+    if (buffer.remaining() >= bytes) {
+      return
+    }
+    val grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+    buffer.flip()
+    grown.put(buffer)
+    buffer = grown
+  }
+}
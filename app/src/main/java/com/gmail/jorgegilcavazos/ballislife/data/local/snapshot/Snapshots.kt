@@ -0,0 +1,104 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.nio.BufferUnderflowException
+import java.nio.ByteBuffer
+
+/**
+ * Reads and writes snapshot files through NIO channels. Every snapshot starts with a header
+ * made of a magic number, the format [VERSION] and the [kind] of the content, so that a file
+ * written by another version of the app, or holding something else, is rejected instead of
+ * being misread.
+ */
+object Snapshots {
+
+  /** Bump whenever the encoding of any snapshot changes. */
+  const val VERSION: Short = 2
+
+  const val KIND_BOX_SCORE: Byte = 1
+  const val KIND_GAMES_DAY: Byte = 2
+  const val KIND_HIGHLIGHTS: Byte = 3
+  const val KIND_FAVORITES: Byte = 4
+
+  private const val MAGIC = 0x53574953 // "SWIS"
+
+  /**
+   * Writes a snapshot of [kind] to [file], atomically replacing any previous one. When written
+   * concurrently, the last write to finish wins.
+   */
+  @Throws(IOException::class)
+  fun write(file: File, kind: Byte, body: (SnapshotWriter) -> Unit) {
+    val writer = SnapshotWriter()
+        .putInt(MAGIC)
+        .putShort(VERSION)
+        .putByte(kind)
+    body(writer)
+    val buffer = writer.toBuffer()
+
+    // Write to a temporary file first so that a crash mid-write never leaves a partial file. Each
+    // write gets its own, so concurrent writers of the same snapshot never mix their bytes.
+    val tmpFile = File.createTempFile(file.name, ".tmp", file.parentFile)
+    try {
+      FileOutputStream(tmpFile).channel.use { channel ->
+        while (buffer.hasRemaining()) {
+          channel.write(buffer)
+        }
+      }
+      if (!tmpFile.renameTo(file)) {
+        throw IOException("Could not rename snapshot to " + file.name)
+      }
+    } finally {
+      tmpFile.delete()
+    }
+  }
+
+  /**
+   * Reads a snapshot of [kind] from [file] with [body].
+   *
+   * @throws SnapshotFormatException if the file isn't a snapshot of [kind] in the current
+   * format, or is truncated.
+   */
+  @Throws(IOException::class)
+  fun <T> read(file: File, kind: Byte, body: (SnapshotReader) -> T): T {
+    val buffer = FileInputStream(file).channel.use { channel ->
+      val size = channel.size()
+      if (size > Int.MAX_VALUE) {
+        throw SnapshotFormatException("Snapshot too large: $size bytes")
+      }
+      val buffer = ByteBuffer.allocate(size.toInt())
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Keep reading until the whole file is in the buffer.
+      }
+      buffer.flip()
+      buffer
+    }
+    return read(buffer, kind, body)
+  }
+
+  /**
+   * Reads a snapshot of [kind] from the bytes of a file.
+   */
+  @Throws(SnapshotFormatException::class)
+  fun <T> read(buffer: ByteBuffer, kind: Byte, body: (SnapshotReader) -> T): T {
+    try {
+      val reader = SnapshotReader(buffer)
+      if (reader.getInt() != MAGIC) {
+        throw SnapshotFormatException("Not a snapshot")
+      }
+      val version = reader.getShort()
+      if (version != VERSION) {
+        throw SnapshotFormatException("Unsupported snapshot version $version")
+      }
+      val fileKind = reader.getByte()
+      if (fileKind != kind) {
+        throw SnapshotFormatException("Expected snapshot of kind $kind but was $fileKind")
+      }
+      return body(reader)
+    } catch (e: BufferUnderflowException) {
+      throw SnapshotFormatException("Truncated snapshot", e)
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreStats
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns
+
+/**
+ * The difference between two consecutive box scores of the same game. When the players of a team
+ * are the same and in the same order only the indexes of the players whose stats changed are
+ * listed, otherwise the roster changed and the whole box score should be shown again.
+ */
+data class BoxScoreDelta(
+    val boxScore: BoxScoreResponse,
+    val stats: BoxScoreStats,
+    val rosterChanged: Boolean,
+    val scoreChanged: Boolean,
+    val homeChanges: List<Int>,
+    val visitorChanges: List<Int>
+) {
+
+  val isEmpty: Boolean
+    get() = !rosterChanged && homeChanges.isEmpty() && visitorChanges.isEmpty()
+        && !scoreChanged
+
+  companion object {
+
+    /**
+     * Diffs [current] against the [previous] box score of the same game. Every row is
+     * considered changed when there is no previous box score.
+     */
+    fun between(previous: StoredBoxScore?, current: StoredBoxScore): BoxScoreDelta {
+      if (previous == null) {
+        return BoxScoreDelta(current.boxScore, current.stats, true, true, listOf(), listOf())
+      }
+
+      val old = previous.boxScore.game
+      val new = current.boxScore.game
+      val home = changedPlayers(old.hls.players, new.hls.players)
+      val visitor = changedPlayers(old.vls.players, new.vls.players)
+      if (home == null || visitor == null) {
+        return BoxScoreDelta(current.boxScore, current.stats, true, true, listOf(), listOf())
+      }
+
+      val scoreChanged = old.hls.score != new.hls.score || old.vls.score != new.vls.score
+      return BoxScoreDelta(current.boxScore, current.stats, false, scoreChanged, home, visitor)
+    }
+
+    /**
+     * Returns the indexes of the players of [current] whose stats differ from [previous], or null
+     * if the players themselves are different.
+     */
+    private fun changedPlayers(previous: TeamStatColumns, current: TeamStatColumns): List<Int>? {
+      if (previous.playerCount != current.playerCount) {
+        return null
+      }
+
+      val changes = mutableListOf<Int>()
+      for (player in 0 until current.playerCount) {
+        if (previous.playerKey(player) != current.playerKey(player)) {
+          return null
+        }
+        if (!previous.samePlayerLine(player, current, player)) {
+          changes.add(player)
+        }
+      }
+      return changes
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
+
+/**
+ * Persists box scores to disk so that finished games can be shown again without a network
+ * request, even after process death.
+ */
+interface BoxScoreLocalStore {
+
+  /**
+   * Returns the box score stored for [gameId], or null if it was never stored or has expired.
+   */
+  fun get(gameId: String): StoredBoxScore?
+
+  /**
+   * Stores a box score, replacing any previous one of the same game.
+   */
+  fun save(storedBoxScore: StoredBoxScore)
+}
@@ -0,0 +1,99 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
+
+import android.content.Context
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.BoxScoreSnapshot
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.SnapshotFormatException
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.Snapshots
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * [BoxScoreLocalStore] that keeps one binary snapshot per game in the app's cache directory. Box
+ * scores of finished games are kept until the system clears the cache, those of live games are
+ * deleted once they expire.
+ */
+@Singleton
+class BoxScoreLocalStoreImpl @Inject constructor(
+    private val context: Context
+) : BoxScoreLocalStore {
+
+  companion object {
+    private const val BOX_SCORES_DIR = "boxscores"
+    // Finality is part of the file name so expired live box scores can be pruned without
+    // reading them.
+    private const val FINAL_EXTENSION = ".final.snap"
+    private const val LIVE_EXTENSION = ".live.snap"
+  }
+
+  private val boxScoresDir: File by lazy {
+    File(context.cacheDir, BOX_SCORES_DIR).apply { mkdirs() }
+  }
+
+  override fun get(gameId: String): StoredBoxScore? {
+    val finalFile = fileForGame(gameId, true)
+    if (finalFile.exists()) {
+      return read(gameId, finalFile, true)
+    }
+
+    val liveFile = fileForGame(gameId, false)
+    if (!liveFile.exists()) {
+      return null
+    }
+    val stored = read(gameId, liveFile, false)
+    if (stored == null || !stored.isFresh(System.currentTimeMillis())) {
+      liveFile.delete()
+      return null
+    }
+    return stored
+  }
+
+  override fun save(storedBoxScore: StoredBoxScore) {
+    val gameId = storedBoxScore.gameId
+    pruneExpiredLiveBoxScores(System.currentTimeMillis())
+
+    val file = fileForGame(gameId, storedBoxScore.isFinal)
+    try {
+      Snapshots.write(file, Snapshots.KIND_BOX_SCORE) {
+        BoxScoreSnapshot.write(it, storedBoxScore.boxScore)
+      }
+      file.setLastModified(storedBoxScore.fetchedAt)
+      fileForGame(gameId, !storedBoxScore.isFinal).delete()
+    } catch (e: IOException) {
+      Timber.e(e, "Could not store box score for game %s", gameId)
+    }
+  }
+
+  /**
+   * Reads a stored box score. The file's timestamp doubles as the fetch time, and its name tells
+   * whether the game was over even if the box score has no status.
+   */
+  private fun read(gameId: String, file: File, final: Boolean): StoredBoxScore? {
+    return try {
+      val boxScore = Snapshots.read(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.read(it) }
+      StoredBoxScore(gameId, file.lastModified(), boxScore, if (final) NbaGame.POST_GAME else null)
+    } catch (e: SnapshotFormatException) {
+      // The file is corrupt or written by an older format, drop it so it's fetched again.
+      Timber.e(e, "Discarding unreadable stored box score for game %s", gameId)
+      file.delete()
+      null
+    } catch (e: IOException) {
+      Timber.e(e, "Could not read stored box score for game %s", gameId)
+      null
+    }
+  }
+
+  private fun pruneExpiredLiveBoxScores(nowMillis: Long) {
+    boxScoresDir.listFiles { file ->
+      file.name.endsWith(LIVE_EXTENSION)
+          && nowMillis - file.lastModified() >= StoredBoxScore.LIVE_TTL_MS
+    }?.forEach { it.delete() }
+  }
+
+  private fun fileForGame(gameId: String, final: Boolean): File {
+    return File(boxScoresDir, gameId + if (final) FINAL_EXTENSION else LIVE_EXTENSION)
+  }
+}
@@ -1,8 +1,23 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
 
 import com.gmail.jorgegilcavazos.ballislife.features.boxscore.BoxScoreUIModel
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import io.reactivex.Observable
 
 interface BoxScoreRepository {
-	fun boxScore(gameId: String, forceNetwork: Boolean): Observable<BoxScoreUIModel>
+	/**
+	 * Loads the box score of [gameId]. The [gameStatus] known from the game, as in
+	 * [NbaGame.gameStatus], is used when the box score has none.
+	 */
+	fun boxScore(
+			gameId: String,
+			gameStatus: String?,
+			forceNetwork: Boolean): Observable<BoxScoreUIModel>
+
+	/**
+	 * Refreshes the box score of [gameId] periodically while the game is live and emits what
+	 * changed since the last box score loaded. Completes right away if the game isn't live, once
+	 * it's over, or if nothing changed for a long while in case the game status is unknown.
+	 */
+	fun liveBoxScore(gameId: String, gameStatus: String?): Observable<BoxScoreDelta>
 }
\ No newline at end of file
@@ -1,16 +1,21 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
 
 import android.support.annotation.VisibleForTesting
+import android.support.v4.util.LruCache
 import com.gmail.jorgegilcavazos.ballislife.data.firebase.remoteconfig.RemoteConfig
+import com.gmail.jorgegilcavazos.ballislife.data.service.CachePolicyInterceptor
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaService
 import com.gmail.jorgegilcavazos.ballislife.features.boxscore.BoxScoreUIModel
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import com.gmail.jorgegilcavazos.ballislife.util.Constants
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import com.google.common.base.Optional
 import io.reactivex.Observable
 import io.reactivex.Single
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -20,16 +25,32 @@ class BoxScoreRepositoryImpl @Inject constructor(
 		private val nbaGamesService: NbaGamesService,
 		private val nbaService: NbaService,
 		private val schedulerProvider: BaseSchedulerProvider,
-    private val remoteConfig: RemoteConfig) : BoxScoreRepository {
+    private val remoteConfig: RemoteConfig,
+    private val boxScoreStore: BoxScoreLocalStore) : BoxScoreRepository {
 
-	private val boxScoreMap = HashMap<String, BoxScoreResponse>()
+  companion object {
+    /** Number of box scores kept in memory, older ones are still available from disk. */
+    const val MEMORY_CACHE_SIZE = 16
+    /** Time between box score refreshes while a game is live. */
+    val LIVE_POLL_INTERVAL_MS = TimeUnit.SECONDS.toMillis(15)
+    /**
+     * Polls in a row without changes after which a live box score stops being refreshed. Longer
+     * than halftime, only meant to stop polling games whose status is unknown.
+     */
+    val LIVE_MAX_UNCHANGED_POLLS = (TimeUnit.MINUTES.toMillis(30) / LIVE_POLL_INTERVAL_MS).toInt()
+  }
 
-	override fun boxScore(gameId: String, forceNetwork: Boolean): Observable<BoxScoreUIModel> {
-		val network = networkSource(gameId)
+	private val boxScoreCache = LruCache<String, StoredBoxScore>(MEMORY_CACHE_SIZE)
+
+	override fun boxScore(
+			gameId: String,
+			gameStatus: String?,
+			forceNetwork: Boolean): Observable<BoxScoreUIModel> {
+		val network = networkSource(gameId, gameStatus, forceNetwork)
 				.toObservable()
 				.concatMap {
 					if (it.isPresent) {
-						Observable.just(BoxScoreUIModel.success(it.get()))
+						Observable.just(BoxScoreUIModel.success(it.get().boxScore, it.get().stats))
 					} else {
 						Observable.just(BoxScoreUIModel.notAvailable())
 					}
@@ -42,7 +63,7 @@ class BoxScoreRepositoryImpl @Inject constructor(
 				.toObservable()
 				.concatMap {
 					if (it.isPresent) {
-						Observable.just(BoxScoreUIModel.success(it.get()))
+						Observable.just(BoxScoreUIModel.success(it.get().boxScore, it.get().stats))
 					} else {
 						network
 					}
@@ -58,25 +79,98 @@ class BoxScoreRepositoryImpl @Inject constructor(
 		}
 	}
 
-	private fun memorySource(gameId: String): Single<Optional<BoxScoreResponse>> {
-		return Single.just(Optional.fromNullable(boxScoreMap[gameId]))
+	override fun liveBoxScore(gameId: String, gameStatus: String?): Observable<BoxScoreDelta> {
+		return Observable.defer {
+			var unchangedPolls = 0
+			Observable
+					.interval(
+							LIVE_POLL_INTERVAL_MS,
+							TimeUnit.MILLISECONDS,
+							schedulerProvider.computation())
+					.takeWhile {
+						isLive(gameId, gameStatus) && unchangedPolls < LIVE_MAX_UNCHANGED_POLLS
+					}
+					.concatMap {
+						// Diff against whatever was shown last, even if it's no longer fresh.
+						val previous = boxScoreCache[gameId]
+						fetchBoxScore(gameId, gameStatus, true)
+								.subscribeOn(schedulerProvider.io())
+								.map { BoxScoreDelta.between(previous, it) }
+								.doOnSuccess {
+									unchangedPolls = if (it.isEmpty) unchangedPolls + 1 else 0
+								}
+								.filter { !it.isEmpty }
+								.doOnError { e -> Timber.e(e, "Could not refresh live box score") }
+								.onErrorComplete()
+								.toObservable()
+					}
+					.takeUntil { !it.boxScore.game.isLive(gameStatus) }
+					.observeOn(schedulerProvider.ui())
+		}
 	}
 
-	private fun networkSource(gameId: String): Single<Optional<BoxScoreResponse>> {
+	/**
+	 * Whether the last box score loaded, or else the [gameStatus], says the game is being played.
+	 */
+	private fun isLive(gameId: String, gameStatus: String?): Boolean {
+		val cached = boxScoreCache[gameId] ?: return gameStatus == NbaGame.IN_GAME
+		return cached.boxScore.game.isLive(gameStatus)
+	}
+
+	private fun memorySource(gameId: String): Single<Optional<StoredBoxScore>> {
+		return Single.fromCallable { Optional.fromNullable(cachedBoxScore(gameId)) }
+	}
+
+	/**
+	 * Looks for a fresh box score in memory first and then on disk. Stale live box scores are
+	 * dropped so that the caller goes to the network instead.
+	 */
+	private fun cachedBoxScore(gameId: String): StoredBoxScore? {
+		val now = System.currentTimeMillis()
+		boxScoreCache[gameId]?.let {
+			if (it.isFresh(now)) {
+				return it
+			}
+			boxScoreCache.remove(gameId)
+		}
+
+		return boxScoreStore.get(gameId)?.also { boxScoreCache.put(gameId, it) }
+	}
+
+	private fun networkSource(
+			gameId: String,
+			gameStatus: String?,
+			forceNetwork: Boolean): Single<Optional<StoredBoxScore>> {
+		return fetchBoxScore(gameId, gameStatus, forceNetwork)
+				.map { Optional.of(it) }
+				.onErrorReturn { Optional.absent<StoredBoxScore>() }
+	}
+
+	/**
+	 * Fetches the box score from the network and caches it along with its derived stats, which
+	 * are computed on the calling thread. Skips the HTTP cache if [forceNetwork].
+	 */
+	private fun fetchBoxScore(
+			gameId: String,
+			gameStatus: String?,
+			forceNetwork: Boolean): Single<StoredBoxScore> {
+    val cacheControl = if (forceNetwork) CachePolicyInterceptor.NO_CACHE else null
     val source = if (remoteConfig.getBoolean(Constants.USE_SWISH_BACKEND_BOX_SCORE)) {
-      nbaGamesService.boxScore(gameId)
+      nbaGamesService.boxScore(gameId, cacheControl)
     } else {
-      nbaService.boxScoreNba(gameId)
+      nbaService.boxScoreNba(gameId, cacheControl)
     }
 
 		return source
-				.doOnSuccess { boxScoreMap[gameId] = it }
-				.map { Optional.of(it) }
-				.onErrorReturn { Optional.absent<BoxScoreResponse>() }
+				.map { StoredBoxScore(gameId, System.currentTimeMillis(), it, gameStatus) }
+				.doOnSuccess {
+					boxScoreCache.put(gameId, it)
+					boxScoreStore.save(it)
+				}
 	}
 
 	@VisibleForTesting
 	fun saveBoxScoreInCache(gameId: String, boxScore: BoxScoreResponse) {
-		boxScoreMap[gameId] = boxScore
+		boxScoreCache.put(gameId, StoredBoxScore(gameId, System.currentTimeMillis(), boxScore))
 	}
 }
\ No newline at end of file
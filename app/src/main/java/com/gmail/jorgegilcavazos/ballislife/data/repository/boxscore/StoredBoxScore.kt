@@ -0,0 +1,39 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreStats
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import java.util.concurrent.TimeUnit
+
+/**
+ * A box score as kept by the [BoxScoreRepositoryImpl] caches, along with the time (in millis) it
+ * was fetched from the network. Its [stats] are computed when it's created, which always happens
+ * off the main thread, and are kept with it.
+ *
+ * The [knownStatus] of the game, as in [NbaGame.gameStatus], is used for responses that don't
+ * have one.
+ */
+data class StoredBoxScore(
+    val gameId: String,
+    val fetchedAt: Long,
+    val boxScore: BoxScoreResponse,
+    val knownStatus: String? = null
+) {
+
+  companion object {
+    /** How long the box score of a game that hasn't finished is considered up to date. */
+    val LIVE_TTL_MS = TimeUnit.SECONDS.toMillis(30)
+  }
+
+  val stats: BoxScoreStats = BoxScoreStats.from(boxScore.game)
+
+  val isFinal: Boolean
+    get() = boxScore.game.isFinal(knownStatus)
+
+  /**
+   * The box score of a finished game never changes, a live one is only fresh for a short while.
+   */
+  fun isFresh(nowMillis: Long): Boolean {
+    return isFinal || nowMillis - fetchedAt < LIVE_TTL_MS
+  }
+}
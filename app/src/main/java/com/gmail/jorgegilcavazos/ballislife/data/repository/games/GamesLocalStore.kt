@@ -0,0 +1,27 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+
+/**
+ * Persists the games of a day to disk so that they survive process death and can be shown
+ * before any network request completes.
+ */
+interface GamesLocalStore {
+
+  /**
+   * Returns the games stored for the day starting at [dayStartUtc], or null if the day has never
+   * been stored.
+   */
+  fun getDay(dayStartUtc: Long): StoredDay?
+
+  /**
+   * Replaces the stored games of the day starting at [dayStartUtc].
+   */
+  fun saveDay(dayStartUtc: Long, games: Collection<GameV2>)
+
+  /**
+   * Returns true if the stored games for the day starting at [dayStartUtc] can't change anymore,
+   * meaning there's no need to ask the network for them again.
+   */
+  fun isDayFinal(dayStartUtc: Long): Boolean
+}
@@ -0,0 +1,85 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import android.content.Context
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.GameSnapshot
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.SnapshotFormatException
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.Snapshots
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * [GamesLocalStore] that keeps one binary snapshot per day in the app's cache directory. Days that
+ * were already read are kept in memory so the disk is hit at most once per day per process.
+ */
+@Singleton
+class GamesLocalStoreImpl @Inject constructor(
+    private val context: Context
+) : GamesLocalStore {
+
+  companion object {
+    private const val GAMES_DIR = "games"
+    private const val FILE_PREFIX = "day_"
+    private const val FILE_EXTENSION = ".snap"
+    private val SECONDS_IN_DAY = TimeUnit.DAYS.toSeconds(1)
+  }
+
+  private val storedDays = ConcurrentHashMap<Long, StoredDay>()
+
+  private val gamesDir: File by lazy {
+    File(context.cacheDir, GAMES_DIR).apply { mkdirs() }
+  }
+
+  override fun getDay(dayStartUtc: Long): StoredDay? {
+    storedDays[dayStartUtc]?.let { return it }
+
+    val file = fileForDay(dayStartUtc)
+    if (!file.exists()) {
+      return null
+    }
+
+    return try {
+      val storedDay = Snapshots.read(file, Snapshots.KIND_GAMES_DAY) {
+        StoredDay(dayStartUtc, it.getLong(), GameSnapshot.readAll(it))
+      }
+      storedDays[dayStartUtc] = storedDay
+      storedDay
+    } catch (e: SnapshotFormatException) {
+      // The file is corrupt or written by an older format, drop it so it's fetched again.
+      Timber.e(e, "Discarding unreadable stored games for day %d", dayStartUtc)
+      file.delete()
+      null
+    } catch (e: IOException) {
+      Timber.e(e, "Could not read stored games for day %d", dayStartUtc)
+      null
+    }
+  }
+
+  override fun saveDay(dayStartUtc: Long, games: Collection<GameV2>) {
+    val storedDay = StoredDay(
+        dayStartUtc, System.currentTimeMillis(), games.sortedBy { it.timeUtc })
+    storedDays[dayStartUtc] = storedDay
+
+    try {
+      Snapshots.write(fileForDay(dayStartUtc), Snapshots.KIND_GAMES_DAY) {
+        it.putLong(storedDay.fetchedAt)
+        GameSnapshot.writeAll(it, storedDay.games)
+      }
+    } catch (e: IOException) {
+      Timber.e(e, "Could not store games for day %d", dayStartUtc)
+    }
+  }
+
+  override fun isDayFinal(dayStartUtc: Long): Boolean {
+    return getDay(dayStartUtc)?.isFinal(dayStartUtc + SECONDS_IN_DAY) ?: false
+  }
+
+  private fun fileForDay(dayStartUtc: Long): File {
+    return File(gamesDir, FILE_PREFIX + dayStartUtc + FILE_EXTENSION)
+  }
+}
@@ -0,0 +1,78 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Completable
+import io.reactivex.disposables.Disposable
+import timber.log.Timber
+import java.util.Calendar
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Warms the [GamesRepository] cache with the days next to the one being shown so that swiping
+ * between days doesn't need to wait for the network.
+ */
+@Singleton
+class GamesPrefetcher @Inject constructor(
+    private val gamesRepository: GamesRepository,
+    private val schedulerProvider: BaseSchedulerProvider
+) {
+
+  companion object {
+    const val DEFAULT_PREFETCH_DAYS = 3
+  }
+
+  /**
+   * Number of days to prefetch on each side of the date being shown.
+   */
+  var prefetchDays = DEFAULT_PREFETCH_DAYS
+
+  private var prefetch: Disposable? = null
+  // Bounds of the window being prefetched, as the start of its first and last days in UTC secs.
+  private var windowStart = 0L
+  private var windowEnd = 0L
+
+  /**
+   * Prefetches the [prefetchDays] days before and after [date], one request for each side. If a
+   * prefetch that already covers [date] is running it is left alone, otherwise it is cancelled
+   * since the user moved too far away from it for its days to be useful.
+   */
+  @Synchronized
+  fun prefetchAround(date: Calendar) {
+    val dayStart = DateFormatUtil.getDateStartUtc(date)
+    if (prefetch?.isDisposed == false && dayStart in windowStart..windowEnd) {
+      return
+    }
+    prefetch?.dispose()
+
+    val startDate = dayOffset(date, -prefetchDays)
+    val endDate = dayOffset(date, prefetchDays)
+    windowStart = DateFormatUtil.getDateStartUtc(startDate)
+    windowEnd = DateFormatUtil.getDateStartUtc(endDate)
+
+    // The day being shown is loaded by its own screen, so it's left out of both requests
+    // instead of being fetched twice.
+    prefetch = Completable
+        .mergeArray(
+            gamesRepository.prefetchGames(startDate, dayOffset(date, -1)),
+            gamesRepository.prefetchGames(dayOffset(date, 1), endDate))
+        .subscribeOn(schedulerProvider.io())
+        .subscribe({}, { e -> Timber.e(e, "Could not prefetch games around %d", dayStart) })
+  }
+
+  /**
+   * Cancels the prefetch in progress, if any.
+   */
+  @Synchronized
+  fun cancel() {
+    prefetch?.dispose()
+    prefetch = null
+  }
+
+  private fun dayOffset(date: Calendar, days: Int): Calendar {
+    val day = date.clone() as Calendar
+    day.add(Calendar.DAY_OF_YEAR, days)
+    return day
+  }
+}
@@ -2,8 +2,11 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.games
 
 import com.gmail.jorgegilcavazos.ballislife.data.actions.games.GamesResult
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesUiModel
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
 import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import io.reactivex.Completable
 import io.reactivex.Observable
+import io.reactivex.Single
 import java.util.*
 
 /**
@@ -14,4 +17,39 @@ interface GamesRepository {
   fun games(date: Calendar, forceNetwork: Boolean): Observable<GamesUiModel>
 
   fun loadGames(date: Calendar, forceNetwork: Boolean): Observable<GamesResult.LoadGamesResult>
+
+  /**
+   * Loads the games of every day from [startDate] to [endDate] (inclusive) with a single request
+   * and caches them. Games are returned grouped by the start of their day in UTC seconds.
+   */
+  fun loadGames(startDate: Calendar, endDate: Calendar): Single<Map<Long, List<GameV2>>>
+
+  /**
+   * Fetches the games from [startDate] to [endDate] (inclusive) into the cache without
+   * delivering them. Days that are already cached or can't change anymore aren't requested.
+   */
+  fun prefetchGames(startDate: Calendar, endDate: Calendar): Completable
+
+  /**
+   * Applies score changes to the cached games. Updates for games that aren't cached are ignored
+   * since there's nothing showing them.
+   */
+  fun applyScoreUpdates(updates: List<ScoreUpdate>)
+
+  /**
+   * Fetches the games of a date from the network, and emits the ones that changed compared to the
+   * cached ones through [gameUpdates]. Returns every game of the date sorted by time.
+   */
+  fun refreshGames(date: Calendar): Single<List<GameV2>>
+
+  /**
+   * Returns the cached games of a date sorted by time, without going to the network.
+   */
+  fun cachedGames(date: Calendar): Single<List<GameV2>>
+
+  /**
+   * Emits the cached games changed by [applyScoreUpdates] or [refreshGames] each time one of them
+   * finds changes.
+   */
+  fun gameUpdates(): Observable<List<GameV2>>
 }
@@ -4,18 +4,19 @@ import android.annotation.SuppressLint
 import android.support.annotation.VisibleForTesting
 import com.gmail.jorgegilcavazos.ballislife.data.actions.games.GamesResult
 import com.gmail.jorgegilcavazos.ballislife.data.actions.games.GamesResult.LoadGamesResult
+import com.gmail.jorgegilcavazos.ballislife.data.service.CachePolicyInterceptor
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesUiModel
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
-import com.google.firebase.firestore.FirebaseFirestore
-import com.google.firebase.firestore.FirebaseFirestoreSettings
-import de.aaronoe.rxfirestore.getSingle
+import com.jakewharton.rxrelay2.PublishRelay
+import io.reactivex.Completable
 import io.reactivex.Observable
 import io.reactivex.Single
+import io.reactivex.rxkotlin.Singles
 import java.util.Calendar
-import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -25,18 +26,21 @@ import javax.inject.Singleton
 @Singleton
 class GamesRepositoryImpl @Inject constructor(
     private val gamesService: NbaGamesService,
+    private val gamesStore: GamesLocalStore,
+    private val seriesRepository: PlayoffSeriesRepository,
     private val schedulerProvider: BaseSchedulerProvider
 ) : GamesRepository {
 
-  private val gamesMap = ConcurrentHashMap<String, GameV2>()
-  private val db = FirebaseFirestore.getInstance()
-
-  init {
-    db.firestoreSettings = FirebaseFirestoreSettings.Builder().setPersistenceEnabled(false).build()
+  companion object {
+    /** Time the games wait for the series summaries before they're shown without them. */
+    const val SERIES_SUMMARIES_TIMEOUT_MS = 3000L
   }
 
+  private val gamesIndex = GamesTimeIndex()
+  private val gameUpdates = PublishRelay.create<List<GameV2>>()
+
   override fun games(date: Calendar, forceNetwork: Boolean): Observable<GamesUiModel> {
-    val network = networkSource(date).toObservable()
+    val network = networkSource(date, forceNetwork).toObservable()
         .concatMap {
           if (it.isEmpty()) {
             Observable.just(GamesUiModel.networkSuccess(emptyList()))
@@ -70,7 +74,7 @@ class GamesRepositoryImpl @Inject constructor(
   override fun loadGames(
       date: Calendar,
       forceNetwork: Boolean): Observable<GamesResult.LoadGamesResult> {
-    val network = networkSource(date).toObservable()
+    val network = networkSource(date, forceNetwork).toObservable()
         .concatMap {
           if (it.isEmpty()) {
             Observable.just(LoadGamesResult.NoGames)
@@ -100,7 +104,17 @@ class GamesRepositoryImpl @Inject constructor(
       return network
     }
 
-    return Observable.concat(memory, network)
+    // Finished days can't change anymore, so if the stored data is final there's no need to
+    // hit the network at all.
+    val networkIfNotFinal = Observable.defer {
+      if (gamesStore.isDayFinal(DateFormatUtil.getDateStartUtc(date))) {
+        Observable.empty<LoadGamesResult>()
+      } else {
+        network
+      }
+    }
+
+    return Observable.concat(memory, networkIfNotFinal)
 
     /*
     return if (!DateFormatUtil.isDateToday(date.time)) {
@@ -125,69 +139,194 @@ class GamesRepositoryImpl @Inject constructor(
     */
   }
 
-  private fun networkSource(date: Calendar): Single<Map<String, GameV2>> {
-    return gamesService
-        .getDayGames(
-            "\"timeUtc\"",
-            DateFormatUtil.getDateStartUtc(date),
-            DateFormatUtil.getDateEndUtc(date))
-        .flatMap { map ->
-          val matchUpsRef = db.collection("playoff_picture").document("2018").collection("1")
-          matchUpsRef.getSingle<MatchUp>()
-              .observeOn(schedulerProvider.ui())
-              .map { matchUps ->
-                Pair<Map<String, GameV2>, List<MatchUp>>(map, matchUps)
-              }
+  override fun loadGames(startDate: Calendar, endDate: Calendar): Single<Map<Long, List<GameV2>>> {
+    return networkSource(
+        DateFormatUtil.getDateStartUtc(startDate),
+        DateFormatUtil.getDateEndUtc(endDate),
+        false)
+        .map { splitByDay(it.values, startDate, endDate) }
+        .doOnSuccess { days ->
+          for ((dayStart, games) in days) {
+            gamesStore.saveDay(dayStart, games)
+          }
+        }
+        .subscribeOn(schedulerProvider.io())
+  }
+
+  override fun prefetchGames(startDate: Calendar, endDate: Calendar): Completable {
+    return Single
+        .fromCallable {
+          // Narrow the range down to the first and last days that aren't cached yet.
+          daysBetween(startDate, endDate).filter { day ->
+            cachedGamesById(day).isEmpty()
+                && !gamesStore.isDayFinal(DateFormatUtil.getDateStartUtc(day))
+          }
+        }
+        .flatMapCompletable { uncachedDays ->
+          if (uncachedDays.isEmpty()) {
+            Completable.complete()
+          } else {
+            loadGames(uncachedDays.first(), uncachedDays.last()).toCompletable()
+          }
         }
-        .flatMap { (map, matchUps) ->
-          for ((_, game) in map) {
-            val team1 = game.homeTeamAbbr
-            val team2 = game.awayTeamAbbr
-
-            matchUps.firstOrNull { matchUp ->
-              (matchUp.team1 == team1 || matchUp.team1 == team2)
-                  && (matchUp.team2 == team1 || matchUp.team2 == team2)
-            }?.let { matchUp ->
-              game.seriesSummary = when {
-                matchUp.team1_wins == 4 -> {
-                  "${matchUp.team1} wins ${matchUp.team1_wins}-${matchUp.team2_wins}"
-                }
-                matchUp.team2_wins == 4 -> {
-                  "${matchUp.team2} wins ${matchUp.team2_wins}-${matchUp.team1_wins}"
-                }
-                matchUp.team1_wins == matchUp.team2_wins -> {
-                  "Series tied ${matchUp.team1_wins}-${matchUp.team2_wins}"
-                }
-                matchUp.team1_wins > matchUp.team2_wins -> {
-                  "${matchUp.team1} leads ${matchUp.team1_wins}-${matchUp.team2_wins}"
-                }
-                else -> {
-                  "${matchUp.team2} leads ${matchUp.team2_wins}-${matchUp.team1_wins}"
-                }
-              }
+        .subscribeOn(schedulerProvider.io())
+  }
+
+  override fun applyScoreUpdates(updates: List<ScoreUpdate>) {
+    val updatedGames = updates.mapNotNull { update ->
+      gamesIndex[update.gameId]?.let { game ->
+        val updatedGame = game.copy(
+            homeTeamScore = update.homeTeamScore ?: game.homeTeamScore,
+            awayTeamScore = update.awayTeamScore ?: game.awayTeamScore,
+            gameStatus = update.gameStatus ?: game.gameStatus,
+            gameClock = update.gameClock ?: game.gameClock,
+            periodValue = update.periodValue ?: game.periodValue,
+            periodStatus = update.periodStatus ?: game.periodStatus,
+            periodName = update.periodName ?: game.periodName)
+        if (updatedGame != game) updatedGame else null
+      }
+    }
+    if (updatedGames.isEmpty()) {
+      return
+    }
+
+    gamesIndex.putAll(updatedGames)
+
+    // Keep the stored days in sync so a cold start doesn't show stale scores.
+    val day = Calendar.getInstance()
+    val dayBounds = updatedGames.associate { game ->
+      day.timeInMillis = game.timeUtc * 1000
+      DateFormatUtil.getDateStartUtc(day) to DateFormatUtil.getDateEndUtc(day)
+    }
+    for ((dayStart, dayEnd) in dayBounds) {
+      gamesStore.saveDay(dayStart, gamesIndex.between(dayStart, dayEnd))
+    }
+
+    gameUpdates.accept(updatedGames)
+  }
+
+  override fun refreshGames(date: Calendar): Single<List<GameV2>> {
+    return memorySource(date)
+        .flatMap { cachedGames ->
+          networkSource(date, true).map { games ->
+            val changedGames = games.values.filter { cachedGames[it.id] != it }
+            if (changedGames.isNotEmpty()) {
+              gameUpdates.accept(changedGames)
             }
+            games.values.sortedBy { it.timeUtc }
           }
-          Single.just(map)
         }
-        .doOnSuccess { gamesMap.putAll(it) }
+        .subscribeOn(schedulerProvider.io())
+  }
 
+  override fun cachedGames(date: Calendar): Single<List<GameV2>> {
+    return memorySource(date)
+        .map { it.values.sortedBy { it.timeUtc } }
+        .subscribeOn(schedulerProvider.io())
+  }
+
+  override fun gameUpdates(): Observable<List<GameV2>> {
+    return gameUpdates.observeOn(schedulerProvider.ui())
+  }
+
+  /**
+   * Fetches the games of [date], skipping the HTTP cache if [forceNetwork] since the caller wants
+   * the latest scores.
+   */
+  private fun networkSource(date: Calendar, forceNetwork: Boolean): Single<Map<String, GameV2>> {
+    return networkSource(
+        DateFormatUtil.getDateStartUtc(date), DateFormatUtil.getDateEndUtc(date), forceNetwork)
+        .doOnSuccess { gamesStore.saveDay(DateFormatUtil.getDateStartUtc(date), it.values) }
+  }
+
+  private fun networkSource(
+      startUtc: Long,
+      endUtc: Long,
+      forceNetwork: Boolean): Single<Map<String, GameV2>> {
+    // Series summaries are nice to have, so don't let a slow or failing request for them hold
+    // back the games. The timeout disposes the pending request if it fires first.
+    val summaries = seriesRepository.seriesSummaries()
+        .timeout(
+            SERIES_SUMMARIES_TIMEOUT_MS, TimeUnit.MILLISECONDS, schedulerProvider.computation())
+        .onErrorReturnItem(SeriesSummaries.EMPTY)
+
+    // The games request blocks its thread, so give it its own to let both requests run at the
+    // same time. The join happens off the main thread once both are done.
+    val cacheControl = if (forceNetwork) CachePolicyInterceptor.NO_CACHE else null
+    val games = gamesService.getDayGames("\"timeUtc\"", startUtc, endUtc, cacheControl)
+        .subscribeOn(schedulerProvider.io())
+
+    return Singles
+        .zip(games, summaries)
+        .observeOn(schedulerProvider.computation())
+        .map { (games, seriesSummaries) ->
+          for ((_, game) in games) {
+            seriesSummaries.summaryFor(game.homeTeamAbbr, game.awayTeamAbbr)?.let {
+              game.seriesSummary = it
+            }
+          }
+          games
+        }
+        .doOnSuccess { gamesIndex.putAll(it.values) }
   }
 
-  @SuppressLint("VisibleForTests")
   private fun memorySource(date: Calendar): Single<Map<String, GameV2>> {
-    return Single.just(gamesMap
-        .filterValues {
-          it.timeUtc >= DateFormatUtil.getDateStartUtc(date)
-              && it.timeUtc < DateFormatUtil.getDateEndUtc(date)
-        })
-        .doOnSuccess { saveGamesInCache(it) }
+    return Single.fromCallable { cachedGamesById(date) }
+  }
+
+  /**
+   * Returns the games of a date kept in memory, falling back to the ones stored on disk.
+   */
+  @SuppressLint("VisibleForTests")
+  private fun cachedGamesById(date: Calendar): Map<String, GameV2> {
+    val dayStart = DateFormatUtil.getDateStartUtc(date)
+    val dayGames = gamesIndex.between(dayStart, DateFormatUtil.getDateEndUtc(date))
+    if (dayGames.isNotEmpty()) {
+      return dayGames.associateBy { it.id }
+    }
+
+    // Nothing in memory, this is probably a cold start so try the games stored on disk.
+    val storedGames = gamesStore.getDay(dayStart)
+        ?.games
+        ?.associateBy { it.id }
+        ?: emptyMap()
+    saveGamesInCache(storedGames)
+    return storedGames
+  }
+
+  /**
+   * Groups [games] by the local day they're played in, keyed by the start of that day in UTC
+   * seconds. Days in the range without games are included with an empty list.
+   */
+  private fun splitByDay(
+      games: Collection<GameV2>,
+      startDate: Calendar,
+      endDate: Calendar): Map<Long, List<GameV2>> {
+    val sortedGames = games.sortedBy { it.timeUtc }
+    return daysBetween(startDate, endDate).associate { day ->
+      val dayStart = DateFormatUtil.getDateStartUtc(day)
+      val dayEnd = DateFormatUtil.getDateEndUtc(day)
+      // Half-open like GamesTimeIndex.between, so a day holds the same games in both.
+      dayStart to sortedGames.filter { it.timeUtc >= dayStart && it.timeUtc < dayEnd }
+    }
+  }
+
+  private fun daysBetween(startDate: Calendar, endDate: Calendar): List<Calendar> {
+    val days = ArrayList<Calendar>()
+    val day = startDate.clone() as Calendar
+    val lastDayStart = DateFormatUtil.getDateStartUtc(endDate)
+    while (DateFormatUtil.getDateStartUtc(day) <= lastDayStart) {
+      days.add(day.clone() as Calendar)
+      day.add(Calendar.DAY_OF_YEAR, 1)
+    }
+    return days
   }
 
   @VisibleForTesting
   fun saveGamesInCache(gamesMap: Map<String, GameV2>, clear: Boolean = false) {
     if (clear) {
-      this.gamesMap.clear()
+      gamesIndex.clear()
     }
-    this.gamesMap.putAll(gamesMap)
+    gamesIndex.putAll(gamesMap.values)
   }
 }
@@ -0,0 +1,111 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+
+/**
+ * In-memory store of [GameV2]s keyed by id and indexed by [GameV2.timeUtc], so that the games of
+ * a time range can be found with a binary search instead of scanning every cached game.
+ *
+ * Times are kept in a sorted primitive array in parallel with the games they belong to. Inserts
+ * shift the arrays, which is cheap for the size of a season and much less frequent than reads.
+ */
+class GamesTimeIndex {
+
+  companion object {
+    private const val INITIAL_CAPACITY = 64
+  }
+
+  private val gamesById = HashMap<String, GameV2>()
+  private var times = LongArray(INITIAL_CAPACITY)
+  private var games = arrayOfNulls<GameV2>(INITIAL_CAPACITY)
+  private var size = 0
+
+  @Synchronized
+  fun size() = size
+
+  @Synchronized
+  operator fun get(id: String): GameV2? = gamesById[id]
+
+  /**
+   * Adds a game or replaces the one with the same id.
+   */
+  @Synchronized
+  fun put(game: GameV2) {
+    gamesById.put(game.id, game)?.let { removeFromIndex(it) }
+    insertIntoIndex(game)
+  }
+
+  @Synchronized
+  fun putAll(games: Collection<GameV2>) {
+    games.forEach { put(it) }
+  }
+
+  /**
+   * Returns the games with a time in [startUtc, endUtc), sorted by time.
+   */
+  @Synchronized
+  fun between(startUtc: Long, endUtc: Long): List<GameV2> {
+    val from = lowerBound(startUtc)
+    val to = lowerBound(endUtc)
+    if (from >= to) {
+      return emptyList()
+    }
+    val result = ArrayList<GameV2>(to - from)
+    for (i in from until to) {
+      result.add(games[i]!!)
+    }
+    return result
+  }
+
+  @Synchronized
+  fun clear() {
+    gamesById.clear()
+    games.fill(null, 0, size)
+    size = 0
+  }
+
+  private fun insertIntoIndex(game: GameV2) {
+    if (size == times.size) {
+      times = times.copyOf(size * 2)
+      games = games.copyOf(size * 2)
+    }
+    // Insert after any games with the same time to keep insertion order stable.
+    val position = lowerBound(game.timeUtc + 1)
+    System.arraycopy(times, position, times, position + 1, size - position)
+    System.arraycopy(games, position, games, position + 1, size - position)
+    times[position] = game.timeUtc
+    games[position] = game
+    size++
+  }
+
+  private fun removeFromIndex(game: GameV2) {
+    var position = lowerBound(game.timeUtc)
+    while (position < size && times[position] == game.timeUtc) {
+      if (games[position] === game) {
+        System.arraycopy(times, position + 1, times, position, size - position - 1)
+        System.arraycopy(games, position + 1, games, position, size - position - 1)
+        size--
+        games[size] = null
+        return
+      }
+      position++
+    }
+  }
+
+  /**
+   * Returns the index of the first time that is not less than [time].
+   */
+  private fun lowerBound(time: Long): Int {
+    var low = 0
+    var high = size
+    while (low < high) {
+      val mid = (low + high) ushr 1
+      if (times[mid] < time) {
+        low = mid + 1
+      } else {
+        high = mid
+      }
+    }
+    return low
+  }
+}
@@ -0,0 +1,142 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Observable
+import io.reactivex.Single
+import io.reactivex.disposables.SerialDisposable
+import timber.log.Timber
+import java.util.Calendar
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Refreshes the games of a date through [GamesRepository.refreshGames] while any of them is live.
+ * The time until the next refresh depends on the state of the games, so close games are polled
+ * often while halftime or games yet to start are polled rarely, and polling stops once every
+ * game is over. Failed refreshes are retried with an exponential backoff.
+ *
+ * Changes are delivered through [GamesRepository.gameUpdates]. Callers should [stop] polling
+ * when the screen is not visible.
+ */
+@Singleton
+class LiveGamesPoller @Inject constructor(
+    private val gamesRepository: GamesRepository,
+    private val schedulerProvider: BaseSchedulerProvider
+) {
+
+  companion object {
+    private val CLOSING_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10)
+    private val LIVE_INTERVAL_MS = TimeUnit.SECONDS.toMillis(20)
+    private val STARTING_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30)
+    private val HALFTIME_INTERVAL_MS = TimeUnit.SECONDS.toMillis(60)
+    private val MAX_WAIT_MS = TimeUnit.MINUTES.toMillis(5)
+    private const val CLOSING_PERIOD = 4
+    private const val HALFTIME = "Halftime"
+    // Delay used to signal that polling should stop.
+    private const val STOP = -1L
+
+    /**
+     * Returns how long to wait before refreshing [games] again, or null if none of them can
+     * change anymore.
+     */
+    fun pollIntervalMs(games: List<GameV2>, nowUtc: Long): Long? {
+      val liveGames = games.filter { it.gameStatus == NbaGame.IN_GAME }
+      if (liveGames.isNotEmpty()) {
+        return when {
+          liveGames.any { (it.periodValue.toIntOrNull() ?: 0) >= CLOSING_PERIOD } -> {
+            CLOSING_INTERVAL_MS
+          }
+          liveGames.all { it.periodStatus == HALFTIME } -> HALFTIME_INTERVAL_MS
+          else -> LIVE_INTERVAL_MS
+        }
+      }
+
+      val nextStartUtc = games
+          .filter { it.gameStatus == NbaGame.PRE_GAME }
+          .map { it.timeUtc }
+          .min() ?: return null
+
+      // Nothing is live yet, so wait until the next game should start.
+      val untilStartMs = TimeUnit.SECONDS.toMillis(nextStartUtc - nowUtc)
+      return when {
+        untilStartMs <= 0 -> STARTING_INTERVAL_MS
+        else -> Math.min(untilStartMs, MAX_WAIT_MS)
+      }
+    }
+
+    /**
+     * Returns how long to wait before retrying after [failures] consecutive failed refreshes.
+     */
+    fun backoffMs(failures: Int): Long {
+      val factor = 1L shl Math.min(failures - 1, 5)
+      return Math.min(LIVE_INTERVAL_MS * factor, MAX_WAIT_MS)
+    }
+  }
+
+  private val poll = SerialDisposable()
+
+  /**
+   * Starts polling the games of [date], replacing any previous polling. Nothing is polled if
+   * every cached game of that date is already over.
+   */
+  @Synchronized
+  fun start(date: Calendar) {
+    poll.set(firstDelayMs(date)
+        .flatMapObservable { firstDelayMs ->
+          var delayMs = firstDelayMs
+          var failures = 0
+          Observable
+              .defer {
+                Single.timer(delayMs, TimeUnit.MILLISECONDS, schedulerProvider.computation())
+                    .flatMap { gamesRepository.refreshGames(date) }
+                    .map { games ->
+                      failures = 0
+                      pollIntervalMs(games, nowUtc()) ?: STOP
+                    }
+                    .onErrorReturn { e ->
+                      Timber.e(e, "Could not refresh live games")
+                      failures++
+                      backoffMs(failures)
+                    }
+                    .toObservable()
+              }
+              .doOnNext { delayMs = it }
+              .repeat()
+              .startWith(firstDelayMs)
+              .takeUntil { it == STOP }
+        }
+        .subscribe({}, { e -> Timber.e(e, "Could not poll live games") }))
+  }
+
+  /**
+   * Returns how long to wait before the first refresh of [date], judging by its cached games.
+   * A date without cached games is likely still being loaded by the screen showing it, so its
+   * cache is checked again after a while instead of refreshing it right away, which would
+   * duplicate that load and is pointless if its games turn out to be over.
+   */
+  private fun firstDelayMs(date: Calendar): Single<Long> {
+    return gamesRepository.cachedGames(date)
+        .flatMap { games ->
+          if (games.isNotEmpty()) {
+            Single.just(games)
+          } else {
+            Single.timer(LIVE_INTERVAL_MS, TimeUnit.MILLISECONDS, schedulerProvider.computation())
+                .flatMap { gamesRepository.cachedGames(date) }
+          }
+        }
+        .map { pollIntervalMs(it, nowUtc()) ?: STOP }
+  }
+
+  /**
+   * Stops polling until [start] is called again.
+   */
+  @Synchronized
+  fun stop() {
+    poll.set(null)
+  }
+
+  private fun nowUtc() = System.currentTimeMillis() / 1000
+}
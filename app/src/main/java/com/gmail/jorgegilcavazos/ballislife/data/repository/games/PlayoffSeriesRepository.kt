@@ -0,0 +1,14 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import io.reactivex.Single
+
+/**
+ * Provides the state of the playoff series between teams.
+ */
+interface PlayoffSeriesRepository {
+
+  /**
+   * Returns the current [SeriesSummaries], served from memory while they're recent enough.
+   */
+  fun seriesSummaries(): Single<SeriesSummaries>
+}
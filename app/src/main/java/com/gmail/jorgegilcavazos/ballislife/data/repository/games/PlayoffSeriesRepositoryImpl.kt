@@ -0,0 +1,68 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.google.firebase.firestore.FirebaseFirestore
+import com.google.firebase.firestore.FirebaseFirestoreSettings
+import de.aaronoe.rxfirestore.getSingle
+import io.reactivex.Single
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Implementation of the [PlayoffSeriesRepository] backed by the playoff picture in Firestore.
+ * Series only change once a game ends, so the [SeriesSummaries] are kept for [TTL_MS] and
+ * callers arriving while a fetch is in flight share it.
+ */
+@Singleton
+class PlayoffSeriesRepositoryImpl @Inject constructor() : PlayoffSeriesRepository {
+
+  companion object {
+    private const val PLAYOFF_PICTURE_COLLECTION = "playoff_picture"
+    private const val SEASON_DOCUMENT = "2018"
+    private const val ROUND_COLLECTION = "1"
+    private val TTL_MS = TimeUnit.MINUTES.toMillis(5)
+  }
+
+  private val db = FirebaseFirestore.getInstance()
+
+  private var cachedSummaries: SeriesSummaries? = null
+  private var cachedAt = 0L
+  private var inFlight: Single<SeriesSummaries>? = null
+
+  init {
+    db.firestoreSettings = FirebaseFirestoreSettings.Builder().setPersistenceEnabled(false).build()
+  }
+
+  @Synchronized
+  override fun seriesSummaries(): Single<SeriesSummaries> {
+    cachedSummaries?.let {
+      if (System.currentTimeMillis() - cachedAt < TTL_MS) {
+        return Single.just(it)
+      }
+    }
+    inFlight?.let { return it }
+
+    val fetch = db.collection(PLAYOFF_PICTURE_COLLECTION)
+        .document(SEASON_DOCUMENT)
+        .collection(ROUND_COLLECTION)
+        .getSingle<MatchUp>()
+        .map { SeriesSummaries(it) }
+        .doOnSuccess { onFetched(it) }
+        .doOnError { onFetchFailed() }
+        .cache()
+    inFlight = fetch
+    return fetch
+  }
+
+  @Synchronized
+  private fun onFetched(summaries: SeriesSummaries) {
+    cachedSummaries = summaries
+    cachedAt = System.currentTimeMillis()
+    inFlight = null
+  }
+
+  @Synchronized
+  private fun onFetchFailed() {
+    inFlight = null
+  }
+}
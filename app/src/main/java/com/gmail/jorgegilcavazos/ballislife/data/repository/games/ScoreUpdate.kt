@@ -0,0 +1,45 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.google.gson.Gson
+import com.google.gson.JsonParseException
+import com.google.gson.annotations.SerializedName
+import com.google.gson.reflect.TypeToken
+import timber.log.Timber
+
+/**
+ * Change to the score or state of a game, as delivered by a "scores" push message. Keys are kept
+ * short to keep the message payload small, and fields that didn't change are null.
+ */
+data class ScoreUpdate(
+    @SerializedName("id") val gameId: String,
+    @SerializedName("hs") val homeTeamScore: String? = null,
+    @SerializedName("as") val awayTeamScore: String? = null,
+    @SerializedName("st") val gameStatus: String? = null,
+    @SerializedName("gc") val gameClock: String? = null,
+    @SerializedName("pv") val periodValue: String? = null,
+    @SerializedName("ps") val periodStatus: String? = null,
+    @SerializedName("pn") val periodName: String? = null
+) {
+
+  companion object {
+    private val SCORE_UPDATES_TYPE = object : TypeToken<List<ScoreUpdate?>>() {}.type
+
+    /**
+     * Parses the body of a "scores" push message, a JSON array of updates. Malformed bodies and
+     * updates without a game id are dropped, since the next load of the games catches up anyway.
+     */
+    @JvmStatic
+    fun parseAll(gson: Gson, json: String?): List<ScoreUpdate> {
+      val updates: List<ScoreUpdate?>? = try {
+        gson.fromJson(json, SCORE_UPDATES_TYPE)
+      } catch (e: JsonParseException) {
+        Timber.e(e, "Could not parse scores update %s", json)
+        null
+      }
+      // Gson leaves the keys missing from the payload null, even for non-null properties.
+      @Suppress("SENSELESS_COMPARISON")
+      val valid = updates.orEmpty().filterNotNull().filter { it.gameId != null }
+      return valid
+    }
+  }
+}
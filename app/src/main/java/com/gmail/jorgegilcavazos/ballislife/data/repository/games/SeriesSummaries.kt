@@ -0,0 +1,46 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+/**
+ * Summaries of the playoff series between pairs of teams, e.g. "Series tied 2-2". Summaries are
+ * built once from the [MatchUp]s and looked up by team pair regardless of the teams' order.
+ */
+class SeriesSummaries(matchUps: List<MatchUp>) {
+
+  companion object {
+    val EMPTY = SeriesSummaries(emptyList())
+
+    private fun teamPairKey(team1: String, team2: String): String {
+      return if (team1 < team2) "$team1:$team2" else "$team2:$team1"
+    }
+  }
+
+  private val summaries: Map<String, String> = matchUps.associate { matchUp ->
+    teamPairKey(matchUp.team1, matchUp.team2) to summaryOf(matchUp)
+  }
+
+  /**
+   * Returns the summary of the series between the two teams, or null if they aren't facing
+   * each other in the playoffs.
+   */
+  fun summaryFor(team1: String, team2: String): String? = summaries[teamPairKey(team1, team2)]
+
+  private fun summaryOf(matchUp: MatchUp): String {
+    return when {
+      matchUp.team1_wins == 4 -> {
+        "${matchUp.team1} wins ${matchUp.team1_wins}-${matchUp.team2_wins}"
+      }
+      matchUp.team2_wins == 4 -> {
+        "${matchUp.team2} wins ${matchUp.team2_wins}-${matchUp.team1_wins}"
+      }
+      matchUp.team1_wins == matchUp.team2_wins -> {
+        "Series tied ${matchUp.team1_wins}-${matchUp.team2_wins}"
+      }
+      matchUp.team1_wins > matchUp.team2_wins -> {
+        "${matchUp.team1} leads ${matchUp.team1_wins}-${matchUp.team2_wins}"
+      }
+      else -> {
+        "${matchUp.team2} leads ${matchUp.team2_wins}-${matchUp.team1_wins}"
+      }
+    }
+  }
+}
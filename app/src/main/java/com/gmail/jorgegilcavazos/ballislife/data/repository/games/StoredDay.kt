@@ -0,0 +1,27 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+
+/**
+ * The games of a day as saved by the [GamesLocalStore], along with the time (in millis) they
+ * were fetched from the network.
+ */
+data class StoredDay(
+    val dayStartUtc: Long,
+    val fetchedAt: Long,
+    val games: List<GameV2>
+) {
+
+  /**
+   * A day is final when every game has finished, or when it had no games at all and it was
+   * fetched after the day was over.
+   */
+  fun isFinal(dayEndUtc: Long): Boolean {
+    return if (games.isEmpty()) {
+      fetchedAt / 1000 > dayEndUtc
+    } else {
+      games.all { it.gameStatus == NbaGame.POST_GAME }
+    }
+  }
+}
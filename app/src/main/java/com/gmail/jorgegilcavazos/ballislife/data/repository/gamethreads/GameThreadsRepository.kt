@@ -3,8 +3,16 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
 import com.gmail.jorgegilcavazos.ballislife.features.gamethread.GameThreadsUIModel
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType
 import io.reactivex.Observable
+import io.reactivex.Single
+import net.dean.jraw.models.Submission
 
 interface GameThreadsRepository {
   fun gameThreads(home: String, visitor: String, gameTimeUtc: Long, type: GameThreadType)
       : Observable<GameThreadsUIModel>
+
+  /**
+   * Comments posted to [submission] after the comment with the fullname [cursor], without
+   * fetching the submission again. If [cursor] is null, those among the newest of the subreddit.
+   */
+  fun newComments(submission: Submission, cursor: String?): Single<LiveComments>
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService
 import com.gmail.jorgegilcavazos.ballislife.features.gamethread.GameThreadsUIModel
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType
@@ -15,7 +16,9 @@ import com.gmail.jorgegilcavazos.ballislife.util.TeamName
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import io.reactivex.Observable
 import io.reactivex.Single
+import net.dean.jraw.models.Comment
 import net.dean.jraw.models.CommentSort
+import net.dean.jraw.models.Submission
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -24,8 +27,16 @@ class GameThreadsRepositoryImpl @Inject constructor(
     private val threadsService: RedditGameThreadsService,
     private val submissionRepository: SubmissionRepository,
     private val redditAuthentication: RedditAuthentication,
+    private val redditService: RedditService,
     private val schedulerProvider: BaseSchedulerProvider) : GameThreadsRepository {
 
+  companion object {
+    // Max comments reddit lists per request.
+    const val NEW_COMMENTS_LIMIT = 100
+    // Comments left past this many pages are fetched on the next check.
+    const val MAX_NEW_COMMENTS_PAGES = 5
+  }
+
   override fun gameThreads(home: String, visitor: String, gameTimeUtc: Long, type: GameThreadType)
       : Observable<GameThreadsUIModel> {
     return threadsNetworkSource(gameTimeUtc).toObservable()
@@ -62,6 +73,42 @@ class GameThreadsRepositoryImpl @Inject constructor(
         .startWith(GameThreadsUIModel.inProgress())
   }
 
+  override fun newComments(submission: Submission, cursor: String?): Single<LiveComments> {
+    return redditAuthentication.authenticate()
+        .andThen(fetchNewComments(submission.subredditName, cursor, 0, emptyList()))
+        .map { pages ->
+          // Pages are newest first, and each one newer than the previous.
+          val comments = pages.flatMap { it.asReversed() }
+              .filter { it.data("link_id") == submission.fullName }
+          LiveComments(comments, pages.lastOrNull()?.firstOrNull()?.fullName ?: cursor)
+        }
+        .subscribeOn(schedulerProvider.io())
+        .observeOn(schedulerProvider.ui())
+  }
+
+  /**
+   * Pages through the comments of [subreddit] newer than [before]. Without a cursor only the
+   * newest page is fetched, older comments wouldn't be new anyway.
+   */
+  private fun fetchNewComments(
+      subreddit: String,
+      before: String?,
+      fetchedPages: Int,
+      pages: List<List<Comment>>): Single<List<List<Comment>>> {
+    return redditService.getNewComments(
+        redditAuthentication.redditClient, subreddit, before, NEW_COMMENTS_LIMIT)
+        .flatMap { page ->
+          val all = if (page.isEmpty()) pages else pages + listOf(page)
+          if (before == null
+              || page.size < NEW_COMMENTS_LIMIT
+              || fetchedPages + 1 >= MAX_NEW_COMMENTS_PAGES) {
+            Single.just(all)
+          } else {
+            fetchNewComments(subreddit, page[0].fullName, fetchedPages + 1, all)
+          }
+        }
+  }
+
   private fun threadsNetworkSource(gameTimeUtc: Long): Single<Map<String, GameThreadSummary>> {
     return threadsService.fetchGameThreads(
         "\"created_utc\"",
@@ -0,0 +1,11 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
+
+import net.dean.jraw.models.Comment
+
+/**
+ * Comments posted to a game thread since the last time it was checked, oldest first.
+ *
+ * The [cursor] is the fullname of the newest comment seen in the whole subreddit, to be passed
+ * back on the next check. It's only null if none was ever seen.
+ */
+data class LiveComments(val comments: List<Comment>, val cursor: String?)
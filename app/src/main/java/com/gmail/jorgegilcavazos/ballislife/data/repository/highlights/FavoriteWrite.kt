@@ -0,0 +1,15 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+
+/**
+ * A change to the favorites made locally that Firestore doesn't have yet.
+ *
+ * @param saved true if [highlight] was saved to the favorites, false if it was removed
+ * @param newFavorite true if [highlight] wasn't a favorite before being saved, so that removing it
+ * before the save is written means there's nothing to write at all
+ */
+data class FavoriteWrite(
+    val highlight: Highlight,
+    val saved: Boolean,
+    val newFavorite: Boolean = false)
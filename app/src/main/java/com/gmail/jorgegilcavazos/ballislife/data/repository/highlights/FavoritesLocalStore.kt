@@ -0,0 +1,18 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+/**
+ * Persists the favorite highlights of each user, and the changes to them that Firestore doesn't
+ * have yet, so that they can be read without a network round trip and edited while offline.
+ */
+interface FavoritesLocalStore {
+
+  /**
+   * Returns the favorites stored for [username], or [StoredFavorites.EMPTY] if none were stored.
+   */
+  fun get(username: String): StoredFavorites
+
+  /**
+   * Replaces the favorites stored for [username].
+   */
+  fun save(username: String, storedFavorites: StoredFavorites)
+}
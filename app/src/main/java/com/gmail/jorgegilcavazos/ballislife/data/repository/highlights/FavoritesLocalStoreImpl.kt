@@ -0,0 +1,89 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import android.content.Context
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.HighlightSnapshot
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.SnapshotFormatException
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.Snapshots
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * [FavoritesLocalStore] that keeps one binary snapshot per user in the app's files directory. Not
+ * the cache directory, since the pending writes would be lost if the system cleared it.
+ */
+@Singleton
+class FavoritesLocalStoreImpl @Inject constructor(
+    private val context: Context
+) : FavoritesLocalStore {
+
+  companion object {
+    private const val FAVORITES_DIR = "favorites"
+    private const val FILE_EXTENSION = ".snap"
+
+    // Bits of the flags byte stored for each pending write.
+    private const val FLAG_SAVED = 1
+    private const val FLAG_NEW_FAVORITE = 2
+  }
+
+  private val favoritesDir: File by lazy {
+    File(context.filesDir, FAVORITES_DIR).apply { mkdirs() }
+  }
+
+  override fun get(username: String): StoredFavorites {
+    val file = fileForUser(username)
+    if (!file.exists()) {
+      return StoredFavorites.EMPTY
+    }
+
+    return try {
+      Snapshots.read(file, Snapshots.KIND_FAVORITES) {
+        val syncedAt = it.getLong()
+        val favorites = HighlightSnapshot.readAll(it)
+        val writeCount = it.getCount(1 + HighlightSnapshot.MIN_HIGHLIGHT_BYTES)
+        val pendingWrites = List(writeCount) { _ ->
+          val flags = it.getByte().toInt()
+          FavoriteWrite(
+              highlight = HighlightSnapshot.read(it),
+              saved = (flags and FLAG_SAVED) != 0,
+              newFavorite = (flags and FLAG_NEW_FAVORITE) != 0)
+        }
+        StoredFavorites(favorites, pendingWrites, syncedAt)
+      }
+    } catch (e: SnapshotFormatException) {
+      // Drop it so that the favorites are synced again, only the pending writes are lost.
+      Timber.e(e, "Discarding unreadable stored favorites")
+      file.delete()
+      StoredFavorites.EMPTY
+    } catch (e: IOException) {
+      Timber.e(e, "Could not read stored favorites")
+      StoredFavorites.EMPTY
+    }
+  }
+
+  override fun save(username: String, storedFavorites: StoredFavorites) {
+    try {
+      Snapshots.write(fileForUser(username), Snapshots.KIND_FAVORITES) { writer ->
+        writer.putLong(storedFavorites.syncedAt)
+        HighlightSnapshot.writeAll(writer, storedFavorites.favorites)
+        writer.putInt(storedFavorites.pendingWrites.size)
+        storedFavorites.pendingWrites.forEach {
+          var flags = 0
+          if (it.saved) flags = flags or FLAG_SAVED
+          if (it.newFavorite) flags = flags or FLAG_NEW_FAVORITE
+          writer.putByte(flags.toByte())
+          HighlightSnapshot.write(writer, it.highlight)
+        }
+      }
+    } catch (e: IOException) {
+      Timber.e(e, "Could not store favorites")
+    }
+  }
+
+  private fun fileForUser(username: String): File {
+    // Reddit usernames are only letters, digits, dashes and underscores.
+    return File(favoritesDir, username.toLowerCase() + FILE_EXTENSION)
+  }
+}
@@ -0,0 +1,15 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.google.firebase.firestore.DocumentSnapshot
+
+/**
+ * A page of favorites fetched from Firestore.
+ *
+ * @param favorites the favorites of the page, most recent first
+ * @param cursor the last document of the page to fetch the next one after, null if it was the last
+ */
+data class FavoritesPage(
+    val favorites: List<Highlight>,
+    val cursor: DocumentSnapshot?
+)
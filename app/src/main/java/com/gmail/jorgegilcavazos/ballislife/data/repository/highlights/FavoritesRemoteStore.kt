@@ -0,0 +1,29 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.google.firebase.firestore.DocumentSnapshot
+import io.reactivex.Completable
+import io.reactivex.Single
+
+/**
+ * The favorite highlights of each user as stored in Firestore.
+ */
+interface FavoritesRemoteStore {
+
+  companion object {
+    /** Firestore rejects batches with more writes than this. */
+    const val MAX_BATCH_SIZE = 500
+  }
+
+  /**
+   * Returns up to [limit] favorites of [username] right after the [after] cursor of the previous
+   * page, or the most recent ones if null. Favorites are ordered by the time they were saved and
+   * then by id, most recent first, so that favorites saved at the same time are never skipped.
+   */
+  fun fetchPage(username: String, after: DocumentSnapshot?, limit: Int): Single<FavoritesPage>
+
+  /**
+   * Saves or removes the highlights of [writes] in the favorites of [username], all in a single
+   * batch of at most [MAX_BATCH_SIZE]. Either every write is applied or, if it fails, none is.
+   */
+  fun writeBatch(username: String, writes: List<FavoriteWrite>): Completable
+}
@@ -0,0 +1,72 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.features.model.toMap
+import com.google.firebase.firestore.CollectionReference
+import com.google.firebase.firestore.DocumentSnapshot
+import com.google.firebase.firestore.FieldPath
+import com.google.firebase.firestore.FirebaseFirestore
+import com.google.firebase.firestore.Query
+import io.reactivex.Completable
+import io.reactivex.Single
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * [FavoritesRemoteStore] backed by the `users/{username}/fav-highlights` collection.
+ */
+@Singleton
+class FavoritesRemoteStoreImpl @Inject constructor() : FavoritesRemoteStore {
+
+  companion object {
+    const val USERS_COLLECTION = "users"
+    const val FAV_HIGHLIGHTS_COLLECTION = "fav-highlights"
+    const val HIGHLIGHT_FAV_TIME_ATTR_KEY = "fav_time"
+  }
+
+  override fun fetchPage(
+      username: String,
+      after: DocumentSnapshot?,
+      limit: Int): Single<FavoritesPage> {
+    return Single.create { emitter ->
+      var query = favorites(username)
+          .orderBy(HIGHLIGHT_FAV_TIME_ATTR_KEY, Query.Direction.DESCENDING)
+          .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING)
+      query = after?.let { query.startAfter(it) } ?: query
+
+      query.limit(limit.toLong())
+          .get()
+          .addOnSuccessListener { querySnapshot ->
+            val documents = querySnapshot.documents
+            emitter.onSuccess(FavoritesPage(
+                documents.map { it.toObject(Highlight::class.java) },
+                if (documents.size < limit) null else documents.lastOrNull()))
+          }
+          .addOnFailureListener { emitter.onError(it) }
+    }
+  }
+
+  override fun writeBatch(username: String, writes: List<FavoriteWrite>): Completable {
+    if (writes.size > FavoritesRemoteStore.MAX_BATCH_SIZE) {
+      return Completable.error(IllegalArgumentException("Batch of ${writes.size} writes"))
+    }
+    return Completable.create { emitter ->
+      val collection = favorites(username)
+      val batch = FirebaseFirestore.getInstance().batch()
+      writes.forEach {
+        val document = collection.document(it.highlight.id)
+        if (it.saved) batch.set(document, it.highlight.toMap()) else batch.delete(document)
+      }
+      batch.commit()
+          .addOnSuccessListener { emitter.onComplete() }
+          .addOnFailureListener { emitter.onError(it) }
+    }
+  }
+
+  private fun favorites(username: String): CollectionReference {
+    return FirebaseFirestore.getInstance()
+        .collection(USERS_COLLECTION)
+        .document(username)
+        .collection(FAV_HIGHLIGHTS_COLLECTION)
+  }
+}
@@ -1,92 +1,352 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
 
+import android.support.annotation.VisibleForTesting
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository
 import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
-import com.gmail.jorgegilcavazos.ballislife.features.model.toMapWithNewDate
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import com.google.firebase.firestore.DocumentSnapshot
-import com.google.firebase.firestore.FirebaseFirestore
-import com.google.firebase.firestore.Query
 import com.jakewharton.rxrelay2.PublishRelay
 import io.reactivex.Completable
 import io.reactivex.Observable
+import io.reactivex.Single
+import timber.log.Timber
+import java.util.*
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Singleton
 
+/**
+ * [FavoritesRepository] that reads the favorites from a [FavoritesLocalStore] and keeps it in sync
+ * with Firestore in the background.
+ *
+ * Saving or removing a favorite only changes the local store and queues the change, which is kept
+ * until written to Firestore, even while offline. Changes are written in a single batch once no
+ * new one was queued for [FLUSH_DELAY_MS], and queued changes to the same highlight are merged so
+ * that toggling one back and forth only writes its final state, or nothing. The local
+ * favorites are reconciled with Firestore, to pick up changes made on other devices, when opened
+ * for the first time and then at most every [SYNC_INTERVAL_MS].
+ */
 @Singleton
 class FavoritesRepositoryImpl @Inject constructor(
-    private val localRepository: LocalRepository
+    private val localRepository: LocalRepository,
+    private val favoritesStore: FavoritesLocalStore,
+    private val favoritesRemote: FavoritesRemoteStore,
+    private val schedulerProvider: BaseSchedulerProvider
 ) : FavoritesRepository {
 
   companion object {
-    val USERS_COLLECTION = "users"
-    val FAV_HIGHLIGHTS_COLLECTION = "fav-highlights"
-    val HIGHLIGHT_FAV_TIME_ATTR_KEY = "fav_time"
+    const val PAGE_SIZE = 20
+    // Favorites are pulled from Firestore in pages of this size when syncing.
+    const val SYNC_BATCH_SIZE = 100
+
+    @JvmField
+    val SYNC_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10)
+
+    @JvmField
+    val FLUSH_DELAY_MS = TimeUnit.SECONDS.toMillis(2)
+
+    // Most recently saved first, ties broken by id so that paging never skips or repeats one.
+    private val FAVORITES_ORDER = compareByDescending<Highlight> { it.favTime?.time ?: 0L }
+        .thenByDescending { it.id }
   }
 
   private val newlyAddedFavorites = PublishRelay.create<Highlight>()
-  private val loadMoreTrigger = PublishRelay.create<Long>()
-  private var lastLoadedDoc: DocumentSnapshot? = null
+  private val loadMoreTrigger = PublishRelay.create<Int>()
+  // The user whose queued writes should be flushed.
+  private val flushRequests = PublishRelay.create<String>()
+
+  // The favorites of loadedUser as read from the store, with the pending writes applied.
+  private var loadedUser: String? = null
+  private var favorites: MutableList<Highlight> = ArrayList()
+  private var pendingWrites: MutableList<FavoriteWrite> = ArrayList()
+  private var syncedAt = 0L
+  // The pending writes being written, they can't be merged with anymore.
+  private var writing: List<FavoriteWrite> = emptyList()
+  // The writes completed since the sync in flight started fetching, which the favorites fetched
+  // may or may not include. Null when not fetching.
+  private var writtenWhileFetching: MutableList<FavoriteWrite>? = null
+  // In flight, shared by every caller until they complete.
+  private var flush: Completable? = null
+  private var sync: Completable? = null
+
+  init {
+    flushRequests
+        .debounce(FLUSH_DELAY_MS, TimeUnit.MILLISECONDS, schedulerProvider.computation())
+        .subscribe { runInBackground(flush(it), "Could not write favorites") }
+  }
 
   override fun newlyAddedFavorites(): Observable<Highlight> = newlyAddedFavorites
 
   override fun favorites(): Observable<Highlight> {
-    lastLoadedDoc = null
-    return Observable.create { emitter ->
-      loadMoreTrigger.subscribe { limit ->
-        var query = FirebaseFirestore.getInstance().collection(USERS_COLLECTION)
-            .document(localRepository.username)
-            .collection(FAV_HIGHLIGHTS_COLLECTION)
-            .orderBy(HIGHLIGHT_FAV_TIME_ATTR_KEY, Query.Direction.DESCENDING)
-            .limit(limit)
-
-        query = lastLoadedDoc?.let { query.startAfter(lastLoadedDoc!!) } ?: query
-
-        query.get()
-            .addOnSuccessListener { querySnapshot ->
-              if (!querySnapshot.isEmpty) {
-                lastLoadedDoc = querySnapshot.last()
-                querySnapshot.forEach { document ->
-                  emitter.onNext(document.toObject(Highlight::class.java))
-                }
-              }
-            }
-            .addOnFailureListener { error ->
-              emitter.onError(error)
-            }
-      }
+    val username = localRepository.username
+    return Observable.defer {
+      // The last favorite emitted, the next page starts after it.
+      var lastShown: Highlight? = null
+      loadMoreTrigger
+          .concatMap { limit ->
+            prepare(username)
+                .andThen(Single.fromCallable { pageAfter(lastShown, limit) })
+                .doOnSuccess { page -> page.lastOrNull()?.let { lastShown = it } }
+                .toObservable()
+          }
+          .flatMapIterable { it }
+          .observeOn(schedulerProvider.ui())
     }
   }
 
   override fun loadMore() {
-    loadMoreTrigger.accept(20)
+    loadMoreTrigger.accept(PAGE_SIZE)
   }
 
   override fun saveToFavorites(highlight: Highlight): Completable {
-    return Completable.create { emitter ->
-      FirebaseFirestore.getInstance().collection(USERS_COLLECTION)
-          .document(localRepository.username)
-          .collection(FAV_HIGHLIGHTS_COLLECTION)
-          .document(highlight.id)
-          .set(highlight.toMapWithNewDate())
-          .addOnCompleteListener {
-            emitter.onComplete()
-            newlyAddedFavorites.accept(highlight)
+    val favorite = highlight.copy(favTime = Date())
+    return queueWrite(FavoriteWrite(favorite, true))
+        .doOnComplete { newlyAddedFavorites.accept(favorite) }
+  }
+
+  override fun removeFromFavorites(highlight: Highlight): Completable {
+    return queueWrite(FavoriteWrite(highlight, false))
+  }
+
+  @VisibleForTesting
+  @Synchronized
+  fun getPendingWrites(): List<FavoriteWrite> = ArrayList(pendingWrites)
+
+  /**
+   * Reads the favorites of [username] from the store if they aren't loaded yet, and syncs them if
+   * needed. Only waits for the sync if they were never synced, since there's nothing to show yet.
+   */
+  private fun prepare(username: String): Completable {
+    return Completable.defer {
+      val syncedAt = restore(username)
+      when {
+        syncedAt == 0L -> sync(username)
+            .doOnError { Timber.e(it, "Could not sync favorites") }
+            .onErrorComplete()
+        System.currentTimeMillis() - syncedAt > SYNC_INTERVAL_MS -> {
+          runInBackground(sync(username), "Could not sync favorites")
+          Completable.complete()
+        }
+        else -> {
+          if (hasPendingWrites()) {
+            runInBackground(flush(username), "Could not write favorites")
           }
-          .addOnFailureListener { emitter.onError(it) }
+          Completable.complete()
+        }
+      }
+    }.subscribeOn(schedulerProvider.io())
+  }
+
+  private fun queueWrite(write: FavoriteWrite): Completable {
+    val username = localRepository.username
+    if (username.isNullOrEmpty()) {
+      return Completable.error(IllegalStateException("Favorites need a logged in user"))
     }
+
+    return Completable
+        .fromAction {
+          applyWrite(username, write)
+          flushRequests.accept(username)
+        }
+        .subscribeOn(schedulerProvider.io())
+        .observeOn(schedulerProvider.ui())
   }
 
-  override fun removeFromFavorites(highlight: Highlight): Completable {
-    return Completable.create { emitter ->
-      FirebaseFirestore.getInstance().collection(USERS_COLLECTION)
-          .document(localRepository.username)
-          .collection(FAV_HIGHLIGHTS_COLLECTION)
-          .document(highlight.id)
-          .delete()
-          .addOnCompleteListener { emitter.onComplete() }
-          .addOnFailureListener { emitter.onError(it) }
+  @Synchronized
+  private fun applyWrite(username: String, write: FavoriteWrite) {
+    restore(username)
+    val id = write.highlight.id
+    val wasFavorite = favorites.removeAll { it.id == id }
+    if (write.saved) {
+      favorites.add(write.highlight)
+      favorites.sortWith(FAVORITES_ORDER)
+    }
+
+    val pendingIndex = pendingWrites.indexOfLast { it.highlight.id == id }
+    val pending = pendingWrites.getOrNull(pendingIndex)
+    if (pending != null && writing.none { it === pending }) {
+      pendingWrites.removeAt(pendingIndex)
+      // Saved and removed before anything was written, Firestore never has to know.
+      if (!pending.newFavorite || write.saved) {
+        // Whether it's new depends on the state before the first of the merged writes.
+        pendingWrites.add(write.copy(newFavorite = write.saved && pending.newFavorite))
+      }
+    } else {
+      pendingWrites.add(write.copy(newFavorite = write.saved && !wasFavorite))
+    }
+    persist(username)
+  }
+
+  /**
+   * Writes the pending writes to Firestore in batches, in order, including those queued while
+   * writing. Fails with the first batch that fails, leaving it and the rest pending.
+   */
+  @Synchronized
+  private fun flush(username: String): Completable {
+    flush?.let { return it }
+    val flush = writePending(username)
+        .doFinally { onFlushFinished() }
+        .cache()
+    this.flush = flush
+    return flush
+  }
+
+  private fun writePending(username: String): Completable {
+    return Completable.defer {
+      val batch = startBatch(username)
+      if (batch.isEmpty()) {
+        Completable.complete()
+      } else {
+        favoritesRemote.writeBatch(username, batch)
+            .observeOn(schedulerProvider.io())
+            .doOnComplete { onWritten(username, batch) }
+            .doOnError { onWriteFailed() }
+            .andThen(writePending(username))
+      }
     }
   }
 
+  /**
+   * Writes the pending writes and then replaces the local favorites with those in Firestore, with
+   * the writes completed while fetching and those still pending applied on top.
+   */
+  @Synchronized
+  private fun sync(username: String): Completable {
+    sync?.let { return it }
+    val sync = Completable.defer { flush(username) }
+        .andThen(Single.defer {
+          onFetchStarted()
+          fetchAll(username, null, emptyList())
+        })
+        .observeOn(schedulerProvider.io())
+        .doOnSuccess { reconcile(username, it) }
+        .toCompletable()
+        .doFinally { onSyncFinished() }
+        .cache()
+    this.sync = sync
+    return sync
+  }
 
-}
\ No newline at end of file
+  private fun fetchAll(
+      username: String,
+      after: DocumentSnapshot?,
+      fetched: List<Highlight>): Single<List<Highlight>> {
+    return favoritesRemote.fetchPage(username, after, SYNC_BATCH_SIZE).flatMap { page ->
+      val all = fetched + page.favorites
+      val cursor = page.cursor
+      if (cursor == null) {
+        Single.just(all)
+      } else {
+        fetchAll(username, cursor, all)
+      }
+    }
+  }
+
+  @Synchronized
+  private fun reconcile(username: String, remoteFavorites: List<Highlight>) {
+    if (username != loadedUser) {
+      return
+    }
+    val byId = LinkedHashMap<String, Highlight>()
+    remoteFavorites.forEach { byId[it.id] = it }
+    // Oldest first, so that the last write to each highlight wins.
+    (writtenWhileFetching.orEmpty() + pendingWrites).forEach {
+      if (it.saved) {
+        byId[it.highlight.id] = it.highlight
+      } else {
+        byId.remove(it.highlight.id)
+      }
+    }
+    favorites = byId.values.sortedWith(FAVORITES_ORDER).toMutableList()
+    syncedAt = System.currentTimeMillis()
+    persist(username)
+  }
+
+  /**
+   * Loads the favorites of [username] from the store unless they're already loaded. Returns when
+   * they were last synced.
+   */
+  @Synchronized
+  private fun restore(username: String): Long {
+    if (username != loadedUser) {
+      val stored = favoritesStore.get(username)
+      loadedUser = username
+      favorites = stored.favorites.sortedWith(FAVORITES_ORDER).toMutableList()
+      pendingWrites = stored.pendingWrites.toMutableList()
+      syncedAt = stored.syncedAt
+    }
+    return syncedAt
+  }
+
+  @Synchronized
+  private fun pageAfter(lastShown: Highlight?, limit: Int): List<Highlight> {
+    var start = 0
+    if (lastShown != null) {
+      start = favorites.indexOfFirst { FAVORITES_ORDER.compare(it, lastShown) > 0 }
+      if (start < 0) {
+        start = favorites.size
+      }
+    }
+    return ArrayList(favorites.subList(start, minOf(start + limit, favorites.size)))
+  }
+
+  /**
+   * Returns the oldest pending writes of [username] that fit in a batch, and marks them as being
+   * written.
+   */
+  @Synchronized
+  private fun startBatch(username: String): List<FavoriteWrite> {
+    if (username != loadedUser) {
+      return emptyList()
+    }
+    writing = ArrayList(
+        pendingWrites.subList(0, minOf(pendingWrites.size, FavoritesRemoteStore.MAX_BATCH_SIZE)))
+    return writing
+  }
+
+  @Synchronized
+  private fun onWritten(username: String, batch: List<FavoriteWrite>) {
+    writing = emptyList()
+    if (username == loadedUser) {
+      // By identity, a write merged into a pending one while writing was never in the batch.
+      pendingWrites.removeAll { pending -> batch.any { it === pending } }
+      writtenWhileFetching?.addAll(batch)
+      persist(username)
+    }
+  }
+
+  @Synchronized
+  private fun onWriteFailed() {
+    writing = emptyList()
+  }
+
+  @Synchronized
+  private fun hasPendingWrites() = pendingWrites.isNotEmpty()
+
+  @Synchronized
+  private fun onFlushFinished() {
+    flush = null
+  }
+
+  @Synchronized
+  private fun onFetchStarted() {
+    writtenWhileFetching = ArrayList()
+  }
+
+  @Synchronized
+  private fun onSyncFinished() {
+    sync = null
+    writtenWhileFetching = null
+  }
+
+  private fun persist(username: String) {
+    favoritesStore.save(
+        username, StoredFavorites(ArrayList(favorites), ArrayList(pendingWrites), syncedAt))
+  }
+
+  private fun runInBackground(completable: Completable, errorMessage: String) {
+    completable
+        .subscribeOn(schedulerProvider.io())
+        .subscribe({}, { Timber.e(it, errorMessage) })
+  }
+}
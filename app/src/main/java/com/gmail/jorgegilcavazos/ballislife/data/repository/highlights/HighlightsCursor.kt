@@ -0,0 +1,63 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+
+/**
+ * Where the next page of highlights starts: right after the last one loaded, with highlights
+ * ordered by (score, createdUtc, id) for the top sortings and by (createdUtc, id) for
+ * [Sorting.NEW], highest first.
+ *
+ * The highlights endpoint can only bound a page by the value it's ordered by, not by a key
+ * within that value. So the next page is requested up to and including the [value] of the
+ * cursor, with [tiedCount] extra items for the highlights of that same value that were already
+ * loaded, which are then dropped by id. Highlights tied with the last one of a page are never
+ * skipped.
+ */
+data class HighlightsCursor(
+    val score: Int,
+    val createdUtc: Long,
+    val id: String,
+    val value: Long,
+    val tiedCount: Int
+) {
+
+  companion object {
+
+    /**
+     * Returns the cursor after the last of the [loaded] highlights, or null if there are none.
+     */
+    @JvmStatic
+    fun after(sorting: Sorting, loaded: List<Highlight>): HighlightsCursor? {
+      val last = loaded.lastOrNull() ?: return null
+      val value = valueOf(sorting, last)
+      val tiedCount = loaded.count { valueOf(sorting, it) == value }
+      return HighlightsCursor(last.score, last.createdUtc, last.id, value, tiedCount)
+    }
+
+    /**
+     * The order of the highlights of a page for [sorting], highest first.
+     */
+    @JvmStatic
+    fun order(sorting: Sorting): Comparator<Highlight> {
+      return when (sorting) {
+        Sorting.NEW -> compareByDescending<Highlight> { it.createdUtc }.thenByDescending { it.id }
+        Sorting.TOP_DAY,
+        Sorting.TOP_WEEK,
+        Sorting.TOP_SEASON -> compareByDescending<Highlight> { it.score }
+            .thenByDescending { it.createdUtc }
+            .thenByDescending { it.id }
+      }
+    }
+
+    /** The value the highlights endpoint orders [highlight] by for [sorting]. */
+    private fun valueOf(sorting: Sorting, highlight: Highlight): Long {
+      return when (sorting) {
+        Sorting.NEW -> highlight.createdUtc
+        Sorting.TOP_DAY,
+        Sorting.TOP_WEEK,
+        Sorting.TOP_SEASON -> highlight.score.toLong()
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
+
+/**
+ * Persists the pages of highlights loaded for each sorting so that the highlights tab can resume
+ * where it was, even after process death, without fetching them again.
+ */
+interface HighlightsLocalStore {
+
+  /**
+   * Returns the pages stored for [sorting], or null if none were stored.
+   */
+  fun get(sorting: Sorting): StoredHighlights?
+
+  /**
+   * Replaces the pages stored for the sorting of [storedHighlights].
+   */
+  fun save(storedHighlights: StoredHighlights)
+}
@@ -0,0 +1,73 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import android.content.Context
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.HighlightSnapshot
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.SnapshotFormatException
+import com.gmail.jorgegilcavazos.ballislife.data.local.snapshot.Snapshots
+import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * [HighlightsLocalStore] that keeps one binary snapshot per sorting in the app's cache directory.
+ */
+@Singleton
+class HighlightsLocalStoreImpl @Inject constructor(
+    private val context: Context
+) : HighlightsLocalStore {
+
+  companion object {
+    private const val HIGHLIGHTS_DIR = "highlights"
+    private const val FILE_EXTENSION = ".snap"
+  }
+
+  private val highlightsDir: File by lazy {
+    File(context.cacheDir, HIGHLIGHTS_DIR).apply { mkdirs() }
+  }
+
+  override fun get(sorting: Sorting): StoredHighlights? {
+    val file = fileForSorting(sorting)
+    if (!file.exists()) {
+      return null
+    }
+
+    return try {
+      Snapshots.read(file, Snapshots.KIND_HIGHLIGHTS) {
+        StoredHighlights(
+            sorting = sorting,
+            period = it.getString() ?: "",
+            fetchedAt = it.getLong(),
+            exhausted = it.getByte() != 0.toByte(),
+            highlights = HighlightSnapshot.readAll(it))
+      }
+    } catch (e: SnapshotFormatException) {
+      // The file is corrupt or written by an older format, drop it so it's fetched again.
+      Timber.e(e, "Discarding unreadable stored highlights for %s", sorting)
+      file.delete()
+      null
+    } catch (e: IOException) {
+      Timber.e(e, "Could not read stored highlights for %s", sorting)
+      null
+    }
+  }
+
+  override fun save(storedHighlights: StoredHighlights) {
+    try {
+      Snapshots.write(fileForSorting(storedHighlights.sorting), Snapshots.KIND_HIGHLIGHTS) {
+        it.putString(storedHighlights.period)
+            .putLong(storedHighlights.fetchedAt)
+            .putByte(if (storedHighlights.exhausted) 1 else 0)
+        HighlightSnapshot.writeAll(it, storedHighlights.highlights)
+      }
+    } catch (e: IOException) {
+      Timber.e(e, "Could not store highlights for %s", storedHighlights.sorting)
+    }
+  }
+
+  private fun fileForSorting(sorting: Sorting): File {
+    return File(highlightsDir, sorting.name.toLowerCase() + FILE_EXTENSION)
+  }
+}
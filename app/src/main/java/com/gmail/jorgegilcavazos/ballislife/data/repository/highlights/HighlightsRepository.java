@@ -11,10 +11,30 @@ public interface HighlightsRepository {
 
     void setItemsToLoad(int itemsToLoad);
 
+    /**
+     * Sets how close to the end of the loaded highlights, in items, the next page starts being
+     * prefetched.
+     */
+    void setPrefetchDistance(int prefetchDistance);
+
     void reset(Sorting sorting);
 
+    /**
+     * Restores the pages of highlights stored on disk for a sorting, if they're recent enough,
+     * so that they're cached again and the next page continues after them. Emits the restored
+     * highlights, or an empty list if there were none.
+     */
+    Single<List<Highlight>> loadStoredHighlights(Sorting sorting);
+
     Single<List<Highlight>> next();
 
+    /**
+     * Starts loading the next page in the background if there are no more than the prefetch
+     * distance items left after the last one visible, so that {@link #next()} returns it without
+     * waiting. Only one page is prefetched at a time and resetting cancels it.
+     */
+    void prefetchIfNear(int remainingItems);
+
     List<Highlight> getCachedHighlights();
 
     Sorting getSorting();
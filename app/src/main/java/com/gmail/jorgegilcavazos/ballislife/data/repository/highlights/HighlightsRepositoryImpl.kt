@@ -5,116 +5,216 @@ import com.gmail.jorgegilcavazos.ballislife.data.service.HighlightsService
 import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
 import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import io.reactivex.Single
+import io.reactivex.disposables.Disposable
+import timber.log.Timber
 import java.util.*
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
 class HighlightsRepositoryImpl @Inject constructor(
-    private val highlightsService: HighlightsService) : HighlightsRepository {
+    private val highlightsService: HighlightsService,
+    private val highlightsStore: HighlightsLocalStore,
+    private val schedulerProvider: BaseSchedulerProvider) : HighlightsRepository {
 
   companion object {
     private val ORDER_KEY_CREATED = "\"created_utc\""
     private val ORDER_KEY_SCORE = "\"score\""
+
+    const val DEFAULT_PREFETCH_DISTANCE = 15
   }
 
+  /**
+   * A page fetched but not handed out by [next] yet, so it isn't part of the cached highlights.
+   */
+  private class Page(
+      val generation: Int,
+      val highlights: List<Highlight>,
+      val requested: Int,
+      val received: Int)
+
   private val cachedHighlights: MutableList<Highlight> = ArrayList()
+  private val loadedIds: MutableSet<String> = HashSet()
   private var sorting = Sorting.NEW
+  private var period = ""
+  private var fetchedAt = 0L
   private var itemsToLoad: Int = 0
-  private var lastHighlightTimestamp = Long.MAX_VALUE
-  private var lastHighlightScore = Int.MAX_VALUE
+  private var cursor: HighlightsCursor? = null
+  // Volatile like loadingNext and prefetchedPage, read without the lock by prefetchIfNear.
+  @Volatile private var exhausted = false
+  @Volatile private var prefetchDistance = DEFAULT_PREFETCH_DISTANCE
+  // Bumped on every reset so that pages of a previous sorting are never committed.
+  private var generation = 0
+  @Volatile private var loadingNext = false
+  // The next page, loading or loaded in the background, and its subscription.
+  @Volatile private var prefetchedPage: Single<Page>? = null
+  private var prefetch: Disposable? = null
 
   override fun setItemsToLoad(itemsToLoad: Int) {
     this.itemsToLoad = itemsToLoad
   }
 
+  override fun setPrefetchDistance(prefetchDistance: Int) {
+    this.prefetchDistance = prefetchDistance
+  }
+
+  @Synchronized
   override fun reset(sorting: Sorting) {
+    // The prefetched page belongs to the previous sorting.
+    cancelPrefetch()
+    generation++
+    loadingNext = false
     this.sorting = sorting
-    lastHighlightTimestamp = Long.MAX_VALUE
-    lastHighlightScore = Int.MAX_VALUE
+    // Keep paginating the same day or week even if it changes while scrolling.
+    period = periodOf(sorting)
+    fetchedAt = 0L
+    cursor = null
+    exhausted = false
     cachedHighlights.clear()
+    loadedIds.clear()
   }
 
+  override fun loadStoredHighlights(sorting: Sorting): Single<List<Highlight>> {
+    return Single.fromCallable<List<Highlight>> {
+      val stored = highlightsStore.get(sorting)
+      if (stored == null || !stored.isUsable(periodOf(sorting), System.currentTimeMillis())) {
+        emptyList()
+      } else {
+        restore(stored)
+        stored.highlights
+      }
+    }
+  }
+
+  @Synchronized
   override fun next(): Single<List<Highlight>> {
-    if (lastHighlightScore < 0 || lastHighlightTimestamp < 0) {
+    if (exhausted) {
       return Single.just(emptyList())
     }
 
+    // Take the prefetched page, loaded or still loading. If it failed, try once more.
+    val page = prefetchedPage?.onErrorResumeNext(fetchPage()) ?: fetchPage()
+    prefetchedPage = null
+    prefetch = null
+    loadingNext = true
+    val generation = generation
+    return page
+        .map { fetched ->
+          // Written outside of the lock, which prefetchIfNear takes on the main thread.
+          val (highlights, stored) = commit(fetched)
+          stored?.let { highlightsStore.save(it) }
+          highlights
+        }
+        .doFinally { onNextFinished(generation) }
+  }
+
+  override fun prefetchIfNear(remainingItems: Int) {
+    // Called on every scroll, so most calls return before taking the lock. Until a page is
+    // committed the cursor doesn't move, so prefetching would ask for it again.
+    if (remainingItems > prefetchDistance || exhausted || prefetchedPage != null || loadingNext) {
+      return
+    }
+    startPrefetch()
+  }
+
+  @Synchronized
+  private fun startPrefetch() {
+    if (exhausted || prefetchedPage != null || loadingNext || cachedHighlights.isEmpty()) {
+      return
+    }
+
+    val page = fetchPage().cache()
+    prefetchedPage = page
+    prefetch = page
+        .subscribeOn(schedulerProvider.io())
+        .subscribe({}, { e ->
+          Timber.e(e, "Could not prefetch highlights")
+          clearPrefetch(page)
+        })
+  }
+
+  /**
+   * Fetches the page after the highlights cached when subscribed to, without changing them.
+   */
+  private fun fetchPage(): Single<Page> = Single.defer {
+    val generation = generation
+    // Ask for the highlights tied with the last one loaded again, see HighlightsCursor.
+    val cursor = cursor
+    val limit = itemsToLoad + (cursor?.tiedCount ?: 0)
+    val endAt = cursor?.value
     val source = when (sorting) {
       Sorting.NEW -> {
         highlightsService.getAllHighlights(
             ORDER_KEY_CREATED,
             0,
-            lastHighlightTimestamp,
-            itemsToLoad
+            endAt ?: Long.MAX_VALUE,
+            limit
         )
       }
       Sorting.TOP_DAY -> {
         highlightsService.getDailyHighlights(
-            DateFormatUtil.getTodayForHighlights(),
+            period,
             ORDER_KEY_SCORE,
             0,
-            lastHighlightScore,
-            itemsToLoad
+            endAt?.toInt() ?: Int.MAX_VALUE,
+            limit
         )
       }
       Sorting.TOP_WEEK -> {
         highlightsService.getWeeklyHighlights(
-            DateFormatUtil.getWeekForHighlights(),
+            period,
             ORDER_KEY_SCORE,
             0,
-            lastHighlightScore,
-            itemsToLoad
+            endAt?.toInt() ?: Int.MAX_VALUE,
+            limit
         )
       }
       Sorting.TOP_SEASON -> {
         highlightsService.getSeasonHighlights(
             ORDER_KEY_SCORE,
             0,
-            lastHighlightScore,
-            itemsToLoad
+            endAt?.toInt() ?: Int.MAX_VALUE,
+            limit
         )
       }
     }
 
-    // Get highlights from 0 to PREV_MAX in batches of [itemsToLoad]. If this is the first fetch,
-    // it will return the last [itemsToLoad] items from 0 to Int/Long.MAX. Then it will save the
-    // lowest value - 1 as the new PREV_MAX, so that the next time this is called it fetches
-    // from 0 to PREV_MAX.
-    return source
-        .flatMap { stringHighlightMap ->
-          if (stringHighlightMap.isEmpty()) {
-            Single.just(emptyList<Highlight>())
-          } else {
-            val sortedHighlights = when (sorting) {
-              Sorting.NEW -> stringHighlightMap.values.sortedByDescending { it.createdUtc }
-              Sorting.TOP_DAY,
-              Sorting.TOP_WEEK,
-              Sorting.TOP_SEASON -> stringHighlightMap.values.sortedByDescending { it.score }
-            }
-
-            // Set the new limit to the lowest value (-1 to avoid duplication) in this batch of
-            // highlights so that the next page will fetch from 0 to that value.
-            //
-            // Note that with this solution it is possible that some highlights will be lost in
-            // pagination because we're ending the next page on the lowest value of the last
-            // page - 1.
-            // Say we have 10 items with scores [20, 15, 15, 15, 12, 10, 9, 9, 5, 4] and paginating
-            // in chunks of 3.
-            // The first page would return 20, 15, 15 and set the value to 14,
-            // The second page would then return 12, 10, and 9, skipping the third 15.
-            when (sorting) {
-              Sorting.NEW -> lastHighlightTimestamp = sortedHighlights.last().createdUtc - 1
-              Sorting.TOP_DAY,
-              Sorting.TOP_WEEK,
-              Sorting.TOP_SEASON -> lastHighlightScore = sortedHighlights.last().score - 1
-            }
-
-            cachedHighlights.addAll(sortedHighlights)
-            Single.just(sortedHighlights)
-          }
-        }
+    val order = HighlightsCursor.order(sorting)
+    source.map { stringHighlightMap ->
+      Page(generation, stringHighlightMap.values.sortedWith(order), limit, stringHighlightMap.size)
+    }
+  }
+
+  /**
+   * Adds a fetched page to the cached highlights and moves the cursor after it. Returns the
+   * highlights of the page that weren't loaded yet, and the cached highlights to store if the
+   * page was committed.
+   */
+  @Synchronized
+  private fun commit(fetched: Page): Pair<List<Highlight>, StoredHighlights?> {
+    if (fetched.generation != generation) {
+      return Pair(emptyList(), null)
+    }
+
+    // Highlights already loaded come back when they're tied with the cursor, or when the
+    // ranking changed between pages. Either way they're only shown once.
+    val page = fetched.highlights.filter { loadedIds.add(it.id) }
+
+    // A short page means the endpoint has nothing older or lower left.
+    if (fetched.received < fetched.requested || page.isEmpty()) {
+      exhausted = true
+    }
+
+    if (fetchedAt == 0L) {
+      fetchedAt = System.currentTimeMillis()
+    }
+    cachedHighlights.addAll(page)
+    cursor = HighlightsCursor.after(sorting, cachedHighlights)
+    val stored = StoredHighlights(
+        sorting, period, fetchedAt, ArrayList(cachedHighlights), exhausted)
+    return Pair(page, stored)
   }
 
   override fun getCachedHighlights(): List<Highlight> {
@@ -126,8 +226,53 @@ class HighlightsRepositoryImpl @Inject constructor(
   }
 
   @VisibleForTesting
-  fun getLastHighlightTimestamp(): Long = lastHighlightTimestamp
+  fun getCursor(): HighlightsCursor? = cursor
 
   @VisibleForTesting
-  fun getLastHighlightScore(): Int = lastHighlightScore
+  fun isExhausted(): Boolean = exhausted
+
+  @VisibleForTesting
+  fun isPrefetching(): Boolean = prefetchedPage != null
+
+  @Synchronized
+  private fun onNextFinished(generation: Int) {
+    if (generation == this.generation) {
+      loadingNext = false
+    }
+  }
+
+  private fun cancelPrefetch() {
+    prefetch?.dispose()
+    prefetch = null
+    prefetchedPage = null
+  }
+
+  @Synchronized
+  private fun clearPrefetch(page: Single<Page>) {
+    // Only if it wasn't replaced, so that the page is fetched again when needed.
+    if (prefetchedPage === page) {
+      prefetchedPage = null
+      prefetch = null
+    }
+  }
+
+  @Synchronized
+  private fun restore(stored: StoredHighlights) {
+    reset(stored.sorting)
+    period = stored.period
+    fetchedAt = stored.fetchedAt
+    exhausted = stored.exhausted
+    cachedHighlights.addAll(stored.highlights)
+    stored.highlights.forEach { loadedIds.add(it.id) }
+    cursor = HighlightsCursor.after(sorting, cachedHighlights)
+  }
+
+  private fun periodOf(sorting: Sorting): String {
+    return when (sorting) {
+      Sorting.TOP_DAY -> DateFormatUtil.getTodayForHighlights()
+      Sorting.TOP_WEEK -> DateFormatUtil.getWeekForHighlights()
+      Sorting.NEW,
+      Sorting.TOP_SEASON -> ""
+    }
+  }
 }
@@ -0,0 +1,22 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+
+/**
+ * The favorite highlights of a user as known on this device.
+ *
+ * @param favorites the favorites, most recently saved first, including the [pendingWrites]
+ * @param pendingWrites the changes not written to Firestore yet, oldest first
+ * @param syncedAt when the favorites were last reconciled with Firestore, 0 if never
+ */
+data class StoredFavorites(
+    val favorites: List<Highlight>,
+    val pendingWrites: List<FavoriteWrite>,
+    val syncedAt: Long
+) {
+
+  companion object {
+    @JvmField
+    val EMPTY = StoredFavorites(emptyList(), emptyList(), 0L)
+  }
+}
@@ -0,0 +1,35 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import java.util.concurrent.TimeUnit
+
+/**
+ * The pages of highlights loaded for a [sorting], in the order they were shown.
+ *
+ * @param period the day or week the highlights belong to for [Sorting.TOP_DAY] and
+ * [Sorting.TOP_WEEK], empty for the other sortings
+ * @param fetchedAt when the first page was fetched
+ * @param exhausted true if there are no more pages after these
+ */
+data class StoredHighlights(
+    val sorting: Sorting,
+    val period: String,
+    val fetchedAt: Long,
+    val highlights: List<Highlight>,
+    val exhausted: Boolean
+) {
+
+  companion object {
+    /** Stored pages older than this are fetched again instead of being shown. */
+    @JvmField
+    val TTL_MS = TimeUnit.MINUTES.toMillis(30)
+  }
+
+  /**
+   * Returns true if these pages can still be shown for the given [period] at time [now].
+   */
+  fun isUsable(period: String, now: Long): Boolean {
+    return this.period == period && now - fetchedAt < TTL_MS
+  }
+}
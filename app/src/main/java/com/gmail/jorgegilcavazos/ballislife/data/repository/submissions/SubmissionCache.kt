@@ -0,0 +1,103 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import android.content.ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+import android.content.ComponentCallbacks2.TRIM_MEMORY_COMPLETE
+import android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL
+import android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+import android.content.ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE
+import android.content.ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN
+import android.support.v4.util.LruCache
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Memory cache of [SubmissionWrapper]s by id, weighted by the comments they hold since a game
+ * thread can carry tens of thousands of them. The least recently used submissions are evicted
+ * once their weights add up to more than [maxWeight].
+ *
+ * The last submission used is kept apart from that budget, so that the thread being read is never
+ * evicted for being too large or by other submissions loaded meanwhile. It's only dropped when the
+ * system is about to kill the app.
+ */
+@Singleton
+class SubmissionCache(
+    private val maxWeight: Int,
+    private val weigher: (SubmissionWrapper) -> Int) {
+
+  @Inject constructor() : this(DEFAULT_MAX_WEIGHT, { commentWeight(it) })
+
+  companion object {
+    /** Roughly a few megabytes of comments. */
+    const val DEFAULT_MAX_WEIGHT = 10000
+
+    /**
+     * The number of comments loaded for a submission, plus one for the submission itself.
+     */
+    @JvmStatic
+    fun commentWeight(wrapper: SubmissionWrapper): Int {
+      return 1 + (wrapper.submission?.comments?.walkTree()?.size() ?: 0)
+    }
+  }
+
+  private class Entry(val wrapper: SubmissionWrapper, val weight: Int)
+
+  private val lru = object : LruCache<String, Entry>(maxWeight) {
+    override fun sizeOf(key: String, value: Entry) = value.weight
+  }
+  private var hot: Entry? = null
+
+  @Synchronized
+  fun get(id: String): SubmissionWrapper? {
+    hot?.let {
+      if (it.wrapper.id == id) {
+        return it.wrapper
+      }
+    }
+    val entry = lru.get(id) ?: return null
+    makeHot(entry)
+    return entry.wrapper
+  }
+
+  @Synchronized
+  fun put(wrapper: SubmissionWrapper) {
+    makeHot(Entry(wrapper, weigher(wrapper)))
+  }
+
+  @Synchronized
+  fun clear() {
+    lru.evictAll()
+    hot = null
+  }
+
+  /**
+   * Sheds submissions according to a level passed to `onTrimMemory`. The hot one is kept unless
+   * the app is next to be killed.
+   */
+  @Synchronized
+  fun trimMemory(level: Int) {
+    when {
+      level >= TRIM_MEMORY_COMPLETE -> clear()
+      level >= TRIM_MEMORY_BACKGROUND -> lru.evictAll()
+      // The app just went to the background and may well come back.
+      level >= TRIM_MEMORY_UI_HIDDEN -> lru.trimToSize(maxWeight / 2)
+      level >= TRIM_MEMORY_RUNNING_CRITICAL -> lru.evictAll()
+      level >= TRIM_MEMORY_RUNNING_LOW -> lru.trimToSize(maxWeight / 4)
+      level >= TRIM_MEMORY_RUNNING_MODERATE -> lru.trimToSize(maxWeight / 2)
+    }
+  }
+
+  /** The total weight of the submissions cached, the hot one included. */
+  @Synchronized
+  fun weight(): Int = lru.size() + (hot?.weight ?: 0)
+
+  private fun makeHot(entry: Entry) {
+    val id = entry.wrapper.id
+    lru.remove(id)
+    val previous = hot
+    hot = entry
+    if (previous != null && previous.wrapper.id != id) {
+      lru.put(previous.wrapper.id, previous)
+    }
+  }
+}
@@ -7,47 +7,66 @@ import com.google.common.base.Optional
 import io.reactivex.Single
 import net.dean.jraw.models.CommentSort
 import net.dean.jraw.models.Submission
-import java.util.*
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * Implementation of the [SubmissionRepository] interface. Stores [SubmissionWrapper]s in a map
- * keyed by their id.
- * TODO: should there be a limit to how many submissions are cached?
+ * Implementation of the [SubmissionRepository] interface. Stores [SubmissionWrapper]s in a
+ * [SubmissionCache] keyed by their id.
+ *
+ * Callers asking for the same submission with the same sorting while it's being fetched share that
+ * fetch instead of starting their own, like the game threads of a game being reloaded together.
  */
 @Singleton
 class SubmissionRepositoryImpl
 @Inject constructor(
     val redditAuthentication: RedditAuthentication,
-    val redditService: RedditService) : SubmissionRepository {
-  private val idToSubmissionMap = HashMap<String, SubmissionWrapper>()
+    val redditService: RedditService,
+    private val submissionCache: SubmissionCache) : SubmissionRepository {
 
+  // In flight, shared by every caller until they complete.
+  private val fetches = HashMap<Pair<String, CommentSort>, Single<SubmissionWrapper>>()
+
+  @Synchronized
   override fun getSubmission(
       id: String,
       sort: CommentSort,
       forceReload: Boolean): Single<SubmissionWrapper> {
     // Use submission in cache if available and has the right comment sorting.
-    if (!forceReload && idToSubmissionMap[id] != null && idToSubmissionMap[id]?.sort == sort) {
-      return Single.just(idToSubmissionMap[id])
+    val cached = submissionCache.get(id)
+    if (!forceReload && cached != null && cached.sort == sort) {
+      return Single.just(cached)
     }
-    return redditService.getSubmission(redditAuthentication.redditClient, id, sort)
+    // Even when forced to reload, one that's still in flight is as fresh as a new one.
+    val key = Pair(id, sort)
+    fetches[key]?.let { return it }
+    val fetch = Single
+        .defer { redditService.getSubmission(redditAuthentication.redditClient, id, sort) }
         .flatMap { s: Submission ->
           val wrapper = SubmissionWrapper(s)
           wrapper.sort = sort
-          idToSubmissionMap[wrapper.id] = wrapper
+          submissionCache.put(wrapper)
           Single.just(wrapper)
         }
+        .doFinally { onFetchFinished(key) }
+        .cache()
+    fetches[key] = fetch
+    return fetch
   }
 
   override fun getCachedSubmission(id: String): Optional<Submission> {
-    val submission = idToSubmissionMap[id]?.submission
+    val submission = submissionCache.get(id)?.submission
     return Optional.of(submission)
   }
 
   override fun saveSubmission(submissionWrapper: SubmissionWrapper) {
-    idToSubmissionMap[submissionWrapper.id] = submissionWrapper
+    submissionCache.put(submissionWrapper)
   }
 
-  override fun reset() = idToSubmissionMap.clear()
+  override fun reset() = submissionCache.clear()
+
+  @Synchronized
+  private fun onFetchFinished(key: Pair<String, CommentSort>) {
+    fetches.remove(key)
+  }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that sets how long responses of each endpoint may be served from the
+ * {@link okhttp3.Cache} before they have to be revalidated, since the backends either don't say
+ * or forbid caching altogether. Validators sent by the server (ETag, Last-Modified) are kept, so
+ * once a response is stale OkHttp revalidates it with a conditional request and a 304 avoids
+ * downloading the body again.
+ *
+ * <p>Requests sent with a {@link #NO_CACHE} Cache-Control header skip the cache, for refreshes
+ * that must show the latest data. Their response is still cached for the next requests.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    /** Cache-Control header value of requests that must go to the network. */
+    public static final String NO_CACHE = CacheControl.FORCE_NETWORK.toString();
+
+    private final Map<String, Integer> maxAgeByPath;
+
+    /**
+     * @param maxAgeByPath seconds a response is fresh for, keyed by a part of the url path. The
+     *                     first entry contained in a request's path is used.
+     */
+    public CachePolicyInterceptor(Map<String, Integer> maxAgeByPath) {
+        this.maxAgeByPath = maxAgeByPath;
+    }
+
+    /**
+     * Returns an interceptor with the freshness of the endpoints used by the app. Data that
+     * changes during a game is short-lived, while standings change at most once a day.
+     */
+    public static CachePolicyInterceptor withDefaultPolicies() {
+        Map<String, Integer> maxAgeByPath = new LinkedHashMap<>();
+        maxAgeByPath.put("/standings/", (int) TimeUnit.HOURS.toSeconds(1));
+        maxAgeByPath.put("/highlights/", (int) TimeUnit.MINUTES.toSeconds(1));
+        maxAgeByPath.put("/game_threads/", 30);
+        maxAgeByPath.put("/boxscore/", 10);
+        maxAgeByPath.put("_gamedetail.json", 10);
+        maxAgeByPath.put("/games/", 10);
+        return new CachePolicyInterceptor(maxAgeByPath);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        Integer maxAge = maxAgeFor(request.url().encodedPath());
+        if (maxAge == null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+
+    private Integer maxAgeFor(String path) {
+        for (Map.Entry<String, Integer> entry : maxAgeByPath.entrySet()) {
+            if (path.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
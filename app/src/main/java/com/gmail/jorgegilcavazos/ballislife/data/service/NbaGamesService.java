@@ -1,5 +1,7 @@
 package com.gmail.jorgegilcavazos.ballislife.data.service;
 
+import android.support.annotation.Nullable;
+
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse;
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2;
 
@@ -7,16 +9,26 @@ import java.util.Map;
 
 import io.reactivex.Single;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 
 public interface NbaGamesService {
 
+    /**
+     * @param cacheControl {@link CachePolicyInterceptor#NO_CACHE} to skip the cache, or null
+     */
     @GET("games/2017-18/.json")
     Single<Map<String, GameV2>> getDayGames(
             @Query("orderBy") String orderBy,
-            @Query("startAt") long startAt, @Query("endAt") long endAt);
+            @Query("startAt") long startAt, @Query("endAt") long endAt,
+            @Nullable @Header("Cache-Control") String cacheControl);
 
+    /**
+     * @param cacheControl {@link CachePolicyInterceptor#NO_CACHE} to skip the cache, or null
+     */
     @GET("boxscore/{gameId}/.json")
-    Single<BoxScoreResponse> boxScore(@Path("gameId") String gameId);
+    Single<BoxScoreResponse> boxScore(
+            @Path("gameId") String gameId,
+            @Nullable @Header("Cache-Control") String cacheControl);
 }
@@ -1,12 +1,20 @@
 package com.gmail.jorgegilcavazos.ballislife.data.service;
 
+import android.support.annotation.Nullable;
+
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse;
 
 import io.reactivex.Single;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Path;
 
 public interface NbaService {
+    /**
+     * @param cacheControl {@link CachePolicyInterceptor#NO_CACHE} to skip the cache, or null
+     */
     @GET("data/10s/v2015/json/mobile_teams/nba/2017/scores/gamedetail/{gameId}_gamedetail.json")
-    Single<BoxScoreResponse> boxScoreNba(@Path("gameId") String gameId);
+    Single<BoxScoreResponse> boxScoreNba(
+            @Path("gameId") String gameId,
+            @Nullable @Header("Cache-Control") String cacheControl);
 }
@@ -1,5 +1,7 @@
 package com.gmail.jorgegilcavazos.ballislife.data.service;
 
+import android.support.annotation.Nullable;
+
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubscriberCount;
 
 import net.dean.jraw.RedditClient;
@@ -81,6 +83,17 @@ public interface RedditService {
      */
     Single<Submission> getSubmission(RedditClient redditClient, String threadId, CommentSort sort);
 
+    /**
+     * Returns an Rx Single that emits the newest comments posted to a subreddit, newest first.
+     *
+     * @param subreddit where the comments were posted
+     * @param before    fullname of a comment, only those posted after it are emitted. If null the
+     *                  newest are emitted
+     * @param limit     max number of comments to emit
+     */
+    Single<List<Comment>> getNewComments(RedditClient redditClient, String subreddit,
+                                         @Nullable String before, int limit);
+
     /**
      * Returns an Rx Single that emits a listing of the next page of Submission given a paginator.
      */
@@ -1,10 +1,14 @@
 package com.gmail.jorgegilcavazos.ballislife.data.service;
 
+import android.support.annotation.Nullable;
+
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubscriberCount;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyNotAvailableException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyToCommentException;
 
 import net.dean.jraw.RedditClient;
+import net.dean.jraw.http.HttpRequest;
+import net.dean.jraw.http.RestResponse;
 import net.dean.jraw.http.SubmissionRequest;
 import net.dean.jraw.http.oauth.Credentials;
 import net.dean.jraw.http.oauth.OAuthData;
@@ -196,6 +200,31 @@ public class RedditServiceImpl implements RedditService {
         });
     }
 
+    @Override
+    public Single<List<Comment>> getNewComments(
+            final RedditClient redditClient,
+            final String subreddit,
+            @Nullable final String before,
+            final int limit) {
+        return Single.create(e -> {
+            HttpRequest.Builder builder = redditClient.request()
+                    .path("/r/" + subreddit + "/comments")
+                    .query("limit", String.valueOf(limit));
+            if (before != null) {
+                builder.query("before", before);
+            }
+
+            try {
+                RestResponse response = redditClient.execute(builder.build());
+                e.onSuccess(response.asListing(Comment.class));
+            } catch (Exception ex) {
+                if (!e.isDisposed()) {
+                    e.onError(ex);
+                }
+            }
+        });
+    }
+
     @Override
     public Single<Listing<Submission>> getSubmissionListing(final Paginator<Submission> paginator) {
         return Single.create(e -> {
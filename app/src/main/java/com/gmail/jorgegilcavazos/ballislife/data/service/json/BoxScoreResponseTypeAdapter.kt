@@ -0,0 +1,150 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streams a [BoxScoreResponse] in and out of JSON. Only the players, scores and status of the
+ * game are read, every other subtree of the gamedetail payload (play by play, team leaders,
+ * officials...) is skipped. Players are read straight into [TeamStatColumns], without a
+ * [com.gmail.jorgegilcavazos.ballislife.features.model.StatLine] per player.
+ */
+class BoxScoreResponseTypeAdapter : TypeAdapter<BoxScoreResponse>() {
+
+  companion object {
+    // The JSON name of each stat, by TeamStatColumns stat index.
+    private val STAT_NAMES = arrayOf("pts", "min", "ast", "reb", "dreb", "oreb", "blk", "blka",
+        "stl", "tov", "pf", "fga", "fgm", "tpa", "tpm", "fta", "ftm", "pm")
+
+    private val STAT_INDEXES: Map<String, Int> =
+        STAT_NAMES.withIndex().associate { (stat, name) -> name to stat }
+  }
+
+  override fun read(reader: JsonReader): BoxScoreResponse? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var values: BoxScoreValues? = null
+    reader.readObject { name ->
+      when (name) {
+        "g" -> values = readValues(reader)
+        else -> reader.skipValue()
+      }
+    }
+    return values?.let { BoxScoreResponse(it) }
+  }
+
+  private fun readValues(reader: JsonReader): BoxScoreValues? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var home: BoxScoreTeam? = null
+    var visitor: BoxScoreTeam? = null
+    var status: Int? = null
+    reader.readObject { name ->
+      when (name) {
+        "hls" -> home = readTeam(reader)
+        "vls" -> visitor = readTeam(reader)
+        "st" -> status = reader.nextIntOrNull()
+        else -> reader.skipValue()
+      }
+    }
+    return BoxScoreValues(home ?: emptyTeam(), visitor ?: emptyTeam(), status)
+  }
+
+  private fun readTeam(reader: JsonReader): BoxScoreTeam {
+    var players = TeamStatColumns.EMPTY
+    var score = 0
+    reader.readObject { name ->
+      when (name) {
+        "pstsg" -> players = readPlayers(reader)
+        "s" -> score = reader.nextIntOrDefault()
+        else -> reader.skipValue()
+      }
+    }
+    return BoxScoreTeam(players, score)
+  }
+
+  private fun readPlayers(reader: JsonReader): TeamStatColumns {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return TeamStatColumns.EMPTY
+    }
+
+    val builder = TeamStatColumns.Builder()
+    reader.beginArray()
+    while (reader.hasNext()) {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull()
+        continue
+      }
+      val player = builder.addPlayer()
+      reader.readObject { name ->
+        when (name) {
+          "fn" -> builder.setFirstName(player, reader.nextStringOrNull())
+          "ln" -> builder.setLastName(player, reader.nextStringOrNull())
+          "pid" -> builder.setId(player, reader.nextIntOrNull())
+          else -> {
+            val stat = STAT_INDEXES[name]
+            if (stat != null) {
+              builder.setStat(player, stat, reader.nextIntOrDefault())
+            } else {
+              reader.skipValue()
+            }
+          }
+        }
+      }
+    }
+    reader.endArray()
+    return builder.build()
+  }
+
+  private fun emptyTeam() = BoxScoreTeam(TeamStatColumns.EMPTY, 0)
+
+  override fun write(writer: JsonWriter, boxScore: BoxScoreResponse?) {
+    if (boxScore == null) {
+      writer.nullValue()
+      return
+    }
+
+    val values = boxScore.game
+    writer.beginObject()
+    writer.name("g").beginObject()
+    writer.name("hls")
+    writeTeam(writer, values.hls)
+    writer.name("vls")
+    writeTeam(writer, values.vls)
+    values.st?.let { writer.name("st").value(it.toLong()) }
+    writer.endObject()
+    writer.endObject()
+  }
+
+  private fun writeTeam(writer: JsonWriter, team: BoxScoreTeam) {
+    writer.beginObject()
+    val players = team.players
+    writer.name("pstsg").beginArray()
+    for (player in 0 until players.playerCount) {
+      writer.beginObject()
+      STAT_NAMES.forEachIndexed { stat, name ->
+        writer.name(name).value(players.get(stat, player).toLong())
+      }
+      writer.name("fn").value(players.firstName(player))
+      writer.name("ln").value(players.lastName(player))
+      players.playerId(player)?.let { writer.name("pid").value(it.toLong()) }
+      writer.endObject()
+    }
+    writer.endArray()
+    writer.name("s").value(team.score.toLong())
+    writer.endObject()
+  }
+}
@@ -0,0 +1,173 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Broadcaster
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.MediaSource
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streams a [GameV2] in and out of JSON without reflection. Unknown fields are skipped and
+ * missing strings are read as empty so that a partial game never leaves nulls in non-null
+ * properties.
+ */
+class GameV2TypeAdapter : TypeAdapter<GameV2>() {
+
+  override fun read(reader: JsonReader): GameV2? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var arena = ""
+    var awayTeamAbbr = ""
+    var awayTeamCity = ""
+    var awayTeamId = ""
+    var awayTeamKey = ""
+    var awayTeamNickname = ""
+    var awayTeamScore = ""
+    var broadcasters = emptyMap<String, MediaSource>()
+    var city = ""
+    var date = ""
+    var gameClock = ""
+    var gameStatus = ""
+    var homeTeamAbbr = ""
+    var homeTeamCity = ""
+    var homeTeamId = ""
+    var homeTeamKey = ""
+    var homeTeamNickname = ""
+    var homeTeamScore = ""
+    var id = ""
+    var periodName = ""
+    var periodStatus = ""
+    var periodValue = ""
+    var time = ""
+    var timeUtc = 0L
+    var totalPeriods = ""
+    var seriesSummary: String? = null
+
+    reader.readObject { name ->
+      when (name) {
+        "arena" -> arena = reader.nextStringOrNull() ?: ""
+        "awayTeamAbbr" -> awayTeamAbbr = reader.nextStringOrNull() ?: ""
+        "awayTeamCity" -> awayTeamCity = reader.nextStringOrNull() ?: ""
+        "awayTeamId" -> awayTeamId = reader.nextStringOrNull() ?: ""
+        "awayTeamKey" -> awayTeamKey = reader.nextStringOrNull() ?: ""
+        "awayTeamNickname" -> awayTeamNickname = reader.nextStringOrNull() ?: ""
+        "awayTeamScore" -> awayTeamScore = reader.nextStringOrNull() ?: ""
+        "broadcasters" -> broadcasters = readBroadcasters(reader)
+        "city" -> city = reader.nextStringOrNull() ?: ""
+        "date" -> date = reader.nextStringOrNull() ?: ""
+        "gameClock" -> gameClock = reader.nextStringOrNull() ?: ""
+        "gameStatus" -> gameStatus = reader.nextStringOrNull() ?: ""
+        "homeTeamAbbr" -> homeTeamAbbr = reader.nextStringOrNull() ?: ""
+        "homeTeamCity" -> homeTeamCity = reader.nextStringOrNull() ?: ""
+        "homeTeamId" -> homeTeamId = reader.nextStringOrNull() ?: ""
+        "homeTeamKey" -> homeTeamKey = reader.nextStringOrNull() ?: ""
+        "homeTeamNickname" -> homeTeamNickname = reader.nextStringOrNull() ?: ""
+        "homeTeamScore" -> homeTeamScore = reader.nextStringOrNull() ?: ""
+        "id" -> id = reader.nextStringOrNull() ?: ""
+        "periodName" -> periodName = reader.nextStringOrNull() ?: ""
+        "periodStatus" -> periodStatus = reader.nextStringOrNull() ?: ""
+        "periodValue" -> periodValue = reader.nextStringOrNull() ?: ""
+        "time" -> time = reader.nextStringOrNull() ?: ""
+        "timeUtc" -> timeUtc = reader.nextLongOrDefault()
+        "totalPeriods" -> totalPeriods = reader.nextStringOrNull() ?: ""
+        "seriesSummary" -> seriesSummary = reader.nextStringOrNull()
+        else -> reader.skipValue()
+      }
+    }
+
+    return GameV2(arena, awayTeamAbbr, awayTeamCity, awayTeamId, awayTeamKey, awayTeamNickname,
+        awayTeamScore, broadcasters, city, date, gameClock, gameStatus, homeTeamAbbr,
+        homeTeamCity, homeTeamId, homeTeamKey, homeTeamNickname, homeTeamScore, id, periodName,
+        periodStatus, periodValue, time, timeUtc, totalPeriods, seriesSummary)
+  }
+
+  private fun readBroadcasters(reader: JsonReader): Map<String, MediaSource> {
+    val broadcasters = HashMap<String, MediaSource>()
+    reader.readObject { mediaType ->
+      var sources = emptyList<Broadcaster>()
+      reader.readObject { name ->
+        when (name) {
+          "broadcaster" -> sources = reader.readArray { readBroadcaster(reader) }
+          else -> reader.skipValue()
+        }
+      }
+      broadcasters[mediaType] = MediaSource(sources)
+    }
+    return broadcasters
+  }
+
+  private fun readBroadcaster(reader: JsonReader): Broadcaster {
+    var displayName = ""
+    var homeVisitor = ""
+    var scope = ""
+    reader.readObject { name ->
+      when (name) {
+        "display_name" -> displayName = reader.nextStringOrNull() ?: ""
+        "home_visistor" -> homeVisitor = reader.nextStringOrNull() ?: ""
+        "scope" -> scope = reader.nextStringOrNull() ?: ""
+        else -> reader.skipValue()
+      }
+    }
+    return Broadcaster(displayName, homeVisitor, scope)
+  }
+
+  override fun write(writer: JsonWriter, game: GameV2?) {
+    if (game == null) {
+      writer.nullValue()
+      return
+    }
+
+    writer.beginObject()
+    writer.name("arena").value(game.arena)
+    writer.name("awayTeamAbbr").value(game.awayTeamAbbr)
+    writer.name("awayTeamCity").value(game.awayTeamCity)
+    writer.name("awayTeamId").value(game.awayTeamId)
+    writer.name("awayTeamKey").value(game.awayTeamKey)
+    writer.name("awayTeamNickname").value(game.awayTeamNickname)
+    writer.name("awayTeamScore").value(game.awayTeamScore)
+    writer.name("broadcasters")
+    writeBroadcasters(writer, game.broadcasters)
+    writer.name("city").value(game.city)
+    writer.name("date").value(game.date)
+    writer.name("gameClock").value(game.gameClock)
+    writer.name("gameStatus").value(game.gameStatus)
+    writer.name("homeTeamAbbr").value(game.homeTeamAbbr)
+    writer.name("homeTeamCity").value(game.homeTeamCity)
+    writer.name("homeTeamId").value(game.homeTeamId)
+    writer.name("homeTeamKey").value(game.homeTeamKey)
+    writer.name("homeTeamNickname").value(game.homeTeamNickname)
+    writer.name("homeTeamScore").value(game.homeTeamScore)
+    writer.name("id").value(game.id)
+    writer.name("periodName").value(game.periodName)
+    writer.name("periodStatus").value(game.periodStatus)
+    writer.name("periodValue").value(game.periodValue)
+    writer.name("time").value(game.time)
+    writer.name("timeUtc").value(game.timeUtc)
+    writer.name("totalPeriods").value(game.totalPeriods)
+    game.seriesSummary?.let { writer.name("seriesSummary").value(it) }
+    writer.endObject()
+  }
+
+  private fun writeBroadcasters(writer: JsonWriter, broadcasters: Map<String, MediaSource>?) {
+    writer.beginObject()
+    broadcasters?.forEach { (mediaType, source) ->
+      writer.name(mediaType).beginObject()
+      writer.name("broadcaster").beginArray()
+      source.broadcaster.forEach {
+        writer.beginObject()
+        writer.name("display_name").value(it.displayName)
+        writer.name("home_visistor").value(it.homeVisitor)
+        writer.name("scope").value(it.scope)
+        writer.endObject()
+      }
+      writer.endArray()
+      writer.endObject()
+    }
+    writer.endObject()
+  }
+}
@@ -0,0 +1,78 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service.json
+
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+
+/**
+ * Reads an int, treating null as [default]. Numbers sent as strings are also accepted.
+ */
+internal fun JsonReader.nextIntOrDefault(default: Int = 0): Int {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return default
+  }
+  return nextInt()
+}
+
+internal fun JsonReader.nextIntOrNull(): Int? {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return null
+  }
+  return nextInt()
+}
+
+internal fun JsonReader.nextLongOrDefault(default: Long = 0): Long {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return default
+  }
+  return nextLong()
+}
+
+/**
+ * Reads a string, or null. Numbers and booleans are read as their text.
+ */
+internal fun JsonReader.nextStringOrNull(): String? {
+  return when (peek()) {
+    JsonToken.NULL -> {
+      nextNull()
+      null
+    }
+    JsonToken.BOOLEAN -> nextBoolean().toString()
+    else -> nextString()
+  }
+}
+
+/**
+ * Reads every name of the current object, handing its value to [readValue]. Null objects are
+ * skipped entirely. Values that [readValue] doesn't consume must be skipped by it.
+ */
+internal inline fun JsonReader.readObject(readValue: (name: String) -> Unit) {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return
+  }
+  beginObject()
+  while (hasNext()) {
+    readValue(nextName())
+  }
+  endObject()
+}
+
+/**
+ * Reads every element of the current array with [readElement]. Null arrays are read as empty.
+ */
+internal inline fun <T> JsonReader.readArray(readElement: () -> T): List<T> {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return emptyList()
+  }
+  val list = ArrayList<T>()
+  beginArray()
+  while (hasNext()) {
+    list.add(readElement())
+  }
+  endArray()
+  return list
+}
@@ -10,9 +10,12 @@ import com.gmail.jorgegilcavazos.ballislife.dagger.component.AppComponent;
 import com.gmail.jorgegilcavazos.ballislife.dagger.component.DaggerAppComponent;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.AppModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.DataModule;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionCache;
 import com.google.firebase.analytics.FirebaseAnalytics;
 import com.squareup.leakcanary.LeakCanary;
 
+import javax.inject.Inject;
+
 import jonathanfinerty.once.Once;
 import timber.log.Timber;
 
@@ -29,6 +32,8 @@ public class BallIsLifeApplication extends Application {
         return context;
     }
 
+    @Inject SubmissionCache submissionCache;
+
     private FirebaseAnalytics firebaseAnalytics;
 
     @Override
@@ -57,6 +62,16 @@ public class BallIsLifeApplication extends Application {
                 .dataModule(new DataModule("https://nba-app-ca681.firebaseio.com/",
                         "http://data.nba.com/"))
                 .build();
+        appComponent.inject(this);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Null in the LeakCanary process, which returns before injecting.
+        if (submissionCache != null) {
+            submissionCache.trimMemory(level);
+        }
     }
 
     @Override
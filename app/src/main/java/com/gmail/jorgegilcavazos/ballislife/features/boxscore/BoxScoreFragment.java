@@ -1,11 +1,12 @@
 package com.gmail.jorgegilcavazos.ballislife.features.boxscore;
 
-import android.graphics.Typeface;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.app.Fragment;
 import android.support.v4.content.ContextCompat;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -14,9 +15,6 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.ProgressBar;
-import android.widget.ScrollView;
-import android.widget.TableLayout;
-import android.widget.TableRow;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -26,15 +24,12 @@ import com.gmail.jorgegilcavazos.ballislife.data.premium.PremiumService;
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.gamethread.CommentsActivity;
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues;
-import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SwishTheme;
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats;
 import com.gmail.jorgegilcavazos.ballislife.util.ThemeUtils;
-import com.gmail.jorgegilcavazos.ballislife.util.UnitUtils;
 import com.google.android.gms.ads.AdRequest;
 import com.google.android.gms.ads.AdView;
-import com.google.common.base.Optional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -44,8 +39,6 @@ import butterknife.ButterKnife;
 import butterknife.OnClick;
 import butterknife.Unbinder;
 
-import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
-import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
 import static com.gmail.jorgegilcavazos.ballislife.features.gamethread.CommentsActivity
         .AWAY_TEAM_KEY;
 import static com.gmail.jorgegilcavazos.ballislife.features.gamethread.CommentsActivity
@@ -62,17 +55,24 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
     @BindView(R.id.button_away) Button btnAway;
     @BindView(R.id.progressBar) ProgressBar progressBar;
     @BindView(R.id.text_load_message) TextView tvLoadMessage;
-    @BindView(R.id.playersTable) TableLayout playersTable;
-    @BindView(R.id.statsTable) TableLayout statsTable;
-    @BindView(R.id.scrollView) ScrollView scrollView;
+    @BindView(R.id.boxScoreContainer) View boxScoreContainer;
+    @BindView(R.id.playersList) RecyclerView playersList;
+    @BindView(R.id.statsList) RecyclerView statsList;
     @BindView(R.id.adView) AdView adView;
 
     private Unbinder unbinder;
+    private BoxScorePlayersAdapter playersAdapter;
+    private BoxScoreStatsAdapter statsAdapter;
+    private RecyclerView.OnScrollListener playersScrollListener;
+    private RecyclerView.OnScrollListener statsScrollListener;
 
     private String homeTeam;
     private String awayTeam;
     private String gameId;
+    private String gameStatus;
     private BoxScoreSelectedTeam teamSelected;
+    private int sortColumn = TeamStats.NO_SORT;
+    private boolean sortDescending = true;
     private int textColor;
 
     @Override
@@ -85,6 +85,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
             homeTeam = getArguments().getString(HOME_TEAM_KEY);
             awayTeam = getArguments().getString(AWAY_TEAM_KEY);
             gameId = getArguments().getString(CommentsActivity.GAME_ID_KEY);
+            gameStatus = getArguments().getString(CommentsActivity.GAME_STATUS_KEY);
         }
     }
 
@@ -93,6 +94,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
                              Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_box_score, container, false);
         unbinder = ButterKnife.bind(this, view);
+        setUpBoxScoreLists();
 
         teamSelected = BoxScoreSelectedTeam.VISITOR;
         setHomeAwayBackground();
@@ -103,7 +105,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         textColor = ThemeUtils.Companion.getTextColor(getActivity(), localRepository.getAppTheme());
 
         presenter.attachView(this);
-        presenter.loadBoxScore(gameId, teamSelected, true /* forceNetwork */);
+        presenter.loadBoxScore(gameId, gameStatus, teamSelected, true /* forceNetwork */);
 
         return view;
     }
@@ -131,6 +133,13 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         } else {
             adView.setVisibility(View.VISIBLE);
         }
+        presenter.startLiveUpdates(gameId, gameStatus);
+    }
+
+    @Override
+    public void onPause() {
+        presenter.stopLiveUpdates();
+        super.onPause();
     }
 
     @Override
@@ -150,7 +159,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
     public boolean onOptionsItemSelected(MenuItem item) {
         switch (item.getItemId()) {
             case R.id.action_refresh:
-                presenter.loadBoxScore(gameId, teamSelected, true /* forceNetwork */);
+                presenter.loadBoxScore(gameId, gameStatus, teamSelected, true /* forceNetwork */);
                 return true;
         }
         return super.onOptionsItemSelected(item);
@@ -164,7 +173,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         teamSelected = BoxScoreSelectedTeam.VISITOR;
         setHomeAwayBackground();
 
-        presenter.loadBoxScore(gameId, teamSelected, false /* forceNetwork */);
+        presenter.loadBoxScore(gameId, gameStatus, teamSelected, false /* forceNetwork */);
     }
 
     @OnClick(R.id.button_home)
@@ -175,95 +184,35 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         teamSelected = BoxScoreSelectedTeam.HOME;
         setHomeAwayBackground();
 
-        presenter.loadBoxScore(gameId, teamSelected, false /* forceNetwork */);
+        presenter.loadBoxScore(gameId, gameStatus, teamSelected, false /* forceNetwork */);
     }
 
     @Override
-    public void showVisitorBoxScore(@NonNull BoxScoreValues values) {
-        btnHome.setText(getString(R.string.box_score_team_score, homeTeam,
-                values.getHls().getScore()));
-        btnAway.setText(getString(R.string.box_score_team_score, awayTeam,
-                values.getVls().getScore()));
-
-        List<String> players = new ArrayList<>();
-
-        for (StatLine statLine : values.getVls().getPstsg()) {
-            // Some players don't have a first name, like Nene.
-            if (statLine.getFn() != null && statLine.getFn().length() >= 1) {
-                players.add(statLine.getFn().substring(0, 1) + ". " + statLine.getLn());
-            } else {
-                players.add(statLine.getLn());
-            }
-        }
-        players.add("TOTAL");
-
-        int i = 1;
-        addRowToPlayersTable2("PLAYER");
-        for (String player : players) {
-            addRowToPlayersTable2(player);
-            if (i == 5 || i == players.size()-1) {
-                addSeparatorRowToPlayers();
-            }
-            i++;
-        }
-
-        StatLine total = new StatLine(0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,"0","0");
-        i = 1;
-        addRowToStatsTable2(Optional.absent());
-        for (StatLine statLine : values.getVls().getPstsg()) {
-            addRowToStatsTable2(Optional.of(statLine));
-            addToTeamTotalStats(statLine, total);
-            if (i == 5 || i == players.size()-1) {
-                addSeparatorRowToStats(21); // # Stats + 3 for fg%, 3pt%, ft%
-            }
-            i++;
-        }
-        displayTeamTotalStats(total);
-        scrollView.setVisibility(View.VISIBLE);
+    public void showVisitorBoxScore(@NonNull BoxScoreValues values, @NonNull TeamStats stats) {
+        showScores(values);
+        showTeam(stats);
     }
 
     @Override
-    public void showHomeBoxScore(BoxScoreValues values) {
-        btnHome.setText(getString(R.string.box_score_team_score, homeTeam,
-                values.getHls().getScore()));
-        btnAway.setText(getString(R.string.box_score_team_score, awayTeam,
-                values.getVls().getScore()));
-
-        List<String> players = new ArrayList<>();
+    public void showHomeBoxScore(@NonNull BoxScoreValues values, @NonNull TeamStats stats) {
+        showScores(values);
+        showTeam(stats);
+    }
 
-        for (StatLine statLine : values.getHls().getPstsg()) {
-            // Some players don't have a first name, like Nene.
-            if (statLine.getFn() != null && statLine.getFn().length() >= 1) {
-                players.add(statLine.getFn().substring(0, 1) + ". " + statLine.getLn());
-            } else {
-                players.add(statLine.getLn());
-            }
-        }
-        players.add("TOTAL");
-
-        addRowToPlayersTable2("PLAYER");
-        int i = 1;
-        for (String player : players) {
-            addRowToPlayersTable2(player);
-            if (i == 5 || i == players.size()-1) {
-                addSeparatorRowToPlayers();
-            }
-            i++;
+    @Override
+    public void updateBoxScoreRows(@NonNull BoxScoreValues values,
+                                   @NonNull BoxScoreSelectedTeam team,
+                                   @NonNull TeamStats stats,
+                                   @NonNull List<Integer> changedPlayers) {
+        showScores(values);
+
+        // Nothing is shown yet, or the other team was selected while the update was in flight.
+        if (team != teamSelected || statsAdapter.getItemCount() == 0) {
+            return;
         }
 
-        StatLine total = new StatLine(0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,"0","0");
-        i = 1;
-        addRowToStatsTable2(Optional.absent());
-        for (StatLine statLine : values.getHls().getPstsg()) {
-            addRowToStatsTable2(Optional.of(statLine));
-            addToTeamTotalStats(statLine, total);
-            if (i == 5 || i == players.size()-1) {
-                addSeparatorRowToStats(21); // # Stats + 3 for fg%, 3pt%, ft%
-            }
-            i++;
-        }
-        displayTeamTotalStats(total);
-        scrollView.setVisibility(View.VISIBLE);
+        playersAdapter.updateTeam(stats, changedPlayers);
+        statsAdapter.updateTeam(stats, changedPlayers);
     }
 
     @Override
@@ -277,9 +226,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
 
     @Override
     public void hideBoxScore() {
-        scrollView.setVisibility(View.GONE);
-        playersTable.removeAllViews();
-        statsTable.removeAllViews();
+        boxScoreContainer.setVisibility(View.GONE);
     }
 
     @Override
@@ -292,178 +239,75 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         }
     }
 
-    public void addRowToPlayersTable2(String content) {
-        TableRow row = new TableRow(getActivity());
-        row.setLayoutParams(new ViewGroup.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-
-        int width = (int) UnitUtils.convertDpToPixel(100, getActivity());
-        row.setMinimumWidth(width);
-
-        if (content.equals("PLAYER")) {
-            TextView tv = addHeaderItem(row, content);
-            tv.setTextAlignment(View.TEXT_ALIGNMENT_VIEW_START);
-            row.addView(tv);
-        } else {
-            TextView tv = addNormalItem(row, content);
-            tv.setTextAlignment(View.TEXT_ALIGNMENT_VIEW_START);
-            row.addView(tv);
-        }
-
-        playersTable.addView(row, new TableLayout.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+    private void showScores(BoxScoreValues values) {
+        btnHome.setText(getString(R.string.box_score_team_score, homeTeam,
+                values.getHls().getScore()));
+        btnAway.setText(getString(R.string.box_score_team_score, awayTeam,
+                values.getVls().getScore()));
     }
 
-
-    public void displayTeamTotalStats(StatLine statLine){
-        TableRow row = new TableRow(getActivity());
-        row.setLayoutParams(new ViewGroup.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-
-        row.addView(addNormalItem(row, String.valueOf(statLine.getMin())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getPts())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getReb())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getAst())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getStl())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getBlk())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getBlka())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getOreb())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getDreb())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getFgm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getFga())));
-        row.addView(addNormalItem(row, getShootingPct(statLine.getFga(), statLine.getFgm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getTpm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getTpa())));
-        row.addView(addNormalItem(row, getShootingPct(statLine.getTpa(), statLine.getTpm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getFtm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getFta())));
-        row.addView(addNormalItem(row, getShootingPct(statLine.getFta(), statLine.getFtm())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getPf())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getTov())));
-        row.addView(addNormalItem(row, String.valueOf(statLine.getPm())));
-
-        statsTable.addView(row, new TableLayout.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+    private void showTeam(TeamStats stats) {
+        playersAdapter.setTeam(stats);
+        statsAdapter.setTeam(stats);
+        boxScoreContainer.setVisibility(View.VISIBLE);
     }
 
-    public void addToTeamTotalStats(StatLine curr, StatLine total){
-        total.setMin(curr.getMin()+total.getMin());
-        total.setPts(curr.getPts()+total.getPts());
-        total.setReb(curr.getReb()+total.getReb());
-        total.setAst(curr.getAst()+total.getAst());
-        total.setStl(curr.getStl()+total.getStl());
-        total.setBlk(curr.getBlk()+total.getBlk());
-        total.setBlka(curr.getBlka()+total.getBlka());
-        total.setOreb(curr.getOreb()+total.getOreb());
-        total.setDreb(curr.getDreb()+total.getDreb());
-        total.setFgm(curr.getFgm()+total.getFgm());
-        total.setFga(curr.getFga()+total.getFga());
-        total.setTpm(curr.getTpm()+total.getTpm());
-        total.setTpa(curr.getTpa()+total.getTpa());
-        total.setFtm(curr.getFtm()+total.getFtm());
-        total.setFta(curr.getFta()+total.getFta());
-        total.setPf(curr.getPf()+total.getPf());
-        total.setTov(curr.getTov()+total.getTov());
-        total.setPm(curr.getPm()+total.getPm());
+    private void setUpBoxScoreLists() {
+        playersAdapter = new BoxScorePlayersAdapter();
+        statsAdapter = new BoxScoreStatsAdapter();
+
+        playersList.setLayoutManager(new LinearLayoutManager(getActivity()));
+        playersList.setAdapter(playersAdapter);
+        playersList.setItemAnimator(null);
+        statsList.setLayoutManager(new LinearLayoutManager(getActivity()));
+        statsList.setAdapter(statsAdapter);
+        statsList.setItemAnimator(null);
+
+        playersAdapter.setOnSortClickListener(this::onSortClick);
+        statsAdapter.setOnSortClickListener(this::onSortClick);
+
+        // Keep the names and the stats lined up when either list is scrolled vertically.
+        playersScrollListener = new SyncScrollListener(statsList);
+        statsScrollListener = new SyncScrollListener(playersList);
+        playersList.addOnScrollListener(playersScrollListener);
+        statsList.addOnScrollListener(statsScrollListener);
     }
-    
-    public void addRowToStatsTable2(Optional<StatLine> statLineOptional) {
-        TableRow row = new TableRow(getActivity());
-        row.setLayoutParams(new ViewGroup.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-
-        if (statLineOptional.isPresent()) {
-            StatLine statLine = statLineOptional.get();
-
-            row.addView(addNormalItem(row, String.valueOf(statLine.getMin())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getPts())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getReb())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getAst())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getStl())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getBlk())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getBlka())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getOreb())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getDreb())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getFgm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getFga())));
-            row.addView(addNormalItem(row, getShootingPct(statLine.getFga(), statLine.getFgm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getTpm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getTpa())));
-            row.addView(addNormalItem(row, getShootingPct(statLine.getTpa(), statLine.getTpm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getFtm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getFta())));
-            row.addView(addNormalItem(row, getShootingPct(statLine.getFta(), statLine.getFtm())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getPf())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getTov())));
-            row.addView(addNormalItem(row, String.valueOf(statLine.getPm())));
+
+    /**
+     * Sorts by a column, highest first, or flips the order if it was already sorted by it. Both
+     * teams keep the same sort.
+     */
+    private void onSortClick(int column) {
+        if (column == sortColumn && column != TeamStats.NO_SORT) {
+            sortDescending = !sortDescending;
         } else {
-            row.addView(addHeaderItem(row, "MIN"));
-            row.addView(addHeaderItem(row, "PTS"));
-            row.addView(addHeaderItem(row, "REB"));
-            row.addView(addHeaderItem(row, "AST"));
-            row.addView(addHeaderItem(row, "STL"));
-            row.addView(addHeaderItem(row, "BLK"));
-            row.addView(addHeaderItem(row, "BA"));
-            row.addView(addHeaderItem(row, "OREB"));
-            row.addView(addHeaderItem(row, "DREB"));
-            row.addView(addHeaderItem(row, "FGM"));
-            row.addView(addHeaderItem(row, "FGA"));
-            row.addView(addHeaderItem(row, "FG%"));
-            row.addView(addHeaderItem(row, "3PM"));
-            row.addView(addHeaderItem(row, "3PA"));
-            row.addView(addHeaderItem(row, "3P%"));
-            row.addView(addHeaderItem(row, "FTM"));
-            row.addView(addHeaderItem(row, "FTA"));
-            row.addView(addHeaderItem(row, "FT%"));
-            row.addView(addHeaderItem(row, "PF"));
-            row.addView(addHeaderItem(row, "TO"));
-            row.addView(addHeaderItem(row, "+/-"));
+            sortColumn = column;
+            sortDescending = true;
         }
-
-        statsTable.addView(row, new TableLayout.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+        playersAdapter.setSort(sortColumn, sortDescending);
+        statsAdapter.setSort(sortColumn, sortDescending);
     }
 
-    private void addSeparatorRowToPlayers() {
-        TableRow row = new TableRow(getActivity());
-        row.setLayoutParams(new ViewGroup.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-        View view = LayoutInflater.from(getActivity())
-                .inflate(R.layout.box_score_separator, row, false);
-        row.addView(view);
-        playersTable.addView(row, new TableLayout.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-    }
+    /**
+     * Scrolls another list by the same amount as the one it listens to.
+     */
+    private class SyncScrollListener extends RecyclerView.OnScrollListener {
 
-    private void addSeparatorRowToStats(int columns) {
-        TableRow row = new TableRow(getActivity());
-        row.setLayoutParams(new ViewGroup.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+        private final RecyclerView other;
 
-        for (int i = 0; i < columns; i++) {
-            View view = LayoutInflater.from(getActivity())
-                    .inflate(R.layout.box_score_separator, row, false);
-            row.addView(view);
+        SyncScrollListener(RecyclerView other) {
+            this.other = other;
         }
-        statsTable.addView(row, new TableLayout.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
-    }
-
-    private TextView addHeaderItem(TableRow row, String text) {
-        TextView view = (TextView) LayoutInflater.from(getActivity())
-                .inflate(R.layout.boxscore_item, row, false);
-        view.setText(text);
-        view.setTypeface(null, Typeface.BOLD);
-        view.setMinWidth((int) UnitUtils.convertDpToPixel(30, getActivity()));
-        return view;
-    }
-
-    private TextView addNormalItem(TableRow row, String text) {
-        TextView view = (TextView) LayoutInflater.from(getActivity())
-                .inflate(R.layout.boxscore_item, row, false);
-        view.setText(text);
-        view.setTypeface(null, Typeface.NORMAL);
-        view.setMinWidth((int) UnitUtils.convertDpToPixel(30, getActivity()));
-        return view;
-    }
 
-    private String getShootingPct(double attempts, double makes) {
-        if (attempts == 0) {
-            return "-";
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            RecyclerView.OnScrollListener otherListener =
+                    other == statsList ? statsScrollListener : playersScrollListener;
+            // Remove the other list's listener so that it doesn't scroll this one back.
+            other.removeOnScrollListener(otherListener);
+            other.scrollBy(0, dy);
+            other.addOnScrollListener(otherListener);
         }
-
-        int pct = (int) ((makes / attempts) * 100);
-        return pct + "%";
     }
 
     private void setHomeAwayBackground() {
@@ -0,0 +1,66 @@
+package com.gmail.jorgegilcavazos.ballislife.features.boxscore;
+
+import android.graphics.Typeface;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.gmail.jorgegilcavazos.ballislife.R;
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats;
+
+/**
+ * Shows the fixed player names column of the box score. Tapping its header goes back to the
+ * order of the response.
+ */
+public class BoxScorePlayersAdapter
+        extends BoxScoreRowsAdapter<BoxScorePlayersAdapter.PlayerViewHolder> {
+
+    @Override
+    public PlayerViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == BoxScoreRow.TYPE_SEPARATOR) {
+            return new PlayerViewHolder(
+                    inflater.inflate(R.layout.box_score_separator, parent, false));
+        }
+        View itemView = inflater.inflate(R.layout.box_score_player_item, parent, false);
+        if (viewType == BoxScoreRow.TYPE_HEADER) {
+            itemView.setOnClickListener(v -> {
+                if (onSortClickListener != null) {
+                    onSortClickListener.onSortClick(TeamStats.NO_SORT);
+                }
+            });
+        }
+        return new PlayerViewHolder(itemView);
+    }
+
+    @Override
+    public void onBindViewHolder(PlayerViewHolder holder, int position) {
+        BoxScoreRow row = rows.get(position);
+        switch (row.getType()) {
+            case BoxScoreRow.TYPE_HEADER:
+                holder.bind("PLAYER", Typeface.BOLD);
+                break;
+            case BoxScoreRow.TYPE_PLAYER:
+                holder.bind(team.playerName(row.getRow()), Typeface.NORMAL);
+                break;
+            case BoxScoreRow.TYPE_TOTAL:
+                holder.bind("TOTAL", Typeface.NORMAL);
+                break;
+        }
+    }
+
+    static class PlayerViewHolder extends RecyclerView.ViewHolder {
+
+        PlayerViewHolder(View itemView) {
+            super(itemView);
+        }
+
+        void bind(String name, int style) {
+            TextView tvPlayer = (TextView) itemView;
+            tvPlayer.setText(name);
+            tvPlayer.setTypeface(null, style);
+        }
+    }
+}
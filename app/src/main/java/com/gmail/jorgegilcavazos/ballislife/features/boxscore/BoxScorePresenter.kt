@@ -1,10 +1,14 @@
 package com.gmail.jorgegilcavazos.ballislife.features.boxscore
 
 import com.gmail.jorgegilcavazos.ballislife.base.BasePresenter
+import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreDelta
 import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreRepository
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import io.reactivex.disposables.CompositeDisposable
+import io.reactivex.disposables.Disposable
 import io.reactivex.rxkotlin.addTo
+import timber.log.Timber
 import javax.inject.Inject
 
 class BoxScorePresenter @Inject constructor(
@@ -12,14 +16,25 @@ class BoxScorePresenter @Inject constructor(
 		private val disposable: CompositeDisposable,
 		private val errorHandler: ErrorHandler): BasePresenter<BoxScoreView>() {
 
+	private var selectedTeam = BoxScoreSelectedTeam.VISITOR
+	private var liveUpdates: Disposable? = null
+	// Status of the last box score loaded, if it had one.
+	private var loadedStatus: String? = null
+
 	override fun detachView() {
 		disposable.clear()
+		stopLiveUpdates()
 		super.detachView()
 	}
 
-	fun loadBoxScore(gameId: String, selectedTeam: BoxScoreSelectedTeam, forceNetwork: Boolean) {
+	fun loadBoxScore(
+			gameId: String,
+			gameStatus: String?,
+			selectedTeam: BoxScoreSelectedTeam,
+			forceNetwork: Boolean) {
+		this.selectedTeam = selectedTeam
 		disposable.clear()
-		boxScoreRepository.boxScore(gameId, forceNetwork)
+		boxScoreRepository.boxScore(gameId, gameStatus, forceNetwork)
 				.subscribe({ boxModel: BoxScoreUIModel ->
 					if (boxModel.inProgress) {
 						view.hideBoxScore()
@@ -34,9 +49,12 @@ class BoxScorePresenter @Inject constructor(
 					}
 
 					if (boxModel.success) {
+						val values = boxModel.boxScore!!.game
+						val stats = boxModel.stats!!
+						values.st?.let { loadedStatus = it.toString() }
 						when (selectedTeam) {
-							BoxScoreSelectedTeam.HOME -> view.showHomeBoxScore(boxModel.boxScore!!.game)
-							BoxScoreSelectedTeam.VISITOR -> view.showVisitorBoxScore(boxModel.boxScore!!.game)
+							BoxScoreSelectedTeam.HOME -> view.showHomeBoxScore(values, stats.home)
+							BoxScoreSelectedTeam.VISITOR -> view.showVisitorBoxScore(values, stats.visitor)
 						}
 
 						view.setLoadingIndicator(false)
@@ -47,4 +65,46 @@ class BoxScorePresenter @Inject constructor(
 				})
 				.addTo(disposable)
 	}
+
+	/**
+	 * Keeps the box score shown up to date while the game is live, re-rendering only the rows
+	 * of the selected team that changed. Does nothing unless the last box score loaded, or else
+	 * the [gameStatus], says the game is being played.
+	 */
+	fun startLiveUpdates(gameId: String, gameStatus: String?) {
+		stopLiveUpdates()
+		val status = loadedStatus ?: gameStatus
+		if (status != NbaGame.IN_GAME) {
+			return
+		}
+		liveUpdates = boxScoreRepository.liveBoxScore(gameId, status)
+				.subscribe(
+						{ showDelta(it) },
+						{ e -> Timber.e(e, "Live box score updates failed") })
+	}
+
+	fun stopLiveUpdates() {
+		liveUpdates?.dispose()
+		liveUpdates = null
+	}
+
+	private fun showDelta(delta: BoxScoreDelta) {
+		val values = delta.boxScore.game
+		if (delta.rosterChanged) {
+			when (selectedTeam) {
+				BoxScoreSelectedTeam.HOME -> view.showHomeBoxScore(values, delta.stats.home)
+				BoxScoreSelectedTeam.VISITOR -> view.showVisitorBoxScore(values, delta.stats.visitor)
+			}
+			view.showBoxScoreNotAvailableMessage(false)
+			return
+		}
+
+		val (stats, changes) = when (selectedTeam) {
+			BoxScoreSelectedTeam.HOME -> Pair(delta.stats.home, delta.homeChanges)
+			BoxScoreSelectedTeam.VISITOR -> Pair(delta.stats.visitor, delta.visitorChanges)
+		}
+		if (changes.isNotEmpty() || delta.scoreChanged) {
+			view.updateBoxScoreRows(values, selectedTeam, stats, changes)
+		}
+	}
 }
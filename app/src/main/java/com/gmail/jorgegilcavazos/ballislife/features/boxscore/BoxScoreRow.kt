@@ -0,0 +1,69 @@
+package com.gmail.jorgegilcavazos.ballislife.features.boxscore
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats
+
+/**
+ * A row of the box score table of a team. The player names column and the stats columns are
+ * shown by different adapters from the same list of rows so that both line up. Player and total
+ * rows point to their [row] of the [TeamStats] the cells are bound from.
+ */
+class BoxScoreRow private constructor(
+		val type: Int,
+		val id: Long,
+		val row: Int = NO_ROW) {
+
+	companion object {
+		const val TYPE_HEADER = 0
+		const val TYPE_PLAYER = 1
+		const val TYPE_SEPARATOR = 2
+		const val TYPE_TOTAL = 3
+
+		const val NO_ROW = -1
+
+		private const val STARTERS = 5
+		private const val HEADER_ID = -1L
+		private const val STARTERS_SEPARATOR_ID = -2L
+		private const val TOTAL_SEPARATOR_ID = -3L
+		private const val TOTAL_ID = -4L
+
+		/**
+		 * Builds the rows of [team]: a header, the players and the team totals, with a separator
+		 * before the totals. Players are sorted by [sortColumn], one of [TeamStats.COLUMNS], or
+		 * shown starters first, with a separator before the bench, for [TeamStats.NO_SORT].
+		 */
+		@JvmStatic
+		@JvmOverloads
+		fun rowsFor(
+				team: TeamStats,
+				sortColumn: Int = TeamStats.NO_SORT,
+				descending: Boolean = true): List<BoxScoreRow> {
+			val count = team.playerCount
+			val rows = ArrayList<BoxScoreRow>(count + 4)
+			rows.add(BoxScoreRow(TYPE_HEADER, HEADER_ID))
+			for (i in 0 until count) {
+				val player = team.playerAt(i, sortColumn, descending)
+				rows.add(BoxScoreRow(TYPE_PLAYER, playerId(team, player), player))
+				if (sortColumn == TeamStats.NO_SORT && i == STARTERS - 1 && i != count - 1) {
+					rows.add(BoxScoreRow(TYPE_SEPARATOR, STARTERS_SEPARATOR_ID))
+				}
+			}
+			rows.add(BoxScoreRow(TYPE_SEPARATOR, TOTAL_SEPARATOR_ID))
+			rows.add(BoxScoreRow(TYPE_TOTAL, TOTAL_ID, team.totalsRow))
+			return rows
+		}
+
+		/**
+		 * Returns the position of the row of [player] in [rows], or -1 if it isn't there.
+		 */
+		@JvmStatic
+		fun positionOfPlayer(rows: List<BoxScoreRow>, player: Int): Int {
+			return rows.indexOfFirst { it.type == TYPE_PLAYER && it.row == player }
+		}
+
+		// Player ids are positive, so they never collide with the ids of the other rows.
+		private fun playerId(team: TeamStats, player: Int): Long {
+			return team.players.playerId(player)?.toLong()
+					?: (team.players.playerKey(player).hashCode().toLong() and 0x7fffffffL)
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.gmail.jorgegilcavazos.ballislife.features.boxscore;
+
+import android.support.v7.widget.RecyclerView;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base adapter for one of the columns of the box score table. Rows have stable ids so that
+ * switching teams, sorting or refreshing rebinds the existing views instead of creating new ones.
+ */
+public abstract class BoxScoreRowsAdapter<VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    /**
+     * Notified when a header cell is tapped.
+     */
+    public interface OnSortClickListener {
+        /**
+         * @param column the column tapped, or {@link TeamStats#NO_SORT} for the players column
+         */
+        void onSortClick(int column);
+    }
+
+    protected final List<BoxScoreRow> rows = new ArrayList<>();
+    protected TeamStats team;
+    protected int sortColumn = TeamStats.NO_SORT;
+    protected boolean descending = true;
+    protected OnSortClickListener onSortClickListener;
+
+    BoxScoreRowsAdapter() {
+        setHasStableIds(true);
+    }
+
+    @Override
+    public int getItemCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return rows.get(position).getType();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return rows.get(position).getId();
+    }
+
+    public void setOnSortClickListener(OnSortClickListener onSortClickListener) {
+        this.onSortClickListener = onSortClickListener;
+    }
+
+    /**
+     * Shows the box score of a team, replacing any shown before.
+     */
+    public void setTeam(TeamStats team) {
+        this.team = team;
+        showRows();
+    }
+
+    /**
+     * Sorts the players by a column of {@link TeamStats#COLUMNS}, or by the order of the response
+     * for {@link TeamStats#NO_SORT}. The orders come precomputed with the stats.
+     */
+    public void setSort(int sortColumn, boolean descending) {
+        this.sortColumn = sortColumn;
+        this.descending = descending;
+        if (team != null) {
+            showRows();
+        }
+    }
+
+    /**
+     * Shows a newer box score of the same players of the team already shown. Only the rows of
+     * the players at the given indexes and the totals are rebound, unless the update changed the
+     * order of the players.
+     */
+    public void updateTeam(TeamStats team, List<Integer> changedPlayers) {
+        if (this.team == null || this.team.getPlayerCount() != team.getPlayerCount()) {
+            setTeam(team);
+            return;
+        }
+
+        List<BoxScoreRow> newRows = BoxScoreRow.rowsFor(team, sortColumn, descending);
+        boolean sameOrder = true;
+        for (int i = 0; i < newRows.size(); i++) {
+            if (newRows.get(i).getId() != rows.get(i).getId()) {
+                sameOrder = false;
+                break;
+            }
+        }
+        this.team = team;
+        rows.clear();
+        rows.addAll(newRows);
+        if (!sameOrder) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        for (int player : changedPlayers) {
+            int position = BoxScoreRow.positionOfPlayer(rows, player);
+            if (position != -1) {
+                notifyItemChanged(position);
+            }
+        }
+        notifyItemChanged(rows.size() - 1);
+    }
+
+    private void showRows() {
+        rows.clear();
+        rows.addAll(BoxScoreRow.rowsFor(team, sortColumn, descending));
+        notifyDataSetChanged();
+    }
+}
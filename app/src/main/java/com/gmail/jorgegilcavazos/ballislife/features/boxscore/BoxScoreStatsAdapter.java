@@ -0,0 +1,92 @@
+package com.gmail.jorgegilcavazos.ballislife.features.boxscore;
+
+import android.graphics.Typeface;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import com.gmail.jorgegilcavazos.ballislife.R;
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats;
+
+/**
+ * Shows the horizontally scrollable stats columns of the box score. Every row has the same fixed
+ * width cells, which are created once per view holder and only rebound afterwards. The text of
+ * each cell is read as is from {@link TeamStats}. Tapping a header cell sorts by its column.
+ */
+public class BoxScoreStatsAdapter
+        extends BoxScoreRowsAdapter<BoxScoreStatsAdapter.StatsViewHolder> {
+
+    @Override
+    public StatsViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == BoxScoreRow.TYPE_SEPARATOR) {
+            return new StatsViewHolder(
+                    inflater.inflate(R.layout.box_score_separator, parent, false));
+        }
+
+        LinearLayout row = (LinearLayout) inflater.inflate(
+                R.layout.box_score_stats_row, parent, false);
+        for (int i = 0; i < TeamStats.COLUMNS.size(); i++) {
+            View cell = inflater.inflate(R.layout.box_score_stat_item, row, false);
+            if (viewType == BoxScoreRow.TYPE_HEADER) {
+                final int column = i;
+                cell.setOnClickListener(v -> {
+                    if (onSortClickListener != null) {
+                        onSortClickListener.onSortClick(column);
+                    }
+                });
+            }
+            row.addView(cell);
+        }
+        return new StatsViewHolder(row);
+    }
+
+    @Override
+    public void onBindViewHolder(StatsViewHolder holder, int position) {
+        BoxScoreRow row = rows.get(position);
+        switch (row.getType()) {
+            case BoxScoreRow.TYPE_HEADER:
+                holder.bindHeader(sortColumn, descending);
+                break;
+            case BoxScoreRow.TYPE_PLAYER:
+            case BoxScoreRow.TYPE_TOTAL:
+                holder.bind(team, row.getRow());
+                break;
+        }
+    }
+
+    static class StatsViewHolder extends RecyclerView.ViewHolder {
+
+        StatsViewHolder(View itemView) {
+            super(itemView);
+        }
+
+        void bindHeader(int sortColumn, boolean descending) {
+            ViewGroup row = (ViewGroup) itemView;
+            for (int i = 0; i < row.getChildCount(); i++) {
+                TextView tvStat = (TextView) row.getChildAt(i);
+                String column = TeamStats.COLUMNS.get(i);
+                if (i == sortColumn) {
+                    tvStat.setText(itemView.getContext().getString(descending
+                            ? R.string.box_score_sorted_descending
+                            : R.string.box_score_sorted_ascending, column));
+                } else {
+                    tvStat.setText(column);
+                }
+                tvStat.setTypeface(null, Typeface.BOLD);
+            }
+        }
+
+        void bind(TeamStats team, int teamRow) {
+            ViewGroup row = (ViewGroup) itemView;
+            for (int i = 0; i < row.getChildCount(); i++) {
+                TextView tvStat = (TextView) row.getChildAt(i);
+                tvStat.setText(team.text(teamRow, i));
+                tvStat.setTypeface(null, Typeface.NORMAL);
+            }
+        }
+    }
+}
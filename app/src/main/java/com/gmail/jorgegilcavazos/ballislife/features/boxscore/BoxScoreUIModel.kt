@@ -1,18 +1,20 @@
 package com.gmail.jorgegilcavazos.ballislife.features.boxscore
 
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreStats
 
 class BoxScoreUIModel(
 		val inProgress: Boolean = false,
 		val success: Boolean = false,
 		val notAvailable: Boolean = false,
-		val boxScore: BoxScoreResponse? = null) {
+		val boxScore: BoxScoreResponse? = null,
+		val stats: BoxScoreStats? = null) {
 
 	companion object {
 		fun inProgress() = BoxScoreUIModel(inProgress = true)
 
-		fun success(boxScoreResponse: BoxScoreResponse) = BoxScoreUIModel(success = true,
-				boxScore = boxScoreResponse)
+		fun success(boxScoreResponse: BoxScoreResponse, stats: BoxScoreStats) = BoxScoreUIModel(
+				success = true, boxScore = boxScoreResponse, stats = stats)
 
 		fun notAvailable() = BoxScoreUIModel(notAvailable = true)
 	}
@@ -1,12 +1,23 @@
 package com.gmail.jorgegilcavazos.ballislife.features.boxscore
 
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats
 
 interface BoxScoreView {
 
-	fun showVisitorBoxScore(values: BoxScoreValues)
+	fun showVisitorBoxScore(values: BoxScoreValues, stats: TeamStats)
 
-	fun showHomeBoxScore(values: BoxScoreValues)
+	fun showHomeBoxScore(values: BoxScoreValues, stats: TeamStats)
+
+	/**
+	 * Updates the scores, the totals and only the rows of the players at [changedPlayers] of the
+	 * box score of [team] already shown.
+	 */
+	fun updateBoxScoreRows(
+			values: BoxScoreValues,
+			team: BoxScoreSelectedTeam,
+			stats: TeamStats,
+			changedPlayers: List<Int>)
 
 	fun setLoadingIndicator(active: Boolean)
 
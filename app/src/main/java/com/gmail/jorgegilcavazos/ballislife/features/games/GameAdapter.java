@@ -83,6 +83,21 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         notifyDataSetChanged();
     }
 
+    /**
+     * Replaces the games shown that have the same id as the given ones, leaving the rest as is.
+     */
+    public void update(List<GameV2> games) {
+        for (GameV2 game : games) {
+            for (int i = 0; i < nbaGameList.size(); i++) {
+                if (nbaGameList.get(i).getId().equals(game.getId())) {
+                    nbaGameList.set(i, game);
+                    notifyItemChanged(i);
+                    break;
+                }
+            }
+        }
+    }
+
     public Observable<GameV2> getGameClicks() {
         return gameClicks;
     }
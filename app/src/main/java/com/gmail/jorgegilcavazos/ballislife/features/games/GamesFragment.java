@@ -185,6 +185,11 @@ public class GamesFragment extends Fragment implements GamesView,
         rvGames.setVisibility(View.VISIBLE);
     }
 
+    @Override
+    public void updateGames(@NonNull List<GameV2> games) {
+        gameAdapter.update(games);
+    }
+
     @Override
     public void showGameDetails(@NonNull GameV2 game) {
         Intent intent = new Intent(getActivity(), CommentsActivity.class);
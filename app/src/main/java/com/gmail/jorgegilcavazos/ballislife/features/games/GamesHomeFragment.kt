@@ -14,6 +14,8 @@ import com.gmail.jorgegilcavazos.ballislife.R
 import com.gmail.jorgegilcavazos.ballislife.analytics.EventLogger
 import com.gmail.jorgegilcavazos.ballislife.analytics.SwishScreen
 import com.gmail.jorgegilcavazos.ballislife.data.premium.PremiumService
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesPrefetcher
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.LiveGamesPoller
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
@@ -34,6 +36,8 @@ class GamesHomeFragment : Fragment(), DatePickerDialog.OnDateSetListener {
   @Inject lateinit var schedulerProvider: BaseSchedulerProvider
   @Inject lateinit var disposable: CompositeDisposable
   @Inject lateinit var eventLogger: EventLogger
+  @Inject lateinit var gamesPrefetcher: GamesPrefetcher
+  @Inject lateinit var liveGamesPoller: LiveGamesPoller
 
   companion object {
     fun newInstance() = GamesHomeFragment()
@@ -67,6 +71,7 @@ class GamesHomeFragment : Fragment(), DatePickerDialog.OnDateSetListener {
     viewPager.currentItem = adapter.count / 2
 
     setNavigatorText()
+    prefetchAdjacentDays()
 
     viewPager.addOnPageChangeListener(object : ViewPager.OnPageChangeListener {
       override fun onPageScrollStateChanged(state: Int) {
@@ -77,6 +82,8 @@ class GamesHomeFragment : Fragment(), DatePickerDialog.OnDateSetListener {
 
       override fun onPageSelected(position: Int) {
         setNavigatorText()
+        prefetchAdjacentDays()
+        liveGamesPoller.start(currentDate())
       }
     })
 
@@ -101,11 +108,19 @@ class GamesHomeFragment : Fragment(), DatePickerDialog.OnDateSetListener {
     super.onResume()
     setNavigatorText()
     eventLogger.setCurrentScreen(activity, SwishScreen.GAMES)
+    liveGamesPoller.start(currentDate())
+  }
+
+  override fun onPause() {
+    super.onPause()
+    // Don't keep polling scores while the app is in the background.
+    liveGamesPoller.stop()
   }
 
   override fun onDestroyView() {
     super.onDestroyView()
     disposable.clear()
+    gamesPrefetcher.cancel()
   }
 
   private fun setAdVisibility() {
@@ -127,6 +142,16 @@ class GamesHomeFragment : Fragment(), DatePickerDialog.OnDateSetListener {
     viewPager.currentItem = adapter.getPositionForDate(date.timeInMillis)
   }
 
+  private fun prefetchAdjacentDays() {
+    gamesPrefetcher.prefetchAround(currentDate())
+  }
+
+  private fun currentDate(): Calendar {
+    val date = Calendar.getInstance()
+    date.timeInMillis = adapter.getDateForPosition(viewPager.currentItem)
+    return date
+  }
+
   private fun setNavigatorText() {
     navigatorText.text = DateFormatUtil.formatNavigatorDate(
         Date(adapter.getDateForPosition(viewPager.currentItem)))
@@ -2,7 +2,9 @@ package com.gmail.jorgegilcavazos.ballislife.features.games
 
 import com.gmail.jorgegilcavazos.ballislife.base.BasePresenter
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepository
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.gmail.jorgegilcavazos.ballislife.util.TeamUtils
@@ -15,6 +17,7 @@ import javax.inject.Inject
 class GamesPresenter @Inject constructor(
     private val localRepository: LocalRepository,
     private val gamesModelTransformer: GamesModelTransformer,
+    private val gamesRepository: GamesRepository,
     private val disposables: CompositeDisposable,
     private val networkUtils: NetworkUtils,
     private val errorHandler: ErrorHandler) : BasePresenter<GamesView>() {
@@ -74,6 +77,20 @@ class GamesPresenter @Inject constructor(
     }, { t ->
       throw OnErrorNotImplementedException(t)
     }).addTo(disposables)
+
+    // Scores pushed while the screen is open are applied to the games already shown.
+    gamesRepository.gameUpdates()
+        .map { games ->
+          val date = view.getCurrentDateShown()
+          val dayStart = DateFormatUtil.getDateStartUtc(date)
+          val dayEnd = DateFormatUtil.getDateEndUtc(date)
+          games.filter { it.timeUtc in dayStart until dayEnd }
+        }
+        .filter { it.isNotEmpty() }
+        .subscribe({ games -> view.updateGames(games) }, { t ->
+          throw OnErrorNotImplementedException(t)
+        })
+        .addTo(disposables)
   }
 
   override fun detachView() {
@@ -36,6 +36,7 @@ public class CommentsActivity extends BaseNoActionBarActivity implements TabLayo
     public static final String GAME_ID_KEY = "gameId";
     public static final String HOME_TEAM_KEY = "homeTeamKey";
     public static final String AWAY_TEAM_KEY = "awayTeamKey";
+    public static final String GAME_STATUS_KEY = "gameStatusKey";
 
     @BindView(R.id.toolbar) Toolbar toolbar;
     @BindView(R.id.tabLayout) TabLayout tabLayout;
@@ -68,6 +69,7 @@ public class CommentsActivity extends BaseNoActionBarActivity implements TabLayo
         String awayTeam = intent.getStringExtra(GamesFragment.GAME_THREAD_AWAY);
         String gameId = intent.getStringExtra(GamesFragment.GAME_ID);
         long date = intent.getLongExtra(GamesFragment.GAME_DATE, -1);
+        String gameStatus = intent.getStringExtra(GamesFragment.GAME_STATUS);
 
         setTitle(awayTeam + " @ " + homeTeam);
 
@@ -76,6 +78,7 @@ public class CommentsActivity extends BaseNoActionBarActivity implements TabLayo
         bundle.putString(AWAY_TEAM_KEY, awayTeam);
         bundle.putString(GAME_ID_KEY, gameId);
         bundle.putLong(GameThreadFragment.GAME_DATE_KEY, date);
+        bundle.putString(GAME_STATUS_KEY, gameStatus);
 
         // Initialize tab layout and add three tabs.
         tabLayout.setTabGravity(TabLayout.GRAVITY_FILL);
@@ -91,7 +94,7 @@ public class CommentsActivity extends BaseNoActionBarActivity implements TabLayo
         viewPager.addOnPageChangeListener(this);
         tabLayout.addOnTabSelectedListener(this);
 
-        setSelectedTab(intent.getStringExtra(GamesFragment.GAME_STATUS));
+        setSelectedTab(gameStatus);
 
         fab.setOnClickListener(this);
     }
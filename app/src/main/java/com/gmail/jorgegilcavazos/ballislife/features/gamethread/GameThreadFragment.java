@@ -31,6 +31,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeAppli
 import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter;
 import com.gmail.jorgegilcavazos.ballislife.features.gopremium.GoPremiumActivity;
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentDelay;
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentItem;
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentWrapper;
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
@@ -295,6 +296,16 @@ public class GameThreadFragment extends Fragment implements GameThreadView, Swip
         rvComments.setVisibility(View.VISIBLE);
     }
 
+    @Override
+    public void insertComment(CommentItem commentItem, @Nullable String parentId) {
+        if (parentId == null) {
+            threadAdapter.addCommentItem(commentItem);
+        } else {
+            threadAdapter.addCommentItem(commentItem, parentId);
+        }
+        rvComments.setVisibility(View.VISIBLE);
+    }
+
     @Override
     public void hideComments() {
         rvComments.setVisibility(View.GONE);
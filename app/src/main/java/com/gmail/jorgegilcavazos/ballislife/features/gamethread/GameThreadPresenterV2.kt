@@ -19,6 +19,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItemType.COMMEN
 import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Single
 import io.reactivex.disposables.CompositeDisposable
 import io.reactivex.rxkotlin.addTo
 import net.dean.jraw.models.Comment
@@ -28,6 +29,10 @@ import net.dean.jraw.models.VoteDirection
 import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 
+/**
+ * Presenter of a game thread. While streaming, the thread is loaded once and only the comments
+ * posted since are fetched and inserted every [STREAM_INTERVAL_SECONDS].
+ */
 class GameThreadPresenterV2 @Inject constructor(
     private val gameThreadsRepository: GameThreadsRepository,
     private val redditActions: RedditActions,
@@ -40,12 +45,17 @@ class GameThreadPresenterV2 @Inject constructor(
     private val errorHandler: ErrorHandler,
     private val eventLogger: EventLogger) : BasePresenter<GameThreadView>() {
 
+  companion object {
+    const val STREAM_INTERVAL_SECONDS = 10L
+  }
+
   private lateinit var type: GameThreadType
   private lateinit var home: String
   private lateinit var visitor: String
   private var gameTimeUtc: Long = 0
   private var currentSubmission: Submission? = null
   private var shouldStream = false
+  private val liveCommentTree = LiveCommentTree()
 
   override fun attachView(view: GameThreadView) {
     super.attachView(view)
@@ -158,15 +168,8 @@ class GameThreadPresenterV2 @Inject constructor(
   }
 
   fun loadGameThread() {
-    val gameThreadsObs = if (shouldStream) {
-      gameThreadsRepository.gameThreads(home, visitor, gameTimeUtc, type)
-          .repeatWhen({ o -> o.delay(10, TimeUnit.SECONDS) })
-    } else {
-      gameThreadsRepository.gameThreads(home, visitor, gameTimeUtc, type)
-    }
-
     threadsDisposable.clear()
-    gameThreadsObs
+    gameThreadsRepository.gameThreads(home, visitor, gameTimeUtc, type)
         .observeOn(schedulerProvider.ui(), true)
         .subscribe(
             { uiModel ->
@@ -183,21 +186,13 @@ class GameThreadPresenterV2 @Inject constructor(
               if (uiModel.found) {
                 val submission = uiModel.submission!!
                 currentSubmission = submission
-                val iterator = submission.comments?.walkTree()
-
-                val threadItems = mutableListOf<ThreadItem>()
-
-                val delay = view.getCommentDelay()
-
-                iterator?.filter {
-                  // Filter out comments that are older than now minus delay.
-                  System.currentTimeMillis() - delay.seconds * 1000 > it!!.comment.created.time
-                }?.forEach {
-                  threadItems.add(
-                      ThreadItem(
-                          COMMENT,
-                          createCommentItem(it),
-                          it.depth))
+                val threadItems = if (shouldStream) {
+                  liveCommentTree.reset(submission, commentDelayMs(), System.currentTimeMillis())
+                      .map {
+                        ThreadItem(COMMENT, createCommentItem(it.comment, it.depth), it.depth)
+                      }
+                } else {
+                  commentsOf(submission)
                 }
 
                 if (threadItems.isEmpty()) {
@@ -207,6 +202,10 @@ class GameThreadPresenterV2 @Inject constructor(
                   view.showComments(threadItems)
                 }
                 view.showFab()
+
+                if (shouldStream) {
+                  streamNewComments(submission)
+                }
               }
 
               if (uiModel.notFound) {
@@ -219,14 +218,7 @@ class GameThreadPresenterV2 @Inject constructor(
                 view.hideNoThreadText()
               }
             },
-            { e ->
-              if (!networkUtils.isNetworkAvailable()) {
-                view.showNoNetAvailableText()
-              } else {
-                view.showErrorLoadingText(errorHandler.handleError(e))
-              }
-              view.setLoadingIndicator(false)
-            }
+            { e -> showLoadingError(e) }
         )
         .addTo(threadsDisposable)
   }
@@ -339,6 +331,58 @@ class GameThreadPresenterV2 @Inject constructor(
         .addTo(disposable)
   }
 
+  private fun commentsOf(submission: Submission): List<ThreadItem> {
+    val threadItems = mutableListOf<ThreadItem>()
+    val delay = view.getCommentDelay()
+
+    submission.comments?.walkTree()?.filter {
+      // Filter out comments that are older than now minus delay.
+      System.currentTimeMillis() - delay.seconds * 1000 > it!!.comment.created.time
+    }?.forEach {
+      threadItems.add(
+          ThreadItem(
+              COMMENT,
+              createCommentItem(it),
+              it.depth))
+    }
+    return threadItems
+  }
+
+  /**
+   * Checks for comments posted to the [submission] every [STREAM_INTERVAL_SECONDS] and inserts
+   * them, instead of loading the whole thread again.
+   */
+  private fun streamNewComments(submission: Submission) {
+    Single.defer { gameThreadsRepository.newComments(submission, liveCommentTree.cursor) }
+        .toObservable()
+        .repeatWhen { o -> o.delay(STREAM_INTERVAL_SECONDS, TimeUnit.SECONDS) }
+        .observeOn(schedulerProvider.ui())
+        .subscribe(
+            { liveComments ->
+              val inserted = liveCommentTree.add(
+                  liveComments, commentDelayMs(), System.currentTimeMillis())
+              if (inserted.isNotEmpty()) {
+                view.hideNoCommentsText()
+                inserted.forEach {
+                  view.insertComment(createCommentItem(it.comment, it.depth), it.parentId)
+                }
+              }
+            },
+            { e -> showLoadingError(e) })
+        .addTo(threadsDisposable)
+  }
+
+  private fun showLoadingError(e: Throwable) {
+    if (!networkUtils.isNetworkAvailable()) {
+      view.showNoNetAvailableText()
+    } else {
+      view.showErrorLoadingText(errorHandler.handleError(e))
+    }
+    view.setLoadingIndicator(false)
+  }
+
+  private fun commentDelayMs() = view.getCommentDelay().seconds * 1000L
+
   fun onSwitchCreated() {
     view.setStreamSwitch(shouldStream)
   }
@@ -354,7 +398,10 @@ class GameThreadPresenterV2 @Inject constructor(
   }
 
   private fun createCommentItem(root: CommentNode): CommentItem {
-    val comment = root.comment
+    return createCommentItem(root.comment, root.depth)
+  }
+
+  private fun createCommentItem(comment: Comment, depth: Int): CommentItem {
     return CommentItem(
         commentWrapper = CommentWrapper(
             comment = comment,
@@ -368,6 +415,6 @@ class GameThreadPresenterV2 @Inject constructor(
             authorFlair = comment.authorFlair,
             vote = comment.vote,
             edited = comment.hasBeenEdited()),
-        depth = root.depth)
+        depth = depth)
   }
 }
\ No newline at end of file
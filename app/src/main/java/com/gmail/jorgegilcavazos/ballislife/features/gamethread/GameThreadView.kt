@@ -1,6 +1,7 @@
 package com.gmail.jorgegilcavazos.ballislife.features.gamethread
 
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentDelay
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentItem
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentWrapper
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
@@ -23,6 +24,9 @@ interface GameThreadView {
 
   fun showComments(comments: List<ThreadItem>)
 
+  /** Inserts a comment as a reply of the comment with [parentId], or at the top if null. */
+  fun insertComment(commentItem: CommentItem, parentId: String?)
+
   fun hideComments()
 
   fun showNoThreadText()
@@ -0,0 +1,123 @@
+package com.gmail.jorgegilcavazos.ballislife.features.gamethread
+
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.LiveComments
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.Submission
+import java.util.*
+
+/**
+ * The comments of a live game thread shown while streaming, kept up to date with the comments
+ * posted since it was loaded instead of loading the whole thread again.
+ *
+ * Comments posted less than the comment delay ago are held back until they're old enough. New
+ * comments are shown as replies of their parents, and dropped if their parent isn't shown since
+ * there'd be nowhere to put them.
+ */
+class LiveCommentTree {
+
+  companion object {
+    // The cursor may be a comment that was since removed, which reddit never lists anything after.
+    const val EMPTY_FETCHES_BEFORE_RESET = 3
+  }
+
+  /** A comment to insert, under the comment with id [parentId] or at the top if null. */
+  data class LiveComment(val comment: Comment, val depth: Int, val parentId: String?)
+
+  /** The fullname of the newest comment seen, only comments after it need to be fetched. */
+  var cursor: String? = null
+    private set
+
+  // Depth of the comments shown by id.
+  private val depths = HashMap<String, Int>()
+  // Comments seen, shown or held, by id.
+  private val seen = HashSet<String>()
+  // Comments held back by the delay, oldest first.
+  private val held = ArrayList<Comment>()
+  private var emptyFetches = 0
+
+  /**
+   * Starts over from the comments loaded with [submission]. Returns those old enough to be shown
+   * given the [delayMs], in the order of its comment tree.
+   */
+  fun reset(submission: Submission, delayMs: Long, now: Long): List<LiveComment> {
+    depths.clear()
+    seen.clear()
+    held.clear()
+    emptyFetches = 0
+    cursor = null
+
+    val shown = ArrayList<LiveComment>()
+    var newest: Comment? = null
+    submission.comments?.walkTree()?.forEach {
+      val comment = it!!.comment
+      seen.add(comment.id)
+      if (newest == null || comment.created.after(newest!!.created)) {
+        newest = comment
+      }
+      if (isOldEnough(comment, delayMs, now)) {
+        depths[comment.id] = it.depth
+        shown.add(LiveComment(comment, it.depth, parentIdOf(comment)))
+      } else {
+        held.add(comment)
+      }
+    }
+    held.sortBy { it.created }
+    cursor = newest?.fullName
+    return shown
+  }
+
+  /**
+   * Adds the comments fetched since the last time. Returns the comments to insert, the new ones
+   * and those held until now, oldest first so that parents come before their replies.
+   */
+  fun add(liveComments: LiveComments, delayMs: Long, now: Long): List<LiveComment> {
+    if (liveComments.cursor == cursor) {
+      emptyFetches++
+      if (emptyFetches >= EMPTY_FETCHES_BEFORE_RESET) {
+        // Start over from the newest comments, those seen already are skipped anyway.
+        cursor = null
+        emptyFetches = 0
+      }
+    } else {
+      emptyFetches = 0
+      cursor = liveComments.cursor
+    }
+
+    liveComments.comments.forEach {
+      if (seen.add(it.id)) {
+        held.add(it)
+      }
+    }
+    // Only out of order after starting over from the newest comments.
+    held.sortBy { it.created }
+    return release(delayMs, now)
+  }
+
+  /** Returns the held comments that are now old enough to be shown. */
+  fun release(delayMs: Long, now: Long): List<LiveComment> {
+    val inserted = ArrayList<LiveComment>()
+    val iterator = held.iterator()
+    while (iterator.hasNext()) {
+      val comment = iterator.next()
+      if (!isOldEnough(comment, delayMs, now)) {
+        break
+      }
+      iterator.remove()
+      val parentId = parentIdOf(comment)
+      val depth = if (parentId == null) 0 else depths[parentId]?.plus(1) ?: continue
+      depths[comment.id] = depth
+      inserted.add(LiveComment(comment, depth, parentId))
+    }
+    return inserted
+  }
+
+  private fun isOldEnough(comment: Comment, delayMs: Long, now: Long): Boolean {
+    return now - delayMs > comment.created.time
+  }
+
+  /** The id of the parent comment, or null if it's a top level comment. */
+  private fun parentIdOf(comment: Comment): String? {
+    val parent = comment.data("parent_id") ?: return null
+    return if (parent.startsWith("t1_")) parent.substring(3) else null
+  }
+}
@@ -1,6 +1,7 @@
 package com.gmail.jorgegilcavazos.ballislife.features.highlights
 
 import android.content.Context
+import android.support.v7.widget.LinearLayoutManager
 import android.support.v7.widget.RecyclerView
 import android.view.LayoutInflater
 import android.view.View
@@ -10,7 +11,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.common.SwishCardViewHolder
 import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
 import com.gmail.jorgegilcavazos.ballislife.features.model.HighlightViewType
 import com.gmail.jorgegilcavazos.ballislife.features.model.SwishCard
-import com.gmail.jorgegilcavazos.ballislife.util.StringUtils
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.jakewharton.rxrelay2.PublishRelay
 import com.squareup.picasso.Picasso
 import io.reactivex.Observable
@@ -24,6 +25,7 @@ class HighlightAdapterV2(
     private val highlights: MutableList<Highlight>,
     private var highlightViewType: HighlightViewType,
     private val isPremium: Boolean,
+    networkUtils: NetworkUtils,
     private var showSwishSortingCard: Boolean = false,
     private var showSwishFavoritesCard: Boolean = false,
     private var showAddFavoritesCard: Boolean = false
@@ -36,6 +38,13 @@ class HighlightAdapterV2(
   private val submissionClickSubject = PublishSubject.create<Highlight>()
   private val exploreClicks = PublishSubject.create<SwishCard>()
   private val gotItClicks = PublishSubject.create<SwishCard>()
+  private val thumbnailPrefetcher = ThumbnailPrefetcher(Picasso.with(context), networkUtils)
+  private var recyclerView: RecyclerView? = null
+  private val prefetchScrollListener = object : RecyclerView.OnScrollListener() {
+    override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) {
+      prefetchThumbnails()
+    }
+  }
 
   fun ViewGroup.inflate(layoutResId: Int): View =
       LayoutInflater.from(this.context).inflate(layoutResId, this, false)
@@ -65,6 +74,7 @@ class HighlightAdapterV2(
             isPremium = isPremium,
             contentViewType = highlightViewType,
             highlight = highlight,
+            lowResThumbnail = thumbnailPrefetcher.preferLowRes,
             viewClickSubject = viewClickSubject,
             shareClickSubject = shareClickSubject,
             favoriteClicks = favoriteClicks,
@@ -83,6 +93,17 @@ class HighlightAdapterV2(
     }
   }
 
+  override fun onAttachedToRecyclerView(recyclerView: RecyclerView) {
+    this.recyclerView = recyclerView
+    recyclerView.addOnScrollListener(prefetchScrollListener)
+  }
+
+  override fun onDetachedFromRecyclerView(recyclerView: RecyclerView) {
+    recyclerView.removeOnScrollListener(prefetchScrollListener)
+    this.recyclerView = null
+    thumbnailPrefetcher.cancelAll()
+  }
+
   override fun getItemCount(): Int = when {
     showSwishSortingCard || showSwishFavoritesCard || showAddFavoritesCard -> highlights.size + 1
     else -> highlights.size
@@ -109,14 +130,15 @@ class HighlightAdapterV2(
   fun setData(highlights: List<Highlight>) {
     this.highlights.clear()
     this.highlights.addAll(highlights)
-    preFetchImages(highlights)
+    thumbnailPrefetcher.cancelAll()
     notifyDataSetChanged()
+    prefetchThumbnailsAfterLayout()
   }
 
   fun addData(highlights: List<Highlight>) {
     this.highlights.addAll(highlights)
-    preFetchImages(highlights)
     notifyDataSetChanged()
+    prefetchThumbnailsAfterLayout()
   }
 
   fun addHighlight(highlight: Highlight) {
@@ -156,15 +178,21 @@ class HighlightAdapterV2(
 
   fun getGotItClicks(): Observable<SwishCard> = gotItClicks
 
-  private fun preFetchImages(highlights: List<Highlight>) {
-    for ((_, _, thumbnail, hdThumbnail) in highlights) {
-      if (StringUtils.isNullOrEmpty(hdThumbnail)) {
-        if (!StringUtils.isNullOrEmpty(thumbnail)) {
-          Picasso.with(context).load(thumbnail).fetch()
-        }
-      } else {
-        Picasso.with(context).load(hdThumbnail).fetch()
-      }
-    }
+  private fun prefetchThumbnailsAfterLayout() {
+    // The visible range is only known once the new items are laid out.
+    recyclerView?.post { prefetchThumbnails() }
+  }
+
+  /**
+   * Warms the thumbnails of the highlights right after the visible ones, see [ThumbnailPrefetcher].
+   */
+  private fun prefetchThumbnails() {
+    val layoutManager = recyclerView?.layoutManager as? LinearLayoutManager ?: return
+    // Adapter positions are one ahead of the highlights when a card is shown.
+    val showingCard = showSwishSortingCard || showSwishFavoritesCard || showAddFavoritesCard
+    val offset = if (showingCard) 1 else 0
+    val first = maxOf(layoutManager.findFirstVisibleItemPosition() - offset, 0)
+    val last = layoutManager.findLastVisibleItemPosition() - offset
+    thumbnailPrefetcher.onVisibleRangeChanged(first, last, highlights)
   }
-}
\ No newline at end of file
+}
@@ -6,7 +6,6 @@ import android.view.View.GONE
 import android.view.View.VISIBLE
 import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
 import com.gmail.jorgegilcavazos.ballislife.features.model.HighlightViewType
-import com.gmail.jorgegilcavazos.ballislife.util.StringUtils
 import com.jakewharton.rxrelay2.PublishRelay
 import com.squareup.picasso.Picasso
 import io.reactivex.subjects.PublishSubject
@@ -20,6 +19,7 @@ class HighlightHolder(itemView: View) : RecyclerView.ViewHolder(itemView) {
   fun bindData(isPremium: Boolean,
                contentViewType: HighlightViewType,
                highlight: Highlight,
+               lowResThumbnail: Boolean,
                viewClickSubject: PublishSubject<Highlight>,
                shareClickSubject: PublishSubject<Highlight>,
                favoriteClicks: PublishRelay<Highlight>,
@@ -27,10 +27,9 @@ class HighlightHolder(itemView: View) : RecyclerView.ViewHolder(itemView) {
     title.text = highlight.title
 
     var thumbnailAvailable = true
-    if (!StringUtils.isNullOrEmpty(highlight.hdThumbnail)) {
-      Picasso.with(itemView.context).load(highlight.hdThumbnail).into(thumbnail)
-    } else if (!StringUtils.isNullOrEmpty(highlight.thumbnail)) {
-      Picasso.with(itemView.context).load(highlight.thumbnail).into(thumbnail)
+    val thumbnailUrl = ThumbnailPrefetcher.thumbnailOf(highlight, lowResThumbnail)
+    if (thumbnailUrl != null) {
+      Picasso.with(itemView.context).load(thumbnailUrl).into(thumbnail)
     } else {
       Picasso.with(itemView.context).cancelRequest(thumbnail)
       thumbnail.setImageDrawable(null)
@@ -0,0 +1,169 @@
+package com.gmail.jorgegilcavazos.ballislife.features.highlights
+
+import android.graphics.Bitmap
+import android.graphics.drawable.Drawable
+import android.os.SystemClock
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
+import com.gmail.jorgegilcavazos.ballislife.util.StringUtils
+import com.squareup.picasso.Picasso
+import com.squareup.picasso.Target
+import java.util.*
+
+/**
+ * Warms the Picasso cache with the thumbnails of the highlights right after the visible ones, so
+ * that they're ready when scrolled to without downloading thumbnails that may never be seen.
+ *
+ * Only [window] highlights past the last visible one are fetched, [maxInFlight] at a time, the
+ * closest first. Fetches for highlights that end up more than [window] highlights away from the
+ * visible range are cancelled.
+ *
+ * The [clock], in millis, only paces how often the network is checked.
+ */
+class ThumbnailPrefetcher(
+    private val picasso: Picasso,
+    private val networkUtils: NetworkUtils,
+    private val window: Int = DEFAULT_WINDOW,
+    private val maxInFlight: Int = DEFAULT_MAX_IN_FLIGHT,
+    private val clock: () -> Long = { SystemClock.elapsedRealtime() }) {
+
+  companion object {
+    const val DEFAULT_WINDOW = 6
+    const val DEFAULT_MAX_IN_FLIGHT = 2
+    /** Time a check of whether the network is metered is trusted for. */
+    const val METERED_CHECK_INTERVAL_MS = 5000L
+
+    /**
+     * The thumbnail shown for a highlight, the HD one unless [lowRes] or there's none. Null if the
+     * highlight has no thumbnail.
+     */
+    @JvmStatic
+    fun thumbnailOf(highlight: Highlight, lowRes: Boolean): String? {
+      val hd = highlight.hdThumbnail
+      val sd = highlight.thumbnail
+      return when {
+        lowRes && !StringUtils.isNullOrEmpty(sd) -> sd
+        !StringUtils.isNullOrEmpty(hd) -> hd
+        !StringUtils.isNullOrEmpty(sd) -> sd
+        else -> null
+      }
+    }
+  }
+
+  // The thumbnails being fetched. Picasso only keeps weak references to targets.
+  private val inFlight = HashMap<String, PrefetchTarget>()
+  private val fetched = HashSet<String>()
+  // Thumbnails in the window waiting for a free fetch, with their position, the closest first.
+  private val pending = ArrayDeque<Pair<String, Int>>()
+
+  /**
+   * Whether low resolution thumbnails are preferred, because the network is metered. Checked again
+   * on [onVisibleRangeChanged], at most every [METERED_CHECK_INTERVAL_MS].
+   */
+  var preferLowRes = networkUtils.isNetworkMetered()
+    private set
+  private var meteredCheckedAt = clock()
+
+  // What the window was last computed for, scrolling within the same rows doesn't change it.
+  private var lastFirst = -1
+  private var lastLast = -1
+  private var lastCount = -1
+
+  /**
+   * Called when the highlights visible, by position in [highlights], change. Must be called on the
+   * main thread, where Picasso calls back.
+   */
+  fun onVisibleRangeChanged(first: Int, last: Int, highlights: List<Highlight>) {
+    if (first < 0 || last < first) {
+      return
+    }
+
+    val now = clock()
+    if (now - meteredCheckedAt >= METERED_CHECK_INTERVAL_MS) {
+      meteredCheckedAt = now
+      val lowRes = networkUtils.isNetworkMetered()
+      if (lowRes != preferLowRes) {
+        // Everything fetched so far is the other resolution.
+        cancelAll()
+        preferLowRes = lowRes
+      }
+    }
+
+    if (first == lastFirst && last == lastLast && highlights.size == lastCount) {
+      return
+    }
+    lastFirst = first
+    lastLast = last
+    lastCount = highlights.size
+
+    // Scrolled far past, or back far before.
+    val iterator = inFlight.values.iterator()
+    while (iterator.hasNext()) {
+      val target = iterator.next()
+      if (target.position < first - window || target.position > last + window) {
+        picasso.cancelRequest(target)
+        iterator.remove()
+      }
+    }
+
+    pending.clear()
+    for (position in last + 1..minOf(last + window, highlights.size - 1)) {
+      val url = thumbnailOf(highlights[position], preferLowRes) ?: continue
+      pending.add(Pair(url, position))
+    }
+    startPending()
+  }
+
+  /** Cancels every fetch, like when the highlights are replaced or no longer shown. */
+  fun cancelAll() {
+    inFlight.values.forEach { picasso.cancelRequest(it) }
+    inFlight.clear()
+    fetched.clear()
+    pending.clear()
+    lastFirst = -1
+    lastLast = -1
+    lastCount = -1
+  }
+
+  private fun startPending() {
+    while (inFlight.size < maxInFlight && pending.isNotEmpty()) {
+      val (url, position) = pending.removeFirst()
+      if (url in fetched || url in inFlight) {
+        continue
+      }
+      val target = PrefetchTarget(url, position)
+      inFlight[url] = target
+      // A target instead of fetch() because Picasso can't cancel fetches.
+      picasso.load(url)
+          .priority(Picasso.Priority.LOW)
+          .into(target)
+    }
+  }
+
+  private fun onFetched(target: PrefetchTarget, success: Boolean) {
+    // Ignore a target that was cancelled or replaced.
+    if (inFlight[target.url] !== target) {
+      return
+    }
+    inFlight.remove(target.url)
+    // Not retried if it failed, the thumbnail is loaded again when shown.
+    if (success) {
+      fetched.add(target.url)
+    }
+    startPending()
+  }
+
+  /** Only warms the memory cache, the bitmap is dropped here. */
+  private inner class PrefetchTarget(val url: String, val position: Int) : Target {
+
+    override fun onBitmapLoaded(bitmap: Bitmap, from: Picasso.LoadedFrom) {
+      onFetched(this, true)
+    }
+
+    override fun onBitmapFailed(errorDrawable: Drawable?) {
+      onFetched(this, false)
+    }
+
+    override fun onPrepareLoad(placeHolderDrawable: Drawable?) {}
+  }
+}
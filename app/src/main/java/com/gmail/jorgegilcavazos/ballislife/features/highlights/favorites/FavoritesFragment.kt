@@ -31,6 +31,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.model.SwishCard
 import com.gmail.jorgegilcavazos.ballislife.features.submission.SubmissionActivity
 import com.gmail.jorgegilcavazos.ballislife.features.videoplayer.VideoPlayerActivity
 import com.gmail.jorgegilcavazos.ballislife.util.Constants
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.google.android.youtube.player.YouTubeApiServiceUtil
 import com.google.android.youtube.player.YouTubeInitializationResult
 import com.google.android.youtube.player.YouTubeStandalonePlayer
@@ -50,6 +51,7 @@ class FavoritesFragment : Fragment(), FavoritesView {
   @Inject lateinit var localRepository: LocalRepository
   @Inject lateinit var premiumService: PremiumService
   @Inject lateinit var eventLogger: EventLogger
+  @Inject lateinit var networkUtils: NetworkUtils
 
   private var listState: Parcelable? = null
   private lateinit var linearLayoutManager: LinearLayoutManager
@@ -84,6 +86,7 @@ class FavoritesFragment : Fragment(), FavoritesView {
         highlights = mutableListOf(),
         highlightViewType = viewType,
         isPremium = isPremium(),
+        networkUtils = networkUtils,
         showSwishFavoritesCard = showSwishFavoritesCard,
         showAddFavoritesCard = showAddFavoritesCard
     )
@@ -40,6 +40,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.model.SwishCard;
 import com.gmail.jorgegilcavazos.ballislife.features.submission.SubmissionActivity;
 import com.gmail.jorgegilcavazos.ballislife.features.videoplayer.VideoPlayerActivity;
 import com.gmail.jorgegilcavazos.ballislife.util.Constants;
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils;
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider;
 import com.google.android.youtube.player.YouTubeApiServiceUtil;
 import com.google.android.youtube.player.YouTubeInitializationResult;
@@ -67,6 +68,7 @@ public class HighlightsFragment extends Fragment implements HighlightsView,
     @Inject HighlightsPresenter presenter;
     @Inject PremiumService premiumService;
     @Inject EventLogger eventLogger;
+    @Inject NetworkUtils networkUtils;
 
     @BindView(R.id.swipeRefreshLayout) SwipeRefreshLayout swipeRefreshLayout;
     @BindView(R.id.recyclerView_highlights) RecyclerView rvHighlights;
@@ -104,6 +106,7 @@ public class HighlightsFragment extends Fragment implements HighlightsView,
                 new ArrayList<>(25),
                 viewType,
                 isPremium(),
+                networkUtils,
                 shouldShowSortingCard(),
                 false /* showSwishFavoritesCard */,
                 false /* showAddFavoritesCard */);
@@ -130,8 +133,18 @@ public class HighlightsFragment extends Fragment implements HighlightsView,
         };
 
         rvHighlights.addOnScrollListener(scrollListener);
+        rvHighlights.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    presenter.onScrolled(linearLayoutManager.findLastVisibleItemPosition(),
+                            linearLayoutManager.getItemCount());
+                }
+            }
+        });
 
         presenter.setItemsToLoad(10);
+        presenter.setPrefetchDistance(15);
         presenter.attachView(this);
         presenter.subscribeToHighlightsClick(highlightAdapter.getViewClickObservable());
         presenter.subscribeToHighlightsShare(highlightAdapter.getShareClickObservable());
@@ -86,13 +86,45 @@ public class HighlightsPresenter extends BasePresenter<HighlightsView> {
         highlightsRepository.setItemsToLoad(itemsToLoad);
     }
 
+    public void setPrefetchDistance(int prefetchDistance) {
+        highlightsRepository.setPrefetchDistance(prefetchDistance);
+    }
+
+    /**
+     * Called as the highlights are scrolled down, with the position of the last visible item and
+     * the number of items shown.
+     */
+    public void onScrolled(int lastVisiblePosition, int itemCount) {
+        highlightsRepository.prefetchIfNear(itemCount - 1 - lastVisiblePosition);
+    }
+
     public void loadFirstAvailable() {
         List<Highlight> highlights = highlightsRepository.getCachedHighlights();
-        if (highlights.isEmpty() || highlightsRepository.getSorting() != view.getSorting()) {
-            loadHighlights(true);
-        } else {
+        if (!highlights.isEmpty() && highlightsRepository.getSorting() == view.getSorting()) {
             view.showHighlights(highlights, true);
+            return;
         }
+
+        // Resume from the pages stored on disk before going to the network.
+        disposables.add(highlightsRepository.loadStoredHighlights(view.getSorting())
+                .subscribeOn(schedulerProvider.io())
+                .observeOn(schedulerProvider.ui())
+                .subscribeWith(new DisposableSingleObserver<List<Highlight>>() {
+                    @Override
+                    public void onSuccess(List<Highlight> storedHighlights) {
+                        if (storedHighlights.isEmpty()) {
+                            loadHighlights(true);
+                        } else {
+                            view.showHighlights(storedHighlights, true);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        loadHighlights(true);
+                    }
+                })
+        );
     }
 
     public void loadHighlights(final boolean reset) {
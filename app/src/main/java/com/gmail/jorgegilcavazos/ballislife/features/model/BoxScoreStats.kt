@@ -0,0 +1,195 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.AST
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.BLK
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.BLKA
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.DREB
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.FGA
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.FGM
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.FTA
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.FTM
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.MIN
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.OREB
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.PF
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.PM
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.PTS
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.REB
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.STAT_COUNT
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.STL
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.TOV
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.TPA
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns.Companion.TPM
+
+/**
+ * The stats of both teams of a box score, with team totals and derived stats computed once so
+ * that the UI only has to bind them.
+ */
+class BoxScoreStats(val home: TeamStats, val visitor: TeamStats) {
+
+  companion object {
+    @JvmStatic
+    fun from(values: BoxScoreValues) =
+        BoxScoreStats(TeamStats.from(values.hls), TeamStats.from(values.vls))
+  }
+}
+
+/**
+ * The box score table of a team, read by row and column. Rows `0 until playerCount` are the
+ * players, in the order of [players], and [totalsRow] is the team totals. The shooting
+ * percentages, the text of every cell and the order of the players when sorted by each column
+ * are computed once, in the order of [COLUMNS].
+ */
+class TeamStats(val players: TeamStatColumns) {
+
+  companion object {
+    @JvmField
+    val COLUMNS = listOf("MIN", "PTS", "REB", "AST", "STL", "BLK", "BA", "OREB", "DREB", "FGM",
+        "FGA", "FG%", "3PM", "3PA", "3P%", "FTM", "FTA", "FT%", "PF", "TO", "+/-", "EFG%", "TS%")
+
+    const val COLUMN_FG_PCT = 11
+    const val COLUMN_TP_PCT = 14
+    const val COLUMN_FT_PCT = 17
+    const val COLUMN_EFG_PCT = 21
+    const val COLUMN_TS_PCT = 22
+
+    /** The sort column of the players in the order of the response. */
+    const val NO_SORT = -1
+
+    // The stat shown by each column, or NOT_A_STAT for percentage columns.
+    private const val NOT_A_STAT = -1
+    private val COLUMN_STATS = intArrayOf(MIN, PTS, REB, AST, STL, BLK, BLKA, OREB, DREB, FGM,
+        FGA, NOT_A_STAT, TPM, TPA, NOT_A_STAT, FTM, FTA, NOT_A_STAT, PF, TOV, PM, NOT_A_STAT,
+        NOT_A_STAT)
+
+    private const val NO_ATTEMPTS = "-"
+
+    @JvmStatic
+    fun from(team: BoxScoreTeam) = TeamStats(team.players)
+
+    private fun ratio(numerator: Double, denominator: Double): Double {
+      return if (denominator == 0.0) Double.NaN else numerator / denominator
+    }
+
+    private fun pctText(pct: Double): String {
+      return if (pct.isNaN()) NO_ATTEMPTS else "${(pct * 100).toInt()}%"
+    }
+  }
+
+  val playerCount = players.playerCount
+
+  val totalsRow = playerCount
+
+  private val totals = IntArray(STAT_COUNT) { players.total(it) }
+
+  // Percentages by column then row, NaN without attempts. Null for columns that aren't one.
+  private val pcts: Array<DoubleArray?> = Array(COLUMNS.size) { column ->
+    if (COLUMN_STATS[column] == NOT_A_STAT) {
+      DoubleArray(playerCount + 1) { row -> computePct(row, column) }
+    } else {
+      null
+    }
+  }
+
+  // Row major, the totals after the players.
+  private val cells: Array<String> = Array((playerCount + 1) * COLUMNS.size) {
+    cellText(it / COLUMNS.size, it % COLUMNS.size)
+  }
+
+  // For each column, the player indexes ordered by it, highest first. Sorting the table then only
+  // has to pick one of these instead of sorting again.
+  private val sortOrders: Array<IntArray> = Array(COLUMNS.size) { sortedPlayers(it) }
+
+  /** Returns [stat] (one of the [TeamStatColumns] stats) of [row]. */
+  fun stat(row: Int, stat: Int): Int {
+    return if (row == totalsRow) totals[stat] else players.get(stat, row)
+  }
+
+  /**
+   * Returns the percentage of a percentage [column] (like [COLUMN_FG_PCT]) for [row], or null if
+   * there were no attempts.
+   */
+  fun pct(row: Int, column: Int): Double? {
+    val pct = pcts[column]?.get(row) ?: throw IllegalArgumentException("Not a pct: $column")
+    return if (pct.isNaN()) null else pct
+  }
+
+  fun text(row: Int, column: Int): String = cells[row * COLUMNS.size + column]
+
+  /**
+   * Returns the player shown at [position] when the players are sorted by [column], or in the
+   * order of the response for [NO_SORT]. Ascending is the descending order reversed, so players
+   * without attempts come first when sorting a percentage ascending.
+   */
+  fun playerAt(position: Int, column: Int, descending: Boolean): Int {
+    if (column == NO_SORT) {
+      return position
+    }
+    val order = sortOrders[column]
+    return if (descending) order[position] else order[playerCount - 1 - position]
+  }
+
+  /** The name of the player of [row] as shown in the box score, like "K. Leonard". */
+  fun playerName(row: Int): String? {
+    val firstName = players.firstName(row)
+    val lastName = players.lastName(row)
+    // Some players don't have a first name, like Nene.
+    return if (firstName != null && firstName.isNotEmpty()) {
+      "${firstName[0]}. $lastName"
+    } else {
+      lastName
+    }
+  }
+
+  private fun computePct(row: Int, column: Int): Double {
+    val fgm = stat(row, FGM).toDouble()
+    val fga = stat(row, FGA).toDouble()
+    return when (column) {
+      COLUMN_FG_PCT -> ratio(fgm, fga)
+      COLUMN_TP_PCT -> ratio(stat(row, TPM).toDouble(), stat(row, TPA).toDouble())
+      COLUMN_FT_PCT -> ratio(stat(row, FTM).toDouble(), stat(row, FTA).toDouble())
+      // Effective field goal percentage, which weights three pointers by their extra point.
+      COLUMN_EFG_PCT -> ratio(fgm + 0.5 * stat(row, TPM), fga)
+      // True shooting percentage, which also accounts for free throws.
+      COLUMN_TS_PCT -> ratio(stat(row, PTS).toDouble(), 2 * (fga + 0.44 * stat(row, FTA)))
+      else -> throw IllegalArgumentException("Not a pct: $column")
+    }
+  }
+
+  private fun sortedPlayers(column: Int): IntArray {
+    val order = IntArray(playerCount) { it }
+    val columnStat = COLUMN_STATS[column]
+    if (columnStat == NOT_A_STAT) {
+      sortByPct(order, pcts[column]!!)
+    } else {
+      players.sort(order, columnStat, true /* descending */)
+    }
+    return order
+  }
+
+  // Same stable insertion sort as TeamStatColumns.sort, with players without attempts last.
+  private fun sortByPct(order: IntArray, pcts: DoubleArray) {
+    for (i in 1 until order.size) {
+      val player = order[i]
+      val pct = pcts[player]
+      var j = i - 1
+      while (j >= 0 && isHigher(pct, pcts[order[j]])) {
+        order[j + 1] = order[j]
+        j--
+      }
+      order[j + 1] = player
+    }
+  }
+
+  private fun isHigher(pct: Double, other: Double): Boolean {
+    return !pct.isNaN() && (other.isNaN() || pct > other)
+  }
+
+  private fun cellText(row: Int, column: Int): String {
+    val columnStat = COLUMN_STATS[column]
+    return if (columnStat == NOT_A_STAT) {
+      pctText(pcts[column]!![row])
+    } else {
+      stat(row, columnStat).toString()
+    }
+  }
+}
@@ -1,6 +1,15 @@
 package com.gmail.jorgegilcavazos.ballislife.features.model
 
-import com.google.gson.annotations.SerializedName
+/**
+ * A team's side of the box score. The stats of its players are kept by column, see
+ * [TeamStatColumns].
+ */
+class BoxScoreTeam(val players: TeamStatColumns,
+									 val score: Int) {
 
-class BoxScoreTeam(val pstsg: List<StatLine>,
-									 @SerializedName("s") val score: Int)
+	constructor(pstsg: List<StatLine>, score: Int) : this(TeamStatColumns.from(pstsg), score)
+
+	/** The stat line of every player, built on each call. Prefer reading [players]. */
+	val pstsg: List<StatLine>
+		get() = players.toStatLines()
+}
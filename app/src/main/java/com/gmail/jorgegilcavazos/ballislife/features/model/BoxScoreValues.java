@@ -1,15 +1,25 @@
 package com.gmail.jorgegilcavazos.ballislife.features.model;
 
+import android.support.annotation.Nullable;
+
 public class BoxScoreValues {
 
     private BoxScoreTeam hls;
     private BoxScoreTeam vls;
+    // Game status, same values as NbaGame#gameStatus. May be missing in older responses.
+    @Nullable private Integer st;
 
     public BoxScoreValues(BoxScoreTeam hls, BoxScoreTeam vls) {
         this.hls = hls;
         this.vls = vls;
     }
 
+    public BoxScoreValues(BoxScoreTeam hls, BoxScoreTeam vls, @Nullable Integer st) {
+        this.hls = hls;
+        this.vls = vls;
+        this.st = st;
+    }
+
     public BoxScoreTeam getHls() {
         return hls;
     }
@@ -25,4 +35,41 @@ public class BoxScoreValues {
     public void setVls(BoxScoreTeam vls) {
         this.vls = vls;
     }
+
+    @Nullable
+    public Integer getSt() {
+        return st;
+    }
+
+    public void setSt(@Nullable Integer st) {
+        this.st = st;
+    }
+
+    /**
+     * Whether the game this box score belongs to is over, meaning its stats won't change anymore.
+     */
+    public boolean isFinal() {
+        return isFinal(null);
+    }
+
+    /**
+     * Same as {@link #isFinal()}, but falls back to the {@code knownStatus} of the game when the
+     * response has no status.
+     */
+    public boolean isFinal(@Nullable String knownStatus) {
+        return NbaGame.POST_GAME.equals(statusOr(knownStatus));
+    }
+
+    /**
+     * Whether the game is being played, according to the response or else the {@code
+     * knownStatus} of the game.
+     */
+    public boolean isLive(@Nullable String knownStatus) {
+        return NbaGame.IN_GAME.equals(statusOr(knownStatus));
+    }
+
+    @Nullable
+    private String statusOr(@Nullable String knownStatus) {
+        return st != null ? String.valueOf(st) : knownStatus;
+    }
 }
@@ -13,7 +13,10 @@ data class Highlight(
     @SerializedName("created_utc") val createdUtc: Long = 0,
     @SerializedName("fav_time") val favTime: Date? = null)
 
-fun Highlight.toMapWithNewDate(): Map<String, Any?> {
+/**
+ * The fields of a favorite highlight as stored in Firestore.
+ */
+fun Highlight.toMap(): Map<String, Any?> {
   return mapOf(
       "id" to this.id,
       "title" to this.title,
@@ -22,5 +25,5 @@ fun Highlight.toMapWithNewDate(): Map<String, Any?> {
       "url" to this.url,
       "score" to this.score,
       "created_utc" to this.createdUtc,
-      "fav_time" to Date())
+      "fav_time" to this.favTime)
 }
@@ -3,7 +3,7 @@ package com.gmail.jorgegilcavazos.ballislife.features.model
 /**
  * A player's statline.
  */
-data class StatLine(
+data class StatLine @JvmOverloads constructor(
     var pts: Int,
     var min: Int,
     var ast: Int,
@@ -23,5 +23,14 @@ data class StatLine(
     var ftm: Int,
     var pm: Int,
     var fn: String?,
-    var ln: String?
-)
\ No newline at end of file
+    var ln: String?,
+    var pid: Int? = null
+) {
+
+  /**
+   * Identifies the player across box score updates. Falls back to the name when the response
+   * doesn't include the player id.
+   */
+  val playerKey: String
+    get() = pid?.toString() ?: "$fn $ln"
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+/**
+ * The stat lines of a team's players stored by column: one int array per stat holding the value
+ * of every player, plus the ids and names of the players. It takes the same handful of objects no
+ * matter how many players there are, and any stat can be read or sorted by without boxing.
+ *
+ * Players are identified by their index, in the order of the response.
+ */
+class TeamStatColumns private constructor(
+    val playerCount: Int,
+    private val stats: Array<IntArray>,
+    private val ids: IntArray,
+    private val firstNames: Array<String?>,
+    private val lastNames: Array<String?>
+) {
+
+  companion object {
+    // Stat indexes, in the order of the StatLine constructor.
+    const val PTS = 0
+    const val MIN = 1
+    const val AST = 2
+    const val REB = 3
+    const val DREB = 4
+    const val OREB = 5
+    const val BLK = 6
+    const val BLKA = 7
+    const val STL = 8
+    const val TOV = 9
+    const val PF = 10
+    const val FGA = 11
+    const val FGM = 12
+    const val TPA = 13
+    const val TPM = 14
+    const val FTA = 15
+    const val FTM = 16
+    const val PM = 17
+    const val STAT_COUNT = 18
+
+    /** The id of players that don't have one. */
+    const val NO_ID = Int.MIN_VALUE
+
+    @JvmField
+    val EMPTY = Builder(0).build()
+
+    @JvmStatic
+    fun from(players: List<StatLine>): TeamStatColumns {
+      val builder = Builder(players.size)
+      players.forEach { builder.add(it) }
+      return builder.build()
+    }
+
+    /**
+     * Wraps arrays already laid out by column: [stats] holds [STAT_COUNT] arrays with one value
+     * per player, and players without an id have [NO_ID].
+     */
+    @JvmStatic
+    fun of(
+        stats: Array<IntArray>,
+        ids: IntArray,
+        firstNames: Array<String?>,
+        lastNames: Array<String?>
+    ): TeamStatColumns {
+      val count = ids.size
+      require(stats.size == STAT_COUNT && stats.all { it.size == count }) { "Bad stat columns" }
+      require(firstNames.size == count && lastNames.size == count) { "Bad name columns" }
+      return TeamStatColumns(count, stats, ids, firstNames, lastNames)
+    }
+  }
+
+  fun get(stat: Int, player: Int): Int = stats[stat][player]
+
+  /** Returns the sum of [stat] over every player. */
+  fun total(stat: Int): Int {
+    var total = 0
+    for (value in stats[stat]) {
+      total += value
+    }
+    return total
+  }
+
+  fun playerId(player: Int): Int? = ids[player].takeIf { it != NO_ID }
+
+  fun firstName(player: Int): String? = firstNames[player]
+
+  fun lastName(player: Int): String? = lastNames[player]
+
+  /** Same as [StatLine.playerKey]. */
+  fun playerKey(player: Int): String {
+    return playerId(player)?.toString() ?: "${firstNames[player]} ${lastNames[player]}"
+  }
+
+  /**
+   * Returns true if [player] has the same id, name and stats as [otherPlayer] of [other].
+   */
+  fun samePlayerLine(player: Int, other: TeamStatColumns, otherPlayer: Int): Boolean {
+    if (ids[player] != other.ids[otherPlayer]
+        || firstNames[player] != other.firstNames[otherPlayer]
+        || lastNames[player] != other.lastNames[otherPlayer]) {
+      return false
+    }
+    for (stat in 0 until STAT_COUNT) {
+      if (stats[stat][player] != other.stats[stat][otherPlayer]) {
+        return false
+      }
+    }
+    return true
+  }
+
+  /**
+   * Sorts the player indexes in [order] by [stat], highest first when [descending], in place and
+   * without allocating. Players with the same value keep their relative order.
+   */
+  fun sort(order: IntArray, stat: Int, descending: Boolean) {
+    val values = stats[stat]
+    // Insertion sort: a roster has a handful of players and it's stable.
+    for (i in 1 until order.size) {
+      val player = order[i]
+      val value = values[player]
+      var j = i - 1
+      while (j >= 0 && (if (descending) values[order[j]] < value else values[order[j]] > value)) {
+        order[j + 1] = order[j]
+        j--
+      }
+      order[j + 1] = player
+    }
+  }
+
+  /** Builds the [StatLine] of [player], for code that still needs one object per player. */
+  fun statLine(player: Int): StatLine {
+    return StatLine(
+        pts = stats[PTS][player],
+        min = stats[MIN][player],
+        ast = stats[AST][player],
+        reb = stats[REB][player],
+        dreb = stats[DREB][player],
+        oreb = stats[OREB][player],
+        blk = stats[BLK][player],
+        blka = stats[BLKA][player],
+        stl = stats[STL][player],
+        tov = stats[TOV][player],
+        pf = stats[PF][player],
+        fga = stats[FGA][player],
+        fgm = stats[FGM][player],
+        tpa = stats[TPA][player],
+        tpm = stats[TPM][player],
+        fta = stats[FTA][player],
+        ftm = stats[FTM][player],
+        pm = stats[PM][player],
+        fn = firstNames[player],
+        ln = lastNames[player],
+        pid = playerId(player))
+  }
+
+  fun toStatLines(): List<StatLine> = List(playerCount) { statLine(it) }
+
+  /**
+   * Appends players one at a time, growing the columns as needed. Stats that are never set are 0.
+   */
+  class Builder(capacity: Int = 16) {
+    private var size = 0
+    private var stats = Array(STAT_COUNT) { IntArray(capacity) }
+    private var ids = IntArray(capacity)
+    private val firstNames = ArrayList<String?>(capacity)
+    private val lastNames = ArrayList<String?>(capacity)
+
+    /** Adds a player without id, name or stats and returns its index. */
+    fun addPlayer(): Int {
+      if (size == ids.size) {
+        val capacity = maxOf(4, size * 2)
+        stats = Array(STAT_COUNT) { stats[it].copyOf(capacity) }
+        ids = ids.copyOf(capacity)
+      }
+      ids[size] = NO_ID
+      firstNames.add(null)
+      lastNames.add(null)
+      return size++
+    }
+
+    fun add(statLine: StatLine): Builder {
+      val player = addPlayer()
+      setStat(player, PTS, statLine.pts)
+      setStat(player, MIN, statLine.min)
+      setStat(player, AST, statLine.ast)
+      setStat(player, REB, statLine.reb)
+      setStat(player, DREB, statLine.dreb)
+      setStat(player, OREB, statLine.oreb)
+      setStat(player, BLK, statLine.blk)
+      setStat(player, BLKA, statLine.blka)
+      setStat(player, STL, statLine.stl)
+      setStat(player, TOV, statLine.tov)
+      setStat(player, PF, statLine.pf)
+      setStat(player, FGA, statLine.fga)
+      setStat(player, FGM, statLine.fgm)
+      setStat(player, TPA, statLine.tpa)
+      setStat(player, TPM, statLine.tpm)
+      setStat(player, FTA, statLine.fta)
+      setStat(player, FTM, statLine.ftm)
+      setStat(player, PM, statLine.pm)
+      setId(player, statLine.pid)
+      setFirstName(player, statLine.fn)
+      setLastName(player, statLine.ln)
+      return this
+    }
+
+    fun setStat(player: Int, stat: Int, value: Int) {
+      stats[stat][player] = value
+    }
+
+    fun setId(player: Int, id: Int?) {
+      ids[player] = id ?: NO_ID
+    }
+
+    fun setFirstName(player: Int, firstName: String?) {
+      firstNames[player] = firstName
+    }
+
+    fun setLastName(player: Int, lastName: String?) {
+      lastNames[player] = lastName
+    }
+
+    fun build(): TeamStatColumns {
+      return TeamStatColumns(
+          size,
+          Array(STAT_COUNT) { stats[it].copyOf(size) },
+          ids.copyOf(size),
+          firstNames.toTypedArray(),
+          lastNames.toTypedArray())
+    }
+  }
+}
@@ -2,4 +2,7 @@ package com.gmail.jorgegilcavazos.ballislife.util
 
 interface NetworkUtils {
   fun isNetworkAvailable(): Boolean
-}
\ No newline at end of file
+
+  /** Whether the active network may charge for data, like most cellular connections. */
+  fun isNetworkMetered(): Boolean
+}
@@ -2,6 +2,7 @@ package com.gmail.jorgegilcavazos.ballislife.util
 
 import android.content.Context.CONNECTIVITY_SERVICE
 import android.net.ConnectivityManager
+import android.support.v4.net.ConnectivityManagerCompat
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication
 import javax.inject.Inject
 
@@ -12,4 +13,10 @@ class NetworkUtilsImpl @Inject constructor() : NetworkUtils {
     val activeNetworkInfo = connectivityMgr.activeNetworkInfo
     return activeNetworkInfo != null && activeNetworkInfo.isConnected
   }
-}
\ No newline at end of file
+
+  override fun isNetworkMetered(): Boolean {
+    val context = BallIsLifeApplication.getAppContext() ?: return true
+    val connectivityMgr = context.getSystemService(CONNECTIVITY_SERVICE) as ConnectivityManager
+    return ConnectivityManagerCompat.isActiveNetworkMetered(connectivityMgr)
+  }
+}
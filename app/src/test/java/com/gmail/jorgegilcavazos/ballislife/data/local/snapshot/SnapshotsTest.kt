@@ -0,0 +1,236 @@
+package com.gmail.jorgegilcavazos.ballislife.data.local.snapshot
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.Broadcaster
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.features.model.MediaSource
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.nio.ByteBuffer
+import java.util.*
+
+class SnapshotsTest {
+
+  @get:Rule val tmpFolder = TemporaryFolder()
+
+  @Test
+  fun boxScoreRoundTrip() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(
+            statLine(202695, "Kawhi", "Leonard", pts = 30),
+            statLine(1495, "Tim", "Duncan", pts = 12, pm = -4)), 107),
+        BoxScoreTeam(listOf(statLine(null, null, "Nenê", pts = 8)), 99),
+        3))
+    val file = tmpFolder.newFile("box.snap")
+
+    Snapshots.write(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.write(it, boxScore) }
+    val read = Snapshots.read(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.read(it) }
+
+    assertEquals(boxScore.game.hls.pstsg, read.game.hls.pstsg)
+    assertEquals(boxScore.game.vls.pstsg, read.game.vls.pstsg)
+    assertEquals(107, read.game.hls.score)
+    assertEquals(99, read.game.vls.score)
+    assertEquals(3, read.game.st)
+  }
+
+  @Test
+  fun boxScoreWithoutStatusOrPlayers() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
+    val file = tmpFolder.newFile("empty.snap")
+
+    Snapshots.write(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.write(it, boxScore) }
+    val read = Snapshots.read(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.read(it) }
+
+    assertNull(read.game.st)
+    assertEquals(0, read.game.hls.pstsg.size)
+  }
+
+  @Test
+  fun gamesRoundTrip() {
+    val games = listOf(
+        game("1", seriesSummary = null, broadcasters = mapOf()),
+        game("2", seriesSummary = "SAS leads 3-2", broadcasters = mapOf(
+            "tv" to MediaSource(listOf(
+                Broadcaster("TNT", "natl", "natl"), Broadcaster("FSSW", "home", "local"))),
+            "radio" to MediaSource(listOf()))))
+    val file = tmpFolder.newFile("games.snap")
+
+    Snapshots.write(file, Snapshots.KIND_GAMES_DAY) {
+      it.putLong(1234L)
+      GameSnapshot.writeAll(it, games)
+    }
+    val read = Snapshots.read(file, Snapshots.KIND_GAMES_DAY) {
+      Pair(it.getLong(), GameSnapshot.readAll(it))
+    }
+
+    assertEquals(1234L, read.first)
+    assertEquals(games, read.second)
+  }
+
+  @Test
+  fun highlightsRoundTrip() {
+    val highlights = listOf(
+        Highlight("a1", "Kawhi dunk", null, "hd", "https://streamable.com/a1", 120, 1510000000),
+        Highlight("b2", "Manu euro step", "thumb", null, "https://youtu.be/b2", 98, 1510000100,
+            Date(1510000200000)))
+    val file = tmpFolder.newFile("highlights.snap")
+
+    Snapshots.write(file, Snapshots.KIND_HIGHLIGHTS) { HighlightSnapshot.writeAll(it, highlights) }
+    val read = Snapshots.read(file, Snapshots.KIND_HIGHLIGHTS) { HighlightSnapshot.readAll(it) }
+
+    assertEquals(highlights, read)
+  }
+
+  @Test
+  fun writerGrowsPastInitialCapacity() {
+    val writer = SnapshotWriter(4)
+    writer.putString("a".repeat(100)).putLong(7L)
+
+    val reader = SnapshotReader(writer.toBuffer())
+
+    assertEquals("a".repeat(100), reader.getString())
+    assertEquals(7L, reader.getLong())
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsOtherKind() {
+    val file = tmpFolder.newFile("kind.snap")
+    Snapshots.write(file, Snapshots.KIND_GAMES_DAY) { GameSnapshot.writeAll(it, listOf()) }
+
+    Snapshots.read(file, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.read(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsOtherVersion() {
+    val buffer = SnapshotWriter()
+        .putInt(0x53574953)
+        .putShort((Snapshots.VERSION + 1).toShort())
+        .putByte(Snapshots.KIND_GAMES_DAY)
+        .putInt(0)
+        .toBuffer()
+
+    Snapshots.read(buffer, Snapshots.KIND_GAMES_DAY) { GameSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsTruncatedSnapshot() {
+    val file = tmpFolder.newFile("truncated.snap")
+    Snapshots.write(file, Snapshots.KIND_GAMES_DAY) {
+      GameSnapshot.writeAll(it, listOf(game("1", null, mapOf())))
+    }
+    val bytes = file.readBytes()
+
+    Snapshots.read(ByteBuffer.wrap(bytes, 0, bytes.size / 2).slice(),
+        Snapshots.KIND_GAMES_DAY) { GameSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsNonSnapshot() {
+    val file = File(tmpFolder.root, "day.json")
+    file.writeText("{\"games\": []}")
+
+    Snapshots.read(file, Snapshots.KIND_GAMES_DAY) { GameSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsHugeGameCount() {
+    Snapshots.read(snapshotWithCount(Snapshots.KIND_GAMES_DAY, Int.MAX_VALUE),
+        Snapshots.KIND_GAMES_DAY) { GameSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsNegativeHighlightCount() {
+    Snapshots.read(snapshotWithCount(Snapshots.KIND_HIGHLIGHTS, -1),
+        Snapshots.KIND_HIGHLIGHTS) { HighlightSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsHugeHighlightCount() {
+    Snapshots.read(snapshotWithCount(Snapshots.KIND_HIGHLIGHTS, Int.MAX_VALUE),
+        Snapshots.KIND_HIGHLIGHTS) { HighlightSnapshot.readAll(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsHugePlayerCount() {
+    val buffer = SnapshotWriter()
+        .putInt(0x53574953)
+        .putShort(Snapshots.VERSION)
+        .putByte(Snapshots.KIND_BOX_SCORE)
+        .putInt(3) // Status.
+        .putInt(107) // Home score.
+        .putInt(Int.MAX_VALUE / 4)
+        .toBuffer()
+
+    Snapshots.read(buffer, Snapshots.KIND_BOX_SCORE) { BoxScoreSnapshot.read(it) }
+  }
+
+  @Test(expected = SnapshotFormatException::class)
+  fun rejectsNegativeBroadcasterCount() {
+    val writer = SnapshotWriter()
+        .putInt(0x53574953)
+        .putShort(Snapshots.VERSION)
+        .putByte(Snapshots.KIND_GAMES_DAY)
+    GameSnapshot.writeAll(writer, listOf(game("1", null, mapOf("tv" to MediaSource(listOf())))))
+    val buffer = writer.toBuffer()
+    // The broadcaster count of the only media type is the last int written.
+    buffer.putInt(buffer.limit() - 4, -1)
+
+    Snapshots.read(buffer, Snapshots.KIND_GAMES_DAY) { GameSnapshot.readAll(it) }
+  }
+
+  private fun snapshotWithCount(kind: Byte, count: Int): ByteBuffer {
+    return SnapshotWriter()
+        .putInt(0x53574953)
+        .putShort(Snapshots.VERSION)
+        .putByte(kind)
+        .putInt(count)
+        .toBuffer()
+  }
+
+  private fun statLine(pid: Int?, fn: String?, ln: String?, pts: Int, pm: Int = 0): StatLine {
+    return StatLine(pts, 32, 4, 6, 5, 1, 1, 0, 2, 3, 2, 14, 7, 5, 2, 4, 3, pm, fn, ln, pid)
+  }
+
+  private fun game(
+      id: String,
+      seriesSummary: String?,
+      broadcasters: Map<String, MediaSource>
+  ): GameV2 {
+    return GameV2(
+        arena = "AT&T Center",
+        awayTeamAbbr = "MIA",
+        awayTeamCity = "Miami",
+        awayTeamId = "1610612748",
+        awayTeamKey = "MIA",
+        awayTeamNickname = "Heat",
+        awayTeamScore = "99",
+        broadcasters = broadcasters,
+        city = "San Antonio",
+        date = "20180110",
+        gameClock = "2:13",
+        gameStatus = "2",
+        homeTeamAbbr = "SAS",
+        homeTeamCity = "San Antonio",
+        homeTeamId = "1610612759",
+        homeTeamKey = "SAS",
+        homeTeamNickname = "Spurs",
+        homeTeamScore = "107",
+        id = id,
+        periodName = "Q",
+        periodStatus = "",
+        periodValue = "4",
+        time = "7:30 PM",
+        timeUtc = 1515633000,
+        totalPeriods = "4",
+        seriesSummary = seriesSummary)
+  }
+}
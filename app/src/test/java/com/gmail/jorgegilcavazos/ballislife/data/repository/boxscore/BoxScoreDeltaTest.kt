@@ -0,0 +1,74 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStatColumns
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BoxScoreDeltaTest {
+
+  @Test
+  fun everythingChangedWithoutPreviousBoxScore() {
+    val delta = BoxScoreDelta.between(null, stored(listOf(statLine(1, 10))))
+
+    assertTrue(delta.rosterChanged)
+    assertFalse(delta.isEmpty)
+  }
+
+  @Test
+  fun sameBoxScoreIsEmpty() {
+    val delta = BoxScoreDelta.between(
+        stored(listOf(statLine(1, 10), statLine(2, 4))),
+        stored(listOf(statLine(1, 10), statLine(2, 4))))
+
+    assertTrue(delta.isEmpty)
+  }
+
+  @Test
+  fun onlyChangedRowsAreListed() {
+    val delta = BoxScoreDelta.between(
+        stored(listOf(statLine(1, 10), statLine(2, 4), statLine(3, 0))),
+        stored(listOf(statLine(1, 10), statLine(2, 6), statLine(3, 0)), homeScore = 102))
+
+    assertFalse(delta.rosterChanged)
+    assertTrue(delta.scoreChanged)
+    assertEquals(1, delta.homeChanges.size)
+    assertEquals(listOf(1), delta.homeChanges)
+    assertEquals(6, delta.stats.home.stat(1, TeamStatColumns.PTS))
+    assertTrue(delta.visitorChanges.isEmpty())
+  }
+
+  @Test
+  fun differentPlayersChangeTheRoster() {
+    val delta = BoxScoreDelta.between(
+        stored(listOf(statLine(1, 10), statLine(2, 4))),
+        stored(listOf(statLine(2, 4), statLine(1, 10))))
+
+    assertTrue(delta.rosterChanged)
+  }
+
+  @Test
+  fun playersWithoutIdAreMatchedByName() {
+    val delta = BoxScoreDelta.between(
+        stored(listOf(statLine(null, 10))),
+        stored(listOf(statLine(null, 12))))
+
+    assertFalse(delta.rosterChanged)
+    assertEquals(1, delta.homeChanges.size)
+  }
+
+  private fun stored(homePlayers: List<StatLine>, homeScore: Int = 100): StoredBoxScore {
+    return StoredBoxScore("GAME_ID", 0, BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(homePlayers, homeScore), BoxScoreTeam(listOf(statLine(9, 20)), 98), 2)))
+  }
+
+  private fun statLine(pid: Int?, pts: Int): StatLine {
+    return StatLine(pts, 30, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        "First$pid", "Last$pid", pid)
+  }
+}
@@ -1,21 +1,36 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore
 
 import com.gmail.jorgegilcavazos.ballislife.data.firebase.remoteconfig.RemoteConfig
+import com.gmail.jorgegilcavazos.ballislife.data.service.CachePolicyInterceptor
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaService
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import com.gmail.jorgegilcavazos.ballislife.util.Constants
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
+import io.reactivex.Scheduler
 import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import io.reactivex.schedulers.TestScheduler
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.eq
+import org.mockito.ArgumentMatchers.nullable
 import org.mockito.Mock
+import org.mockito.Mockito
 import org.mockito.Mockito.`when`
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 import org.mockito.junit.MockitoJUnitRunner
+import java.util.concurrent.TimeUnit.MILLISECONDS
 
 @RunWith(MockitoJUnitRunner::class)
 class BoxScoreRepositoryImplTest {
@@ -23,6 +38,7 @@ class BoxScoreRepositoryImplTest {
 	@Mock private lateinit var mockNbaGamesService: NbaGamesService
 	@Mock private lateinit var mockNbaService: NbaService
   @Mock private lateinit var mockRemoteConfig: RemoteConfig
+  @Mock private lateinit var mockBoxScoreStore: BoxScoreLocalStore
 
 	private lateinit var repository: BoxScoreRepositoryImpl
 
@@ -33,18 +49,18 @@ class BoxScoreRepositoryImplTest {
     `when`(mockRemoteConfig.getBoolean(Constants.USE_SWISH_BACKEND_BOX_SCORE)).thenReturn(true)
 
 		repository = BoxScoreRepositoryImpl(mockNbaGamesService, mockNbaService,
-        TrampolineSchedulerProvider(), mockRemoteConfig)
+        TrampolineSchedulerProvider(), mockRemoteConfig, mockBoxScoreStore)
 	}
 
 	@Test
 	fun loadBoxScoreCacheAvailableDontForceNetwork() {
-		`when`(mockNbaGamesService.boxScore("GAME_ID"))
+		`when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
 				.thenReturn(Single.error(Exception()))
 		val boxScore = BoxScoreResponse(BoxScoreValues(
 				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
 		repository.saveBoxScoreInCache("GAME_ID", boxScore)
 
-		val testObserver = repository.boxScore("GAME_ID", false).test()
+		val testObserver = repository.boxScore("GAME_ID", null, false).test()
 
 		testObserver.assertValueCount(2)
 		testObserver.assertValueAt(0, { it.inProgress })
@@ -55,9 +71,10 @@ class BoxScoreRepositoryImplTest {
 	fun loadBoxScoreCacheNotAvailableDontForceNetwork() {
 		val boxScore = BoxScoreResponse(BoxScoreValues(
 				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
-		`when`(mockNbaGamesService.boxScore("GAME_ID")).thenReturn(Single.just(boxScore))
+		`when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+				.thenReturn(Single.just(boxScore))
 
-		val testObserver = repository.boxScore("GAME_ID", false).test()
+		val testObserver = repository.boxScore("GAME_ID", null, false).test()
 
 		testObserver.assertValueCount(3)
 		testObserver.assertValueAt(0, { it.inProgress })
@@ -69,9 +86,10 @@ class BoxScoreRepositoryImplTest {
 	fun loadBoxScoreForceNetworkSuccess() {
 		val boxScore = BoxScoreResponse(BoxScoreValues(
 				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
-		`when`(mockNbaGamesService.boxScore("GAME_ID")).thenReturn(Single.just(boxScore))
+		`when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+				.thenReturn(Single.just(boxScore))
 
-		val testObserver = repository.boxScore("GAME_ID", true).test()
+		val testObserver = repository.boxScore("GAME_ID", null, true).test()
 
 		testObserver.assertValueCount(2)
 		testObserver.assertValueAt(0, { it.inProgress })
@@ -80,12 +98,147 @@ class BoxScoreRepositoryImplTest {
 
 	@Test
 	fun loadBoxScoreForceNetworkNotAvailable() {
-		`when`(mockNbaGamesService.boxScore("GAME_ID")).thenReturn(Single.error(Exception()))
+		`when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+				.thenReturn(Single.error(Exception()))
 
-		val testObserver = repository.boxScore("GAME_ID", true).test()
+		val testObserver = repository.boxScore("GAME_ID", null, true).test()
 
 		testObserver.assertValueCount(2)
 		testObserver.assertValueAt(0, { it.inProgress })
 		testObserver.assertValueAt(1, { it.notAvailable })
 	}
-}
\ No newline at end of file
+
+  @Test
+  fun loadBoxScoreFromStoreWhenNotInMemory() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 100), BoxScoreTeam(listOf(), 98), 3))
+    `when`(mockBoxScoreStore.get("GAME_ID"))
+        .thenReturn(StoredBoxScore("GAME_ID", 0, boxScore))
+
+    val testObserver = repository.boxScore("GAME_ID", null, false).test()
+
+    testObserver.assertValueCount(2)
+    testObserver.assertValueAt(0, { it.inProgress })
+    testObserver.assertValueAt(1, { it.success && it.boxScore == boxScore })
+    verify(mockNbaGamesService, never()).boxScore(eq("GAME_ID"), anyCacheControl())
+  }
+
+  @Test
+  fun loadBoxScoreFromNetworkSavesToStore() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
+    `when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+        .thenReturn(Single.just(boxScore))
+
+    repository.boxScore("GAME_ID", null, true).test()
+    val testObserver = repository.boxScore("GAME_ID", null, false).test()
+
+    verify(mockBoxScoreStore).save(anyObject())
+    testObserver.assertValueAt(1, { it.success && it.boxScore == boxScore })
+    verify(mockNbaGamesService, times(1)).boxScore(eq("GAME_ID"), anyCacheControl())
+  }
+
+  @Test
+  fun finalBoxScoreNeverExpires() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 100), BoxScoreTeam(listOf(), 98), 3))
+
+    assertTrue(StoredBoxScore("GAME_ID", 0, boxScore).isFresh(System.currentTimeMillis()))
+  }
+
+  @Test
+  fun liveBoxScoreExpires() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 50), BoxScoreTeam(listOf(), 48), 2))
+    val stored = StoredBoxScore("GAME_ID", 1000, boxScore)
+
+    assertTrue(stored.isFresh(1000 + StoredBoxScore.LIVE_TTL_MS - 1))
+    assertFalse(stored.isFresh(1000 + StoredBoxScore.LIVE_TTL_MS))
+  }
+
+  @Test
+  fun boxScoreWithoutStatusIsFinalWhenGameIsOver() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 100), BoxScoreTeam(listOf(), 98)))
+
+    assertFalse(StoredBoxScore("GAME_ID", 0, boxScore).isFinal)
+    assertTrue(StoredBoxScore("GAME_ID", 0, boxScore, NbaGame.POST_GAME).isFinal)
+  }
+
+  @Test
+  fun liveBoxScoreNotPolledBeforeGame() {
+    val testScheduler = TestScheduler()
+    repository = createRepository(testScheduler)
+
+    val testObserver = repository.liveBoxScore("GAME_ID", NbaGame.PRE_GAME).test()
+    testScheduler.advanceTimeBy(BoxScoreRepositoryImpl.LIVE_POLL_INTERVAL_MS, MILLISECONDS)
+
+    testObserver.assertNoValues()
+    testObserver.assertComplete()
+    verify(mockNbaGamesService, never()).boxScore(eq("GAME_ID"), anyCacheControl())
+  }
+
+  @Test
+  fun liveBoxScoreStopsWhenGameIsOver() {
+    val testScheduler = TestScheduler()
+    repository = createRepository(testScheduler)
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 100), BoxScoreTeam(listOf(), 98), 3))
+    `when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+        .thenReturn(Single.just(boxScore))
+
+    val testObserver = repository.liveBoxScore("GAME_ID", NbaGame.IN_GAME).test()
+    testScheduler.advanceTimeBy(BoxScoreRepositoryImpl.LIVE_POLL_INTERVAL_MS * 3, MILLISECONDS)
+
+    testObserver.assertValueCount(1)
+    testObserver.assertComplete()
+    verify(mockNbaGamesService, times(1)).boxScore(eq("GAME_ID"), anyCacheControl())
+  }
+
+  @Test
+  fun liveBoxScoreWithoutStatusStopsWhenUnchanged() {
+    val testScheduler = TestScheduler()
+    repository = createRepository(testScheduler)
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 50), BoxScoreTeam(listOf(), 48)))
+    `when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+        .thenReturn(Single.just(boxScore))
+
+    val testObserver = repository.liveBoxScore("GAME_ID", NbaGame.IN_GAME).test()
+    testScheduler.advanceTimeBy(
+        BoxScoreRepositoryImpl.LIVE_POLL_INTERVAL_MS *
+            (BoxScoreRepositoryImpl.LIVE_MAX_UNCHANGED_POLLS + 1),
+        MILLISECONDS)
+    testObserver.assertNotComplete()
+    testScheduler.advanceTimeBy(BoxScoreRepositoryImpl.LIVE_POLL_INTERVAL_MS, MILLISECONDS)
+
+    testObserver.assertValueCount(1)
+    testObserver.assertComplete()
+  }
+
+  @Test
+  fun forcedBoxScoreSkipsTheHttpCache() {
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
+    `when`(mockNbaGamesService.boxScore(eq("GAME_ID"), anyCacheControl()))
+        .thenReturn(Single.just(boxScore))
+
+    repository.boxScore("GAME_ID", null, true).test()
+
+    verify(mockNbaGamesService).boxScore("GAME_ID", CachePolicyInterceptor.NO_CACHE)
+  }
+
+  private fun createRepository(computation: Scheduler): BoxScoreRepositoryImpl {
+    val schedulerProvider = object : BaseSchedulerProvider {
+      override fun computation(): Scheduler = computation
+      override fun io(): Scheduler = Schedulers.trampoline()
+      override fun ui(): Scheduler = Schedulers.trampoline()
+    }
+    return BoxScoreRepositoryImpl(mockNbaGamesService, mockNbaService, schedulerProvider,
+        mockRemoteConfig, mockBoxScoreStore)
+  }
+
+  private fun anyCacheControl(): String? = nullable(String::class.java)
+
+  private fun <T> anyObject(): T = Mockito.anyObject<T>()
+}
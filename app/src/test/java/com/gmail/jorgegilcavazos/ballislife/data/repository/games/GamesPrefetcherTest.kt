@@ -0,0 +1,89 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
+import com.nhaarman.mockito_kotlin.any
+import io.reactivex.Completable
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.Mock
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.MockitoAnnotations
+import org.mockito.junit.MockitoJUnitRunner
+import java.util.*
+
+@RunWith(MockitoJUnitRunner::class)
+class GamesPrefetcherTest {
+
+  @Mock private lateinit var gamesRepository: GamesRepository
+
+  private lateinit var prefetcher: GamesPrefetcher
+
+  @Before
+  fun setup() {
+    MockitoAnnotations.initMocks(this)
+
+    prefetcher = GamesPrefetcher(gamesRepository, TrampolineSchedulerProvider())
+  }
+
+  @Test
+  fun windowExcludesTheCurrentDay() {
+    `when`(gamesRepository.prefetchGames(any(), any())).thenReturn(Completable.complete())
+    val date = Calendar.getInstance()
+
+    prefetcher.prefetchAround(date)
+
+    val startCaptor = ArgumentCaptor.forClass(Calendar::class.java)
+    val endCaptor = ArgumentCaptor.forClass(Calendar::class.java)
+    verify(gamesRepository, times(2)).prefetchGames(startCaptor.capture(), endCaptor.capture())
+    val ranges = startCaptor.allValues.zip(endCaptor.allValues) { start, end ->
+      dayStart(start) to dayStart(end)
+    }
+    assertEquals(listOf(
+        dayStart(date, -GamesPrefetcher.DEFAULT_PREFETCH_DAYS) to dayStart(date, -1),
+        dayStart(date, 1) to dayStart(date, GamesPrefetcher.DEFAULT_PREFETCH_DAYS)), ranges)
+  }
+
+  @Test
+  fun prefetchAroundCancelsThePreviousWindow() {
+    var firstWindowDisposed = false
+    `when`(gamesRepository.prefetchGames(any(), any()))
+        .thenReturn(Completable.never().doOnDispose { firstWindowDisposed = true })
+        .thenReturn(Completable.never())
+    val date = Calendar.getInstance()
+
+    prefetcher.prefetchAround(date)
+    assertFalse(firstWindowDisposed)
+    val farDate = date.clone() as Calendar
+    farDate.add(Calendar.DAY_OF_YEAR, GamesPrefetcher.DEFAULT_PREFETCH_DAYS + 1)
+    prefetcher.prefetchAround(farDate)
+
+    assertTrue(firstWindowDisposed)
+  }
+
+  @Test
+  fun prefetchAroundKeepsAWindowThatCoversTheDate() {
+    `when`(gamesRepository.prefetchGames(any(), any())).thenReturn(Completable.never())
+    val date = Calendar.getInstance()
+
+    prefetcher.prefetchAround(date)
+    val nextDate = date.clone() as Calendar
+    nextDate.add(Calendar.DAY_OF_YEAR, 1)
+    prefetcher.prefetchAround(nextDate)
+
+    verify(gamesRepository, times(2)).prefetchGames(any(), any())
+  }
+
+  private fun dayStart(date: Calendar, days: Int = 0): Long {
+    val day = date.clone() as Calendar
+    day.add(Calendar.DAY_OF_YEAR, days)
+    return DateFormatUtil.getDateStartUtc(day)
+  }
+}
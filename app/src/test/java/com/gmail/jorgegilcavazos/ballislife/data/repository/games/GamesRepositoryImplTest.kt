@@ -1,10 +1,16 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.games
 
 import com.gmail.jorgegilcavazos.ballislife.data.actions.games.GamesResult
+import com.gmail.jorgegilcavazos.ballislife.data.service.CachePolicyInterceptor
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
+import io.reactivex.Scheduler
 import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import io.reactivex.schedulers.TestScheduler
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -14,11 +20,14 @@ import org.mockito.MockitoAnnotations
 import org.mockito.junit.MockitoJUnitRunner
 import java.net.SocketTimeoutException
 import java.util.*
+import java.util.concurrent.TimeUnit
 
 @RunWith(MockitoJUnitRunner::class)
 class GamesRepositoryImplTest {
 
   @Mock private lateinit var gamesService: NbaGamesService
+  @Mock private lateinit var gamesStore: GamesLocalStore
+  @Mock private lateinit var seriesRepository: PlayoffSeriesRepository
 
   private lateinit var repository: GamesRepositoryImpl
 
@@ -26,14 +35,17 @@ class GamesRepositoryImplTest {
   fun setup() {
     MockitoAnnotations.initMocks(this)
 
-    repository = GamesRepositoryImpl(gamesService, TrampolineSchedulerProvider())
+    `when`(seriesRepository.seriesSummaries()).thenReturn(Single.just(SeriesSummaries.EMPTY))
+
+    repository = GamesRepositoryImpl(
+        gamesService, gamesStore, seriesRepository, TrampolineSchedulerProvider())
   }
 
   @Test
   fun gamesWithCacheEmpty() {
     val game1 = createGame("1")
     val response = hashMapOf("9f0ji2" to game1)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
 
     val testObserver = repository.games(Calendar.getInstance(), false).test()
@@ -51,7 +63,7 @@ class GamesRepositoryImplTest {
     val game2 = createGame("2")
     val game4 = createGame("4")
     val response = hashMapOf("9f0i2" to game3, "fuewe" to game1, "82hf2" to game2, "fjwoe" to game4)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
 
     val testObserver = repository.games(Calendar.getInstance(), false).test()
@@ -68,7 +80,7 @@ class GamesRepositoryImplTest {
     val game1 = createGame("1", calendar)
     val game2 = createGame("2", calendar)
     val response = hashMapOf("9f0ji2" to game1, "owei" to game2)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
     repository.saveGamesInCache(hashMapOf("9f0ji2" to game1), true)
 
@@ -84,7 +96,7 @@ class GamesRepositoryImplTest {
   fun gamesSkipCacheIfForceNetwork() {
     val game1 = createGame("1")
     val response = hashMapOf("9f0ji2" to game1)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
 
     val testObserver = repository.games(Calendar.getInstance(), true /* forceNetwork */).test()
@@ -96,7 +108,7 @@ class GamesRepositoryImplTest {
   @Test
   fun cachedGamesDeliveredBeforeNetworkErrors() {
     val exception = SocketTimeoutException()
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.error(exception))
 
     val testObserver = repository.games(Calendar.getInstance(), false).test()
@@ -111,7 +123,7 @@ class GamesRepositoryImplTest {
   fun loadGamesWithCacheEmptyResult() {
     val game1 = createGame("1")
     val response = hashMapOf("9f0ji2" to game1)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
 
     val testObserver = repository.loadGames(Calendar.getInstance(), false).test()
@@ -128,7 +140,7 @@ class GamesRepositoryImplTest {
     val game1 = createGame("1")
     val response = hashMapOf("9f0ji2" to game1)
     repository.saveGamesInCache(response)
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(response))
 
     val testObserver = repository.loadGames(Calendar.getInstance(), false).test()
@@ -143,7 +155,7 @@ class GamesRepositoryImplTest {
 
   @Test
   fun loadGamesWithNonAvailableResult() {
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.just(emptyMap()))
 
     val testObserver = repository.loadGames(Calendar.getInstance(), false).test()
@@ -157,7 +169,7 @@ class GamesRepositoryImplTest {
   @Test
   fun loadGamesFailureResult() {
     val error = Exception()
-    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
         .thenReturn(Single.error(error))
 
     val testObserver = repository.loadGames(Calendar.getInstance(), false).test()
@@ -169,6 +181,227 @@ class GamesRepositoryImplTest {
     testObserver.assertValueAt(3, { (it as GamesResult.LoadGamesResult.Failure).t == error })
   }
 
+  @Test
+  fun loadGamesReadsStoredGamesWhenMemoryEmpty() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    val storedDay = StoredDay(DateFormatUtil.getDateStartUtc(calendar), 0, listOf(game1))
+    `when`(gamesStore.getDay(anyLong())).thenReturn(storedDay)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+
+    val testObserver = repository.loadGames(calendar, false).test()
+
+    testObserver.assertValueAt(0, { it is GamesResult.LoadGamesResult.MemoryInProgress })
+    testObserver.assertValueAt(1, {
+      (it as GamesResult.LoadGamesResult.Success).games == listOf(game1)
+    })
+    testObserver.assertValueAt(2, { it is GamesResult.LoadGamesResult.NetworkInProgress })
+  }
+
+  @Test
+  fun loadGamesSkipsNetworkWhenDayIsFinal() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to game1))
+    `when`(gamesStore.isDayFinal(anyLong())).thenReturn(true)
+
+    val testObserver = repository.loadGames(calendar, false).test()
+
+    testObserver.assertValueCount(2)
+    testObserver.assertValueAt(1, { it is GamesResult.LoadGamesResult.Success })
+    testObserver.assertComplete()
+    verify(gamesService, never()).getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl())
+  }
+
+  @Test
+  fun loadGamesFromNetworkSavedToStore() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    val response = hashMapOf("9f0ji2" to game1)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(response))
+
+    repository.loadGames(calendar, true).test()
+
+    verify(gamesStore).saveDay(DateFormatUtil.getDateStartUtc(calendar), response.values)
+  }
+
+  @Test
+  fun loadGamesRangeSplitsByDay() {
+    val today = Calendar.getInstance()
+    val tomorrow = Calendar.getInstance()
+    tomorrow.add(Calendar.DAY_OF_YEAR, 1)
+    val game1 = createGame("1", today)
+    val game2 = createGame("2", tomorrow)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1, "owei" to game2)))
+
+    val dayAfterTomorrow = Calendar.getInstance()
+    dayAfterTomorrow.add(Calendar.DAY_OF_YEAR, 2)
+    val testObserver = repository.loadGames(today, dayAfterTomorrow).test()
+
+    testObserver.assertValue(mapOf(
+        DateFormatUtil.getDateStartUtc(today) to listOf(game1),
+        DateFormatUtil.getDateStartUtc(tomorrow) to listOf(game2),
+        DateFormatUtil.getDateStartUtc(dayAfterTomorrow) to emptyList()))
+    verify(gamesService, times(1)).getDayGames(
+        anyString(),
+        eq(DateFormatUtil.getDateStartUtc(today)),
+        eq(DateFormatUtil.getDateEndUtc(dayAfterTomorrow)),
+        anyCacheControl())
+    verify(gamesStore).saveDay(DateFormatUtil.getDateStartUtc(tomorrow), listOf(game2))
+  }
+
+  @Test
+  fun prefetchGamesFetchesUncachedDays() {
+    val today = Calendar.getInstance()
+    val tomorrow = Calendar.getInstance()
+    tomorrow.add(Calendar.DAY_OF_YEAR, 1)
+    val game1 = createGame("1", tomorrow)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+    repository.saveGamesInCache(hashMapOf("owei" to createGame("2", today)))
+
+    repository.prefetchGames(today, tomorrow).test().assertComplete()
+
+    // Today is cached, so only tomorrow is requested.
+    verify(gamesService).getDayGames(
+        anyString(),
+        eq(DateFormatUtil.getDateStartUtc(tomorrow)),
+        eq(DateFormatUtil.getDateEndUtc(tomorrow)),
+        anyCacheControl())
+    repository.loadGames(tomorrow, false).test()
+        .assertValueAt(1, { it is GamesResult.LoadGamesResult.Success })
+  }
+
+  @Test
+  fun prefetchGamesSkipsCachedDays() {
+    val calendar = Calendar.getInstance()
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", calendar)))
+
+    repository.prefetchGames(calendar, calendar).test().assertComplete()
+
+    verify(gamesService, never()).getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl())
+  }
+
+  @Test
+  fun applyScoreUpdatesChangesCachedGames() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to game1))
+    val updatesObserver = repository.gameUpdates().test()
+
+    repository.applyScoreUpdates(listOf(
+        ScoreUpdate("1", homeTeamScore = "50", awayTeamScore = "48", gameClock = "2:31"),
+        ScoreUpdate("3", homeTeamScore = "10")))
+
+    val updatedGame1 = game1.copy(homeTeamScore = "50", awayTeamScore = "48", gameClock = "2:31")
+    updatesObserver.assertValue(listOf(updatedGame1))
+    verify(gamesStore).saveDay(DateFormatUtil.getDateStartUtc(calendar), listOf(updatedGame1))
+  }
+
+  @Test
+  fun applyScoreUpdatesWithoutChangesEmitsNothing() {
+    val game1 = createGame("1")
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to game1))
+    val updatesObserver = repository.gameUpdates().test()
+
+    repository.applyScoreUpdates(listOf(ScoreUpdate("1", awayTeamScore = game1.awayTeamScore)))
+
+    updatesObserver.assertNoValues()
+    verify(gamesStore, never()).saveDay(anyLong(), anyCollection())
+  }
+
+  @Test
+  fun loadGamesSetsSeriesSummary() {
+    val game1 = createGame("1").copy(homeTeamAbbr = "GSW")
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+    `when`(seriesRepository.seriesSummaries()).thenReturn(Single.just(SeriesSummaries(listOf(
+        MatchUp(team1 = "SAS", team2 = "GSW", team1_wins = 1, team2_wins = 3)))))
+
+    val testObserver = repository.loadGames(Calendar.getInstance(), true).test()
+
+    testObserver.assertValueAt(1, {
+      (it as GamesResult.LoadGamesResult.Success).games[0].seriesSummary == "GSW leads 3-1"
+    })
+  }
+
+  @Test
+  fun loadGamesWithoutSeriesSummaryIfItFails() {
+    val game1 = createGame("1")
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+    `when`(seriesRepository.seriesSummaries()).thenReturn(Single.error(Exception()))
+
+    val testObserver = repository.loadGames(Calendar.getInstance(), true).test()
+
+    testObserver.assertValueAt(1, {
+      (it as GamesResult.LoadGamesResult.Success).games == listOf(game1)
+    })
+  }
+
+  @Test
+  fun gamesNotHeldBackBySlowSeriesSummaries() {
+    val testScheduler = TestScheduler()
+    repository = GamesRepositoryImpl(
+        gamesService, gamesStore, seriesRepository, createSchedulerProvider(testScheduler))
+    val game1 = createGame("1").copy(homeTeamAbbr = "GSW")
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+    `when`(seriesRepository.seriesSummaries()).thenReturn(Single.never())
+
+    val testObserver = repository.refreshGames(Calendar.getInstance()).test()
+    testScheduler.advanceTimeBy(
+        GamesRepositoryImpl.SERIES_SUMMARIES_TIMEOUT_MS - 1, TimeUnit.MILLISECONDS)
+    testObserver.assertNoValues()
+    testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS)
+
+    testObserver.assertValue { it == listOf(game1) && it[0].seriesSummary == null }
+  }
+
+  @Test
+  fun refreshGamesEmitsChangedGames() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    val game2 = createGame("2", calendar)
+    val updatedGame2 = game2.copy(homeTeamScore = "20")
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to game1, "owei" to game2))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1, "owei" to updatedGame2)))
+    val updatesObserver = repository.gameUpdates().test()
+
+    repository.refreshGames(calendar).test().assertValue { it.size == 2 }
+
+    updatesObserver.assertValue(listOf(updatedGame2))
+  }
+
+  @Test
+  fun forcedAndPolledRefreshesSkipTheHttpCache() {
+    val calendar = Calendar.getInstance()
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong(), anyCacheControl()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to createGame("1"))))
+
+    repository.loadGames(calendar, false).test()
+    verify(gamesService).getDayGames(anyString(), anyLong(), anyLong(), isNull())
+    repository.loadGames(calendar, true).test()
+    repository.refreshGames(calendar).test()
+
+    verify(gamesService, times(2))
+        .getDayGames(anyString(), anyLong(), anyLong(), eq(CachePolicyInterceptor.NO_CACHE))
+  }
+
+  private fun anyCacheControl(): String? = nullable(String::class.java)
+
+  private fun createSchedulerProvider(computation: Scheduler): BaseSchedulerProvider {
+    return object : BaseSchedulerProvider {
+      override fun computation(): Scheduler = computation
+      override fun io(): Scheduler = Schedulers.trampoline()
+      override fun ui(): Scheduler = Schedulers.trampoline()
+    }
+  }
+
   private fun createGame(id: String, calendar: Calendar = Calendar.getInstance()): GameV2 {
     return GameV2(
         arena = "AT&T",
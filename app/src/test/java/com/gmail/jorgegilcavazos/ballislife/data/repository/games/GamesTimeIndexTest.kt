@@ -0,0 +1,100 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+
+class GamesTimeIndexTest {
+
+  private lateinit var index: GamesTimeIndex
+
+  @Before
+  fun setup() {
+    index = GamesTimeIndex()
+  }
+
+  @Test
+  fun betweenReturnsGamesInRangeSortedByTime() {
+    val game1 = createGame("1", 100)
+    val game2 = createGame("2", 200)
+    val game3 = createGame("3", 300)
+    index.putAll(listOf(game3, game1, game2))
+
+    assertEquals(listOf(game1, game2), index.between(100, 300))
+    assertEquals(listOf(game2, game3), index.between(150, 301))
+    assertEquals(emptyList<GameV2>(), index.between(301, 400))
+  }
+
+  @Test
+  fun putReplacesGameWithSameId() {
+    val game1 = createGame("1", 100)
+    val movedGame1 = createGame("1", 500)
+    index.put(game1)
+    index.put(movedGame1)
+
+    assertEquals(1, index.size())
+    assertEquals(movedGame1, index["1"])
+    assertEquals(emptyList<GameV2>(), index.between(0, 200))
+    assertEquals(listOf(movedGame1), index.between(400, 600))
+  }
+
+  @Test
+  fun keepsGamesWithSameTime() {
+    val game1 = createGame("1", 100)
+    val game2 = createGame("2", 100)
+    index.putAll(listOf(game1, game2))
+
+    assertEquals(listOf(game1, game2), index.between(100, 101))
+  }
+
+  @Test
+  fun growsPastInitialCapacity() {
+    val games = (0 until 1300).map { createGame(it.toString(), (1300 - it).toLong()) }
+    index.putAll(games)
+
+    assertEquals(1300, index.size())
+    assertEquals(games.reversed(), index.between(0, 2000))
+  }
+
+  @Test
+  fun clearRemovesEverything() {
+    index.put(createGame("1", 100))
+    index.clear()
+
+    assertEquals(0, index.size())
+    assertNull(index["1"])
+    assertEquals(emptyList<GameV2>(), index.between(0, 200))
+  }
+
+  private fun createGame(id: String, timeUtc: Long): GameV2 {
+    return GameV2(
+        arena = "",
+        awayTeamAbbr = "",
+        awayTeamCity = "",
+        awayTeamId = "",
+        awayTeamKey = "",
+        awayTeamNickname = "",
+        awayTeamScore = "",
+        city = "",
+        date = "",
+        gameClock = "",
+        gameStatus = "",
+        homeTeamAbbr = "",
+        homeTeamCity = "",
+        homeTeamId = "",
+        homeTeamKey = "",
+        homeTeamNickname = "",
+        homeTeamScore = "",
+        id = id,
+        periodName = "",
+        periodStatus = "",
+        periodValue = "",
+        time = "",
+        timeUtc = timeUtc,
+        totalPeriods = "",
+        broadcasters = mapOf(),
+        seriesSummary = null)
+  }
+}
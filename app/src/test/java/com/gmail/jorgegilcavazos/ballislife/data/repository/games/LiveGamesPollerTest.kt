@@ -0,0 +1,176 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Scheduler
+import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import io.reactivex.schedulers.TestScheduler
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import java.util.Calendar
+import java.util.concurrent.TimeUnit
+
+class LiveGamesPollerTest {
+
+  private val now = 1524000000L
+
+  @Test
+  fun pollsOftenInFourthQuarter() {
+    val games = listOf(
+        createGame(NbaGame.IN_GAME, periodValue = "2"),
+        createGame(NbaGame.IN_GAME, periodValue = "4"))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(10), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun pollsOftenInOvertime() {
+    val games = listOf(createGame(NbaGame.IN_GAME, periodValue = "5"))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(10), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun pollsRegularlyDuringGame() {
+    val games = listOf(
+        createGame(NbaGame.IN_GAME, periodValue = "1"),
+        createGame(NbaGame.IN_GAME, periodValue = "2", periodStatus = "Halftime"),
+        createGame(NbaGame.POST_GAME, periodValue = "4"))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(20), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun pollsSlowlyAtHalftime() {
+    val games = listOf(createGame(NbaGame.IN_GAME, periodValue = "2", periodStatus = "Halftime"))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(60), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun waitsUntilNextGameStarts() {
+    val games = listOf(
+        createGame(NbaGame.PRE_GAME, timeUtc = now + 120),
+        createGame(NbaGame.PRE_GAME, timeUtc = now + 60))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(60), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun waitIsCappedForGamesFarAhead() {
+    val games = listOf(createGame(NbaGame.PRE_GAME, timeUtc = now + 3600))
+
+    assertEquals(TimeUnit.MINUTES.toMillis(5), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun pollsGamesThatShouldHaveStarted() {
+    val games = listOf(createGame(NbaGame.PRE_GAME, timeUtc = now - 60))
+
+    assertEquals(TimeUnit.SECONDS.toMillis(30), LiveGamesPoller.pollIntervalMs(games, now))
+  }
+
+  @Test
+  fun stopsWhenAllGamesAreFinal() {
+    val games = listOf(createGame(NbaGame.POST_GAME), createGame(NbaGame.POST_GAME))
+
+    assertNull(LiveGamesPoller.pollIntervalMs(games, now))
+    assertNull(LiveGamesPoller.pollIntervalMs(emptyList(), now))
+  }
+
+  @Test
+  fun backoffGrowsAndIsCapped() {
+    assertEquals(TimeUnit.SECONDS.toMillis(20), LiveGamesPoller.backoffMs(1))
+    assertEquals(TimeUnit.SECONDS.toMillis(40), LiveGamesPoller.backoffMs(2))
+    assertEquals(TimeUnit.SECONDS.toMillis(160), LiveGamesPoller.backoffMs(4))
+    assertEquals(TimeUnit.MINUTES.toMillis(5), LiveGamesPoller.backoffMs(10))
+  }
+
+  @Test
+  fun uncachedFinishedDayIsNotRefreshed() {
+    val gamesRepository = mock(GamesRepository::class.java)
+    val testScheduler = TestScheduler()
+    val date = Calendar.getInstance()
+    // Cached by the screen's own load while the poller waits.
+    `when`(gamesRepository.cachedGames(date)).thenReturn(
+        Single.just(emptyList()), Single.just(listOf(createGame(NbaGame.POST_GAME))))
+    val poller = LiveGamesPoller(gamesRepository, createSchedulerProvider(testScheduler))
+
+    poller.start(date)
+    testScheduler.advanceTimeBy(10, TimeUnit.MINUTES)
+
+    verify(gamesRepository, never()).refreshGames(date)
+    poller.stop()
+  }
+
+  @Test
+  fun uncachedLiveDayIsPolledOnceLoaded() {
+    val gamesRepository = mock(GamesRepository::class.java)
+    val testScheduler = TestScheduler()
+    val date = Calendar.getInstance()
+    val liveGames = listOf(createGame(NbaGame.IN_GAME, periodValue = "1"))
+    `when`(gamesRepository.cachedGames(date))
+        .thenReturn(Single.just(emptyList()), Single.just(liveGames))
+    `when`(gamesRepository.refreshGames(date)).thenReturn(Single.just(liveGames))
+    val poller = LiveGamesPoller(gamesRepository, createSchedulerProvider(testScheduler))
+
+    poller.start(date)
+    testScheduler.advanceTimeBy(20, TimeUnit.SECONDS)
+    verify(gamesRepository, never()).refreshGames(date)
+
+    // Then polled as usual for the live game that was loaded.
+    testScheduler.advanceTimeBy(20, TimeUnit.SECONDS)
+    verify(gamesRepository, times(1)).refreshGames(date)
+    poller.stop()
+  }
+
+  private fun createSchedulerProvider(computation: Scheduler): BaseSchedulerProvider {
+    return object : BaseSchedulerProvider {
+      override fun computation(): Scheduler = computation
+      override fun io(): Scheduler = Schedulers.trampoline()
+      override fun ui(): Scheduler = Schedulers.trampoline()
+    }
+  }
+
+  private fun createGame(
+      gameStatus: String,
+      periodValue: String = "",
+      periodStatus: String = "",
+      timeUtc: Long = now): GameV2 {
+    return GameV2(
+        arena = "",
+        awayTeamAbbr = "",
+        awayTeamCity = "",
+        awayTeamId = "",
+        awayTeamKey = "",
+        awayTeamNickname = "",
+        awayTeamScore = "",
+        city = "",
+        date = "",
+        gameClock = "",
+        gameStatus = gameStatus,
+        homeTeamAbbr = "",
+        homeTeamCity = "",
+        homeTeamId = "",
+        homeTeamKey = "",
+        homeTeamNickname = "",
+        homeTeamScore = "",
+        id = "",
+        periodName = "",
+        periodStatus = periodStatus,
+        periodValue = periodValue,
+        time = "",
+        timeUtc = timeUtc,
+        totalPeriods = "",
+        broadcasters = mapOf(),
+        seriesSummary = null)
+  }
+}
@@ -0,0 +1,44 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.google.gson.Gson
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ScoreUpdateTest {
+
+  private val gson = Gson()
+
+  @Test
+  fun parseAllReadsShortKeys() {
+    val json = "[{\"id\":\"0021700001\",\"hs\":\"98\",\"as\":\"100\",\"st\":\"2\"," +
+        "\"gc\":\"5:12\",\"pv\":\"4\",\"ps\":\"\",\"pn\":\"Qtr\"},{\"id\":\"0021700002\"}]"
+
+    val updates = ScoreUpdate.parseAll(gson, json)
+
+    assertEquals(listOf(
+        ScoreUpdate("0021700001", "98", "100", "2", "5:12", "4", "", "Qtr"),
+        ScoreUpdate("0021700002")), updates)
+  }
+
+  @Test
+  fun parseAllWithEmptyPayload() {
+    assertTrue(ScoreUpdate.parseAll(gson, "[]").isEmpty())
+    assertTrue(ScoreUpdate.parseAll(gson, "").isEmpty())
+    assertTrue(ScoreUpdate.parseAll(gson, null).isEmpty())
+  }
+
+  @Test
+  fun parseAllWithMalformedPayload() {
+    assertTrue(ScoreUpdate.parseAll(gson, "[{\"id\":").isEmpty())
+    assertTrue(ScoreUpdate.parseAll(gson, "{\"id\":\"0021700001\"}").isEmpty())
+    assertTrue(ScoreUpdate.parseAll(gson, "scores").isEmpty())
+  }
+
+  @Test
+  fun parseAllDropsUpdatesWithoutGameId() {
+    val updates = ScoreUpdate.parseAll(gson, "[null,{\"hs\":\"98\"},{\"id\":\"0021700001\"}]")
+
+    assertEquals(listOf(ScoreUpdate("0021700001")), updates)
+  }
+}
@@ -0,0 +1,35 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SeriesSummariesTest {
+
+  @Test
+  fun summaryFoundRegardlessOfTeamOrder() {
+    val summaries = SeriesSummaries(listOf(
+        MatchUp(team1 = "HOU", team2 = "UTA", team1_wins = 2, team2_wins = 2)))
+
+    assertEquals("Series tied 2-2", summaries.summaryFor("HOU", "UTA"))
+    assertEquals("Series tied 2-2", summaries.summaryFor("UTA", "HOU"))
+  }
+
+  @Test
+  fun summaryOfLeadingAndWinningTeams() {
+    val summaries = SeriesSummaries(listOf(
+        MatchUp(team1 = "HOU", team2 = "UTA", team1_wins = 3, team2_wins = 1),
+        MatchUp(team1 = "BOS", team2 = "PHI", team1_wins = 1, team2_wins = 4)))
+
+    assertEquals("HOU leads 3-1", summaries.summaryFor("UTA", "HOU"))
+    assertEquals("PHI wins 4-1", summaries.summaryFor("BOS", "PHI"))
+  }
+
+  @Test
+  fun noSummaryForTeamsNotFacingEachOther() {
+    val summaries = SeriesSummaries(listOf(
+        MatchUp(team1 = "HOU", team2 = "UTA", team1_wins = 3, team2_wins = 1)))
+
+    assertNull(summaries.summaryFor("HOU", "BOS"))
+  }
+}
@@ -3,6 +3,7 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
@@ -10,6 +11,8 @@ import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
 import io.reactivex.Completable
 import io.reactivex.Single
+import net.dean.jraw.RedditClient
+import net.dean.jraw.models.Comment
 import net.dean.jraw.models.CommentSort
 import net.dean.jraw.models.Submission
 import org.junit.Before
@@ -17,6 +20,7 @@ import org.junit.Test
 import org.mockito.Mock
 import org.mockito.Mockito.`when`
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 
 class GameThreadsRepositoryImplTest {
@@ -26,11 +30,14 @@ class GameThreadsRepositoryImplTest {
     val SUBMISSION_TITLE = "Game Thread: Spurs @ Warriors"
     val SUBMISSION_ID_2 = "submissionId2"
     val SUBMISSION_TITLE_2 = "Game Thread: Warriors @ Spurs"
+    val SUBREDDIT = "nba"
   }
 
   @Mock private lateinit var mockRedditGameThreadsService: RedditGameThreadsService
   @Mock private lateinit var mockSubmissionRepository: SubmissionRepository
   @Mock private lateinit var mockRedditAuthentication: RedditAuthentication
+  @Mock private lateinit var mockRedditService: RedditService
+  @Mock private lateinit var mockRedditClient: RedditClient
 
   private lateinit var gameThreadsRepository: GameThreadsRepositoryImpl
 
@@ -39,11 +46,13 @@ class GameThreadsRepositoryImplTest {
     MockitoAnnotations.initMocks(this)
 
     `when`(mockRedditAuthentication.authenticate()).thenReturn(Completable.complete())
+    `when`(mockRedditAuthentication.redditClient).thenReturn(mockRedditClient)
 
     gameThreadsRepository = GameThreadsRepositoryImpl(
         mockRedditGameThreadsService,
         mockSubmissionRepository,
         mockRedditAuthentication,
+        mockRedditService,
         TrampolineSchedulerProvider())
   }
 
@@ -335,11 +344,67 @@ class GameThreadsRepositoryImplTest {
     testObserver.assertValueAt(1, { it.notFound })
   }
 
+  @Test
+  fun newCommentsOfOtherThreadsAreSkipped() {
+    val submission = prepareMockSubmission(SUBMISSION_ID, SUBMISSION_TITLE)
+    val comment1 = prepareMockComment("c1", SUBMISSION_ID)
+    val comment2 = prepareMockComment("c2", SUBMISSION_ID_2)
+    val comment3 = prepareMockComment("c3", SUBMISSION_ID)
+    `when`(mockRedditService.getNewComments(
+        mockRedditClient, SUBREDDIT, "t1_c0", GameThreadsRepositoryImpl.NEW_COMMENTS_LIMIT))
+        .thenReturn(Single.just(listOf(comment3, comment2, comment1)))
+
+    val testObserver = gameThreadsRepository.newComments(submission, "t1_c0").test()
+
+    testObserver.assertValue(LiveComments(listOf(comment1, comment3), "t1_c3"))
+  }
+
+  @Test
+  fun newCommentsArePagedUntilTheNewest() {
+    val submission = prepareMockSubmission(SUBMISSION_ID, SUBMISSION_TITLE)
+    // Newest first, as listed by reddit.
+    val fullPage = (GameThreadsRepositoryImpl.NEW_COMMENTS_LIMIT downTo 1)
+        .map { prepareMockComment("c$it", SUBMISSION_ID) }
+    val newest = prepareMockComment("c101", SUBMISSION_ID)
+    `when`(mockRedditService.getNewComments(
+        mockRedditClient, SUBREDDIT, "t1_c0", GameThreadsRepositoryImpl.NEW_COMMENTS_LIMIT))
+        .thenReturn(Single.just(fullPage))
+    `when`(mockRedditService.getNewComments(
+        mockRedditClient, SUBREDDIT, "t1_c100", GameThreadsRepositoryImpl.NEW_COMMENTS_LIMIT))
+        .thenReturn(Single.just(listOf(newest)))
+
+    val testObserver = gameThreadsRepository.newComments(submission, "t1_c0").test()
+
+    testObserver.assertValue(LiveComments(fullPage.asReversed() + newest, "t1_c101"))
+  }
+
+  @Test
+  fun noNewCommentsKeepsTheCursor() {
+    val submission = prepareMockSubmission(SUBMISSION_ID, SUBMISSION_TITLE)
+    `when`(mockRedditService.getNewComments(
+        mockRedditClient, SUBREDDIT, "t1_c0", GameThreadsRepositoryImpl.NEW_COMMENTS_LIMIT))
+        .thenReturn(Single.just(emptyList()))
+
+    val testObserver = gameThreadsRepository.newComments(submission, "t1_c0").test()
+
+    testObserver.assertValue(LiveComments(emptyList(), "t1_c0"))
+    verify(mockRedditAuthentication).authenticate()
+  }
+
+  private fun prepareMockComment(id: String, submissionId: String): Comment {
+    val mockComment = mock(Comment::class.java)
+    `when`(mockComment.fullName).thenReturn("t1_$id")
+    `when`(mockComment.data("link_id")).thenReturn("t3_$submissionId")
+    return mockComment
+  }
+
   private fun prepareMockSubmission(id: String, title: String): Submission {
     val mockSubmission = mock(Submission::class.java)
     `when`(mockSubmission.id).thenReturn(id)
     `when`(mockSubmission.title).thenReturn(title)
     `when`(mockSubmission.author).thenReturn("")
+    `when`(mockSubmission.fullName).thenReturn("t3_$id")
+    `when`(mockSubmission.subredditName).thenReturn(SUBREDDIT)
     return mockSubmission
   }
 }
\ No newline at end of file
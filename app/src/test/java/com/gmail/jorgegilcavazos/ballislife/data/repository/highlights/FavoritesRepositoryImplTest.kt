@@ -0,0 +1,259 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import com.google.firebase.firestore.DocumentSnapshot
+import com.nhaarman.mockito_kotlin.any
+import io.reactivex.Completable
+import io.reactivex.Scheduler
+import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import io.reactivex.schedulers.TestScheduler
+import io.reactivex.subjects.SingleSubject
+import junit.framework.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.Mock
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.verifyZeroInteractions
+import org.mockito.MockitoAnnotations
+import org.mockito.junit.MockitoJUnitRunner
+import java.io.IOException
+import java.util.*
+import java.util.concurrent.TimeUnit
+
+@RunWith(MockitoJUnitRunner::class)
+class FavoritesRepositoryImplTest {
+
+  companion object {
+    private const val USERNAME = "Obi-Wan_Ginobili"
+  }
+
+  @Mock private lateinit var localRepository: LocalRepository
+  @Mock private lateinit var favoritesStore: FavoritesLocalStore
+  @Mock private lateinit var favoritesRemote: FavoritesRemoteStore
+
+  private lateinit var favoritesRepository: FavoritesRepositoryImpl
+  // Drives the delay before queued writes are flushed.
+  private val testScheduler = TestScheduler()
+
+  @Before
+  fun setUp() {
+    MockitoAnnotations.initMocks(this)
+    `when`(localRepository.username).thenReturn(USERNAME)
+    val schedulerProvider = object : BaseSchedulerProvider {
+      override fun computation(): Scheduler = testScheduler
+      override fun io(): Scheduler = Schedulers.trampoline()
+      override fun ui(): Scheduler = Schedulers.trampoline()
+    }
+    favoritesRepository = FavoritesRepositoryImpl(
+        localRepository, favoritesStore, favoritesRemote, schedulerProvider)
+  }
+
+  @Test
+  fun neverSyncedFavoritesAreFetchedFirst() {
+    val fav1 = createFavorite("1", 20)
+    val fav2 = createFavorite("2", 10)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(StoredFavorites.EMPTY)
+    `when`(favoritesRemote.fetchPage(USERNAME, null, FavoritesRepositoryImpl.SYNC_BATCH_SIZE))
+        .thenReturn(Single.just(FavoritesPage(listOf(fav1, fav2), null)))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    favorites.assertValues(fav1, fav2)
+    verify(favoritesStore).save(any(), any())
+  }
+
+  @Test
+  fun syncFetchesEveryPage() {
+    val fav1 = createFavorite("1", 20)
+    val fav2 = createFavorite("2", 20)
+    val cursor = mock(DocumentSnapshot::class.java)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(StoredFavorites.EMPTY)
+    `when`(favoritesRemote.fetchPage(USERNAME, null, FavoritesRepositoryImpl.SYNC_BATCH_SIZE))
+        .thenReturn(Single.just(FavoritesPage(listOf(fav2), cursor)))
+    `when`(favoritesRemote.fetchPage(USERNAME, cursor, FavoritesRepositoryImpl.SYNC_BATCH_SIZE))
+        .thenReturn(Single.just(FavoritesPage(listOf(fav1), null)))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    // Saved at the same time, the one on the next page isn't skipped.
+    favorites.assertValues(fav2, fav1)
+  }
+
+  @Test
+  fun syncedFavoritesAreReadLocally() {
+    val fav1 = createFavorite("1", 20)
+    val fav2 = createFavorite("2", 10)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(listOf(fav1, fav2), emptyList(), System.currentTimeMillis()))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    favorites.assertValues(fav1, fav2)
+    verifyZeroInteractions(favoritesRemote)
+  }
+
+  @Test
+  fun pagesFollowEachOther() {
+    val stored = (0 until 25).map { createFavorite(it.toString(), 100L - it) }
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(stored, emptyList(), System.currentTimeMillis()))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+    favorites.assertValueCount(FavoritesRepositoryImpl.PAGE_SIZE)
+    favoritesRepository.loadMore()
+
+    favorites.assertValueSequence(stored)
+  }
+
+  @Test
+  fun writesAreQueuedWhileOffline() {
+    val fav1 = createFavorite("1", 20)
+    val highlight = createFavorite("2", 0).copy(favTime = null)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(listOf(fav1), emptyList(), System.currentTimeMillis()))
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.error(IOException()))
+
+    favoritesRepository.saveToFavorites(highlight).test().assertComplete()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS, TimeUnit.MILLISECONDS)
+
+    verify(favoritesRemote).writeBatch(any(), any())
+    Assert.assertEquals(1, favoritesRepository.getPendingWrites().size)
+    Assert.assertTrue(favoritesRepository.getPendingWrites()[0].saved)
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+    favorites.assertValueAt(0, { it.id == "2" })
+    favorites.assertValueAt(1, { it == fav1 })
+  }
+
+  @Test
+  fun queuedWritesAreFlushedOnceOnline() {
+    val fav1 = createFavorite("1", 20)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(listOf(fav1), emptyList(), System.currentTimeMillis()))
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.error(IOException()))
+    favoritesRepository.removeFromFavorites(fav1).test().assertComplete()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS, TimeUnit.MILLISECONDS)
+
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.complete())
+    favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    verify(favoritesRemote, never())
+        .fetchPage(USERNAME, null, FavoritesRepositoryImpl.SYNC_BATCH_SIZE)
+    Assert.assertTrue(favoritesRepository.getPendingWrites().isEmpty())
+  }
+
+  @Test
+  fun syncKeepsPendingWrites() {
+    val fav2 = createFavorite("2", 10)
+    val stale = System.currentTimeMillis() - FavoritesRepositoryImpl.SYNC_INTERVAL_MS - 1
+    // Removed locally but the write never made it.
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(emptyList(), listOf(FavoriteWrite(fav2, false)), stale))
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.error(IOException()))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    // Shown from the store, the sync fails before fetching since the write failed.
+    favorites.assertNoValues()
+    verify(favoritesRemote, never())
+        .fetchPage(USERNAME, null, FavoritesRepositoryImpl.SYNC_BATCH_SIZE)
+    Assert.assertEquals(listOf(FavoriteWrite(fav2, false)), favoritesRepository.getPendingWrites())
+  }
+
+  @Test
+  fun writesWaitForTogglingToStop() {
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(emptyList(), emptyList(), System.currentTimeMillis()))
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.complete())
+
+    favoritesRepository.saveToFavorites(createFavorite("1", 0)).test()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS - 1, TimeUnit.MILLISECONDS)
+    favoritesRepository.saveToFavorites(createFavorite("2", 0)).test()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS - 1, TimeUnit.MILLISECONDS)
+    verify(favoritesRemote, never()).writeBatch(any(), any())
+
+    testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS)
+    verify(favoritesRemote, times(1)).writeBatch(any(), any())
+    Assert.assertTrue(favoritesRepository.getPendingWrites().isEmpty())
+  }
+
+  @Test
+  fun togglesAreMergedIntoOneBatch() {
+    val fav1 = createFavorite("1", 20)
+    val hl2 = createFavorite("2", 0)
+    val hl3 = createFavorite("3", 0)
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(listOf(fav1), emptyList(), System.currentTimeMillis()))
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.complete())
+
+    // Saving a new favorite and removing it again cancels out.
+    favoritesRepository.saveToFavorites(hl2).test()
+    favoritesRepository.removeFromFavorites(hl2).test()
+    // Removing an existing favorite and saving it again still updates it.
+    favoritesRepository.removeFromFavorites(fav1).test()
+    favoritesRepository.saveToFavorites(fav1).test()
+    favoritesRepository.saveToFavorites(hl3).test()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS, TimeUnit.MILLISECONDS)
+
+    @Suppress("UNCHECKED_CAST")
+    val batch = ArgumentCaptor.forClass(List::class.java) as ArgumentCaptor<List<FavoriteWrite>>
+    verify(favoritesRemote, times(1)).writeBatch(any(), batch.capture())
+    Assert.assertEquals(listOf("1", "3"), batch.value.map { it.highlight.id })
+    Assert.assertEquals(listOf(false, true), batch.value.map { it.newFavorite })
+    Assert.assertTrue(batch.value.all { it.saved })
+  }
+
+  @Test
+  fun writesFlushedWhileFetchingSurviveSync() {
+    val fav1 = createFavorite("1", 20)
+    val hl2 = createFavorite("2", 0)
+    val stale = System.currentTimeMillis() - FavoritesRepositoryImpl.SYNC_INTERVAL_MS - 1
+    val fetched = SingleSubject.create<FavoritesPage>()
+    `when`(favoritesStore.get(USERNAME)).thenReturn(
+        StoredFavorites(listOf(fav1), emptyList(), stale))
+    `when`(favoritesRemote.fetchPage(USERNAME, null, FavoritesRepositoryImpl.SYNC_BATCH_SIZE))
+        .thenReturn(fetched)
+    `when`(favoritesRemote.writeBatch(any(), any())).thenReturn(Completable.complete())
+    favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+
+    // Written after the fetch started, so it's not in the fetched favorites.
+    favoritesRepository.saveToFavorites(hl2).test()
+    testScheduler.advanceTimeBy(FavoritesRepositoryImpl.FLUSH_DELAY_MS, TimeUnit.MILLISECONDS)
+    Assert.assertTrue(favoritesRepository.getPendingWrites().isEmpty())
+    fetched.onSuccess(FavoritesPage(listOf(fav1), null))
+
+    val favorites = favoritesRepository.favorites().test()
+    favoritesRepository.loadMore()
+    favorites.assertValueAt(0, { it.id == "2" })
+    favorites.assertValueAt(1, { it == fav1 })
+  }
+
+  private fun createFavorite(id: String, favTime: Long): Highlight {
+    return Highlight(
+        id = id,
+        title = "Title",
+        thumbnail = "",
+        hdThumbnail = "",
+        url = "",
+        score = 0,
+        createdUtc = 0,
+        favTime = Date(favTime)
+    )
+  }
+}
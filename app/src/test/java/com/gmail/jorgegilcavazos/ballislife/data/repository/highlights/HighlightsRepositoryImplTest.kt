@@ -3,13 +3,18 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.highlights
 import com.gmail.jorgegilcavazos.ballislife.data.service.HighlightsService
 import com.gmail.jorgegilcavazos.ballislife.features.highlights.home.Sorting
 import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
 import io.reactivex.Single
 import junit.framework.Assert
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
 import org.mockito.Mock
 import org.mockito.Mockito.`when`
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
 import org.mockito.MockitoAnnotations
 import org.mockito.junit.MockitoJUnitRunner
 
@@ -17,73 +22,210 @@ import org.mockito.junit.MockitoJUnitRunner
 class HighlightsRepositoryImplTest {
 
   @Mock private lateinit var highlightsService: HighlightsService
+  @Mock private lateinit var highlightsStore: HighlightsLocalStore
 
   private lateinit var highlightsRepository: HighlightsRepositoryImpl
 
   @Before
   fun setUp() {
     MockitoAnnotations.initMocks(this)
-    highlightsRepository = HighlightsRepositoryImpl(highlightsService)
+    highlightsRepository = HighlightsRepositoryImpl(
+        highlightsService, highlightsStore, TrampolineSchedulerProvider())
   }
 
   @Test
   fun loadPagesWithNewSorting() {
-    val hl1 = createHighlightWithTimestamp(9)
-    val hl2 = createHighlightWithTimestamp(7)
-    val hl3 = createHighlightWithTimestamp(8)
-    val hl4 = createHighlightWithTimestamp(4)
-    val hl5 = createHighlightWithTimestamp(6)
-    val hl6 = createHighlightWithTimestamp(5)
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    val hl2 = createHighlightWithTimestamp("2", 7)
+    val hl3 = createHighlightWithTimestamp("3", 8)
+    val hl4 = createHighlightWithTimestamp("4", 4)
+    val hl5 = createHighlightWithTimestamp("5", 6)
+    val hl6 = createHighlightWithTimestamp("6", 5)
     highlightsRepository.setItemsToLoad(3)
     `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, Long.MAX_VALUE, 3))
         .thenReturn(Single.just(mapOf("C" to hl1, "A" to hl2, "B" to hl3)))
-    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 6, 3))
-        .thenReturn(Single.just(mapOf("D" to hl4, "E" to hl5, "F" to hl6)))
+    // The last highlight of the first page is asked for again, and dropped.
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 7, 4))
+        .thenReturn(Single.just(mapOf("A" to hl2, "D" to hl4, "E" to hl5, "F" to hl6)))
 
     val page1 = highlightsRepository.next().test()
     page1.assertComplete()
-    page1.assertValueAt(0, {it == listOf(hl1, hl3, hl2) })
-    Assert.assertEquals(6, highlightsRepository.getLastHighlightTimestamp())
+    page1.assertValueAt(0, { it == listOf(hl1, hl3, hl2) })
+    Assert.assertEquals(7, highlightsRepository.getCursor()!!.value)
 
     val page2 = highlightsRepository.next().test()
     page2.assertComplete()
-    page2.assertValueAt(0, {it == listOf(hl5, hl6, hl4) })
-    Assert.assertEquals(3, highlightsRepository.getLastHighlightTimestamp())
+    page2.assertValueAt(0, { it == listOf(hl5, hl6, hl4) })
+    Assert.assertEquals(4, highlightsRepository.getCursor()!!.value)
 
-    Assert.assertEquals(highlightsRepository.cachedHighlights, listOf(hl1, hl3, hl2, hl5, hl6, hl4))
+    Assert.assertEquals(
+        listOf(hl1, hl3, hl2, hl5, hl6, hl4), highlightsRepository.getCachedHighlights())
   }
 
   @Test
   fun loadPagesWithDailyTopSorting() {
-    val hl1 = createHighlightWithScore(500)
-    val hl2 = createHighlightWithScore(31)
-    val hl3 = createHighlightWithScore(45)
-    val hl4 = createHighlightWithScore(2)
-    val hl5 = createHighlightWithScore(444)
-    val hl6 = createHighlightWithScore(1090)
+    val hl1 = createHighlightWithScore("1", 500)
+    val hl2 = createHighlightWithScore("2", 31)
+    val hl3 = createHighlightWithScore("3", 45)
+    val hl4 = createHighlightWithScore("4", 2)
+    val hl5 = createHighlightWithScore("5", 444)
+    val hl6 = createHighlightWithScore("6", 1090)
     highlightsRepository.setItemsToLoad(3)
     highlightsRepository.reset(Sorting.TOP_SEASON)
     `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, Int.MAX_VALUE, 3))
         .thenReturn(Single.just(mapOf("C" to hl1, "A" to hl6, "B" to hl5)))
-    `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, 443, 3))
-        .thenReturn(Single.just(mapOf("D" to hl4, "E" to hl3, "F" to hl2)))
+    `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, 444, 4))
+        .thenReturn(Single.just(mapOf("B" to hl5, "D" to hl4, "E" to hl3, "F" to hl2)))
 
     val page1 = highlightsRepository.next().test()
     page1.assertComplete()
-    page1.assertValueAt(0, {it == listOf(hl6, hl1, hl5) })
-    Assert.assertEquals(443, highlightsRepository.getLastHighlightScore())
+    page1.assertValueAt(0, { it == listOf(hl6, hl1, hl5) })
+    Assert.assertEquals(444, highlightsRepository.getCursor()!!.value)
 
     val page2 = highlightsRepository.next().test()
     page2.assertComplete()
-    page2.assertValueAt(0, {it == listOf(hl3, hl2, hl4) })
-    Assert.assertEquals(1, highlightsRepository.getLastHighlightScore())
+    page2.assertValueAt(0, { it == listOf(hl3, hl2, hl4) })
+    Assert.assertEquals(2, highlightsRepository.getCursor()!!.value)
 
-    Assert.assertEquals(highlightsRepository.cachedHighlights, listOf(hl6, hl1, hl5, hl3, hl2, hl4))
+    Assert.assertEquals(
+        listOf(hl6, hl1, hl5, hl3, hl2, hl4), highlightsRepository.getCachedHighlights())
   }
 
-  private fun createHighlightWithTimestamp(createdUtc: Long): Highlight {
+  @Test
+  fun tiedScoresAreNotSkipped() {
+    // Scores [20, 15, 15, 15, 12] in pages of 3 used to lose the third 15.
+    val hl1 = createHighlightWithScore("1", 20)
+    val hl2 = createHighlightWithScore("2", 15, createdUtc = 3)
+    val hl3 = createHighlightWithScore("3", 15, createdUtc = 2)
+    val hl4 = createHighlightWithScore("4", 15, createdUtc = 1)
+    val hl5 = createHighlightWithScore("5", 12)
+    highlightsRepository.setItemsToLoad(3)
+    highlightsRepository.reset(Sorting.TOP_SEASON)
+    `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, Int.MAX_VALUE, 3))
+        .thenReturn(Single.just(mapOf("a" to hl1, "b" to hl2, "c" to hl3)))
+    // Both 15s already loaded are asked for again.
+    `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, 15, 5))
+        .thenReturn(Single.just(mapOf("b" to hl2, "c" to hl3, "d" to hl4, "e" to hl5)))
+
+    highlightsRepository.next().test().assertValue(listOf(hl1, hl2, hl3))
+    Assert.assertEquals(2, highlightsRepository.getCursor()!!.tiedCount)
+
+    highlightsRepository.next().test().assertValue(listOf(hl4, hl5))
+    // Fewer highlights than asked for, there are no more pages.
+    Assert.assertTrue(highlightsRepository.isExhausted())
+    highlightsRepository.next().test().assertValue(listOf())
+  }
+
+  @Test
+  fun loadedPagesAreStored() {
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    highlightsRepository.setItemsToLoad(3)
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, Long.MAX_VALUE, 3))
+        .thenReturn(Single.just(mapOf("A" to hl1)))
+
+    highlightsRepository.next().test()
+
+    val captor = ArgumentCaptor.forClass(StoredHighlights::class.java)
+    verify(highlightsStore).save(captor.capture())
+    Assert.assertEquals(Sorting.NEW, captor.value.sorting)
+    Assert.assertEquals(listOf(hl1), captor.value.highlights)
+    Assert.assertTrue(captor.value.exhausted)
+  }
+
+  @Test
+  fun storedPagesAreResumed() {
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    val hl2 = createHighlightWithTimestamp("2", 8)
+    val hl3 = createHighlightWithTimestamp("3", 7)
+    `when`(highlightsStore.get(Sorting.NEW)).thenReturn(StoredHighlights(
+        Sorting.NEW, "", System.currentTimeMillis(), listOf(hl1, hl2), false))
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 8, 3))
+        .thenReturn(Single.just(mapOf("B" to hl2, "C" to hl3)))
+    highlightsRepository.setItemsToLoad(2)
+
+    highlightsRepository.loadStoredHighlights(Sorting.NEW).test().assertValue(listOf(hl1, hl2))
+    Assert.assertEquals(listOf(hl1, hl2), highlightsRepository.getCachedHighlights())
+
+    highlightsRepository.next().test().assertValue(listOf(hl3))
+    verify(highlightsService, times(1)).getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 8, 3)
+  }
+
+  @Test
+  fun expiredStoredPagesAreIgnored() {
+    `when`(highlightsStore.get(Sorting.NEW)).thenReturn(StoredHighlights(
+        Sorting.NEW, "", System.currentTimeMillis() - StoredHighlights.TTL_MS - 1,
+        listOf(createHighlightWithTimestamp("1", 9)), false))
+
+    highlightsRepository.loadStoredHighlights(Sorting.NEW).test().assertValue(listOf())
+
+    Assert.assertTrue(highlightsRepository.getCachedHighlights().isEmpty())
+  }
+
+  @Test
+  fun prefetchedPageIsUsedByNext() {
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    val hl2 = createHighlightWithTimestamp("2", 8)
+    val hl3 = createHighlightWithTimestamp("3", 7)
+    highlightsRepository.setItemsToLoad(2)
+    highlightsRepository.setPrefetchDistance(1)
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, Long.MAX_VALUE, 2))
+        .thenReturn(Single.just(mapOf("A" to hl1, "B" to hl2)))
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 8, 3))
+        .thenReturn(Single.just(mapOf("B" to hl2, "C" to hl3)))
+
+    highlightsRepository.next().test().assertValue(listOf(hl1, hl2))
+    highlightsRepository.prefetchIfNear(1)
+    Assert.assertTrue(highlightsRepository.isPrefetching())
+    // Prefetched highlights aren't shown until they're asked for.
+    Assert.assertEquals(listOf(hl1, hl2), highlightsRepository.getCachedHighlights())
+
+    highlightsRepository.next().test().assertValue(listOf(hl3))
+    Assert.assertFalse(highlightsRepository.isPrefetching())
+    verify(highlightsService, times(1)).getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 8, 3)
+  }
+
+  @Test
+  fun prefetchSkippedFarFromTheEnd() {
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    highlightsRepository.setItemsToLoad(1)
+    highlightsRepository.setPrefetchDistance(5)
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, Long.MAX_VALUE, 1))
+        .thenReturn(Single.just(mapOf("A" to hl1)))
+
+    highlightsRepository.next().test()
+    highlightsRepository.prefetchIfNear(6)
+
+    Assert.assertFalse(highlightsRepository.isPrefetching())
+    verify(highlightsService, never()).getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 9, 2)
+  }
+
+  @Test
+  fun resetCancelsPrefetch() {
+    val hl1 = createHighlightWithTimestamp("1", 9)
+    val hl2 = createHighlightWithScore("2", 10)
+    highlightsRepository.setItemsToLoad(1)
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, Long.MAX_VALUE, 1))
+        .thenReturn(Single.just(mapOf("A" to hl1)))
+    // Never completes, like a request still in flight.
+    `when`(highlightsService.getAllHighlights(Companion.ORDER_KEY_CREATED, 0, 9, 2))
+        .thenReturn(Single.never())
+    `when`(highlightsService.getSeasonHighlights(Companion.ORDER_KEY_SCORE, 0, Int.MAX_VALUE, 1))
+        .thenReturn(Single.just(mapOf("B" to hl2)))
+
+    highlightsRepository.next().test()
+    highlightsRepository.prefetchIfNear(0)
+    Assert.assertTrue(highlightsRepository.isPrefetching())
+
+    highlightsRepository.reset(Sorting.TOP_SEASON)
+    Assert.assertFalse(highlightsRepository.isPrefetching())
+
+    highlightsRepository.next().test().assertValue(listOf(hl2))
+    Assert.assertEquals(listOf(hl2), highlightsRepository.getCachedHighlights())
+  }
+
+  private fun createHighlightWithTimestamp(id: String, createdUtc: Long): Highlight {
     return Highlight(
-        id = "ID",
+        id = id,
         title = "Title",
         thumbnail = "",
         hdThumbnail = "",
@@ -93,15 +235,15 @@ class HighlightsRepositoryImplTest {
     )
   }
 
-  private fun createHighlightWithScore(score: Int): Highlight {
+  private fun createHighlightWithScore(id: String, score: Int, createdUtc: Long = 0): Highlight {
     return Highlight(
-        id = "ID",
+        id = id,
         title = "Title",
         thumbnail = "",
         hdThumbnail = "",
         url = "",
         score = score,
-        createdUtc = 0
+        createdUtc = createdUtc
     )
   }
 
@@ -110,4 +252,4 @@ class HighlightsRepositoryImplTest {
     private val ORDER_KEY_SCORE = "\"score\""
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import android.content.ComponentCallbacks2
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SubmissionCacheTest {
+
+  // Weighs submissions by their comment count, their comment trees aren't loaded here.
+  private val cache = SubmissionCache(10, { it.commentCount })
+
+  @Test
+  fun leastRecentlyUsedAreEvictedByWeight() {
+    cache.put(createSubmission("a", 4))
+    cache.put(createSubmission("b", 4))
+    cache.put(createSubmission("c", 4))
+    // Makes "a" the most recently used, then "b" the least.
+    cache.get("a")
+    cache.put(createSubmission("d", 4))
+
+    assertNull(cache.get("b"))
+    assertNotNull(cache.get("a"))
+    assertNotNull(cache.get("c"))
+    assertNotNull(cache.get("d"))
+  }
+
+  @Test
+  fun lastUsedIsKeptEvenIfTooHeavy() {
+    cache.put(createSubmission("thread", 50))
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL)
+
+    assertNotNull(cache.get("thread"))
+    assertEquals(50, cache.weight())
+  }
+
+  @Test
+  fun trimMemoryShedsButKeepsLastUsed() {
+    cache.put(createSubmission("a", 3))
+    cache.put(createSubmission("b", 3))
+    cache.put(createSubmission("c", 3))
+
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+
+    // Down to a quarter of the budget, plus the last one used.
+    assertEquals(3, cache.weight())
+    assertNotNull(cache.get("c"))
+    assertNull(cache.get("a"))
+  }
+
+  @Test
+  fun trimMemoryCompleteDropsEverything() {
+    cache.put(createSubmission("a", 3))
+    cache.put(createSubmission("b", 3))
+
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+
+    assertEquals(0, cache.weight())
+    assertNull(cache.get("b"))
+  }
+
+  private fun createSubmission(id: String, comments: Int): SubmissionWrapper {
+    return SubmissionWrapper(id, null, "Title", "author").apply { commentCount = comments }
+  }
+}
@@ -0,0 +1,110 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService
+import io.reactivex.Single
+import io.reactivex.subjects.SingleSubject
+import net.dean.jraw.RedditClient
+import net.dean.jraw.models.CommentSort
+import net.dean.jraw.models.Submission
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.MockitoAnnotations
+import org.mockito.junit.MockitoJUnitRunner
+import java.io.IOException
+
+/**
+ * Tests for the [SubmissionRepositoryImpl].
+ */
+@RunWith(MockitoJUnitRunner::class)
+class SubmissionRepositoryImplTest {
+
+  companion object {
+    private const val SUBMISSION_ID = "7k4pjl"
+  }
+
+  @Mock private lateinit var redditAuthentication: RedditAuthentication
+  @Mock private lateinit var redditService: RedditService
+  @Mock private lateinit var redditClient: RedditClient
+
+  private lateinit var submissionRepository: SubmissionRepositoryImpl
+
+  @Before
+  fun setUp() {
+    MockitoAnnotations.initMocks(this)
+    `when`(redditAuthentication.redditClient).thenReturn(redditClient)
+    submissionRepository = SubmissionRepositoryImpl(
+        redditAuthentication, redditService, SubmissionCache(100, { 1 }))
+  }
+
+  @Test
+  fun concurrentRequestsShareOneFetch() {
+    val submission = createSubmission()
+    val response = SingleSubject.create<Submission>()
+    `when`(redditService.getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW))
+        .thenReturn(response)
+
+    val first = submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+    val second = submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+    response.onSuccess(submission)
+
+    verify(redditService, times(1)).getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW)
+    first.assertValue { it.id == SUBMISSION_ID && it.sort == CommentSort.NEW }
+    second.assertValue { it.id == SUBMISSION_ID && it.sort == CommentSort.NEW }
+  }
+
+  @Test
+  fun finishedFetchIsNotShared() {
+    val submission = createSubmission()
+    `when`(redditService.getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW))
+        .thenReturn(Single.just(submission))
+
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+
+    verify(redditService, times(2)).getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW)
+  }
+
+  @Test
+  fun failedFetchIsRetried() {
+    val submission = createSubmission()
+    `when`(redditService.getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW))
+        .thenReturn(Single.error(IOException()))
+        .thenReturn(Single.just(submission))
+
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+        .assertError(IOException::class.java)
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+        .assertValue { it.id == SUBMISSION_ID }
+  }
+
+  @Test
+  fun otherSortIsFetchedSeparately() {
+    val newResponse = SingleSubject.create<Submission>()
+    val topResponse = SingleSubject.create<Submission>()
+    `when`(redditService.getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW))
+        .thenReturn(newResponse)
+    `when`(redditService.getSubmission(redditClient, SUBMISSION_ID, CommentSort.TOP))
+        .thenReturn(topResponse)
+
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.NEW, true).test()
+    submissionRepository.getSubmission(SUBMISSION_ID, CommentSort.TOP, true).test()
+
+    verify(redditService).getSubmission(redditClient, SUBMISSION_ID, CommentSort.NEW)
+    verify(redditService).getSubmission(redditClient, SUBMISSION_ID, CommentSort.TOP)
+  }
+
+  private fun createSubmission(): Submission {
+    val submission = mock(Submission::class.java)
+    `when`(submission.id).thenReturn(SUBMISSION_ID)
+    `when`(submission.title).thenReturn("Game Thread")
+    `when`(submission.author).thenReturn("")
+    return submission
+  }
+}
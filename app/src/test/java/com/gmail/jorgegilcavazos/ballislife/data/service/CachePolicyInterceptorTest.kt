@@ -0,0 +1,117 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service
+
+import okhttp3.Cache
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class CachePolicyInterceptorTest {
+
+  @get:Rule val cacheDir = TemporaryFolder()
+
+  private val server = MockWebServer()
+  private lateinit var client: OkHttpClient
+
+  @Before
+  fun setUp() {
+    server.start()
+    client = OkHttpClient.Builder()
+        .cache(Cache(cacheDir.root, 1024 * 1024))
+        .addNetworkInterceptor(CachePolicyInterceptor.withDefaultPolicies())
+        .build()
+  }
+
+  @After
+  fun tearDown() {
+    server.shutdown()
+  }
+
+  @Test
+  fun maxAgeDependsOnThePath() {
+    assertEquals("public, max-age=3600", cacheControlOf("/standings/2017-18/east.json"))
+    assertEquals("public, max-age=60", cacheControlOf("/v2/highlights/2017-18/all.json"))
+    assertEquals("public, max-age=10", cacheControlOf("/boxscore/0021700001/.json"))
+    assertEquals("public, max-age=10", cacheControlOf("/gamedetail/0021700001_gamedetail.json"))
+    assertEquals("public, max-age=10", cacheControlOf("/games/2017-18/.json"))
+  }
+
+  @Test
+  fun firstMatchingPathWins() {
+    val maxAgeByPath = linkedMapOf("/boxscore/" to 5, "/games/" to 20)
+    client = OkHttpClient.Builder()
+        .addNetworkInterceptor(CachePolicyInterceptor(maxAgeByPath))
+        .build()
+
+    assertEquals("public, max-age=5", cacheControlOf("/games/boxscore/1.json"))
+  }
+
+  @Test
+  fun otherPathsKeepTheServerPolicy() {
+    assertEquals("no-store", cacheControlOf("/teams/SAS.json"))
+  }
+
+  @Test
+  fun errorsAndPostsKeepTheServerPolicy() {
+    server.enqueue(MockResponse().setResponseCode(500).setHeader("Cache-Control", "no-store"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "no-store"))
+
+    val error = execute(Request.Builder().url(server.url("/games/2017-18/.json")).build())
+    val post = execute(Request.Builder()
+        .url(server.url("/games/2017-18/.json"))
+        .post(RequestBody.create(null, ""))
+        .build())
+
+    assertEquals("no-store", error)
+    assertEquals("no-store", post)
+  }
+
+  @Test
+  fun pragmaIsRemoved() {
+    server.enqueue(MockResponse().setHeader("Pragma", "no-cache"))
+
+    val response = client.newCall(
+        Request.Builder().url(server.url("/games/2017-18/.json")).build()).execute()
+    response.close()
+
+    assertNull(response.header("Pragma"))
+  }
+
+  @Test
+  fun freshResponsesAreServedFromCacheUnlessForced() {
+    server.enqueue(MockResponse().setBody("1"))
+    server.enqueue(MockResponse().setBody("2"))
+    val url = server.url("/standings/2017-18/east.json")
+
+    assertEquals("1", bodyOf(Request.Builder().url(url).build()))
+    assertEquals("1", bodyOf(Request.Builder().url(url).build()))
+    assertEquals("2", bodyOf(Request.Builder()
+        .url(url)
+        .header("Cache-Control", CachePolicyInterceptor.NO_CACHE)
+        .build()))
+
+    assertEquals(2, server.requestCount)
+  }
+
+  /** Fetches [path] from a server that forbids caching, returns the resulting Cache-Control. */
+  private fun cacheControlOf(path: String): String? {
+    server.enqueue(MockResponse().setHeader("Cache-Control", "no-store"))
+    return execute(Request.Builder().url(server.url(path)).build())
+  }
+
+  private fun execute(request: Request): String? {
+    return client.newCall(request).execute().use { it.header("Cache-Control") }
+  }
+
+  private fun bodyOf(request: Request): String {
+    return client.newCall(request).execute().use { it.body()!!.string() }
+  }
+}
@@ -0,0 +1,75 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BoxScoreResponseTypeAdapterTest {
+
+  private val gson: Gson = GsonBuilder()
+      .registerTypeAdapter(BoxScoreResponse::class.java, BoxScoreResponseTypeAdapter())
+      .create()
+
+  @Test
+  fun readsPlayersScoresAndStatusSkippingTheRest() {
+    val json = """
+      {"g": {
+        "gid": "0021700001", "st": 3, "stt": "Final",
+        "pd": [{"p": 1, "pla": [{"evt": 1, "de": "Jump Ball"}]}],
+        "hls": {"tn": "Spurs", "s": 107, "pstsg": [
+          {"pid": 1495, "fn": "Tim", "ln": "Duncan", "pts": 21, "min": 34, "reb": 12,
+           "fga": 15, "fgm": 9, "court": 1, "pos": "C", "sec": 12}
+        ], "tstsg": {"pts": 107}},
+        "vls": {"tn": "Heat", "s": "99", "pstsg": [
+          {"fn": null, "ln": "Nene", "pts": null, "pm": -7}
+        ]}
+      }}
+    """
+
+    val boxScore = gson.fromJson(json, BoxScoreResponse::class.java)
+
+    val home = boxScore.game.hls
+    assertEquals(107, home.score)
+    assertEquals(1, home.pstsg.size)
+    assertEquals(1495, home.pstsg[0].pid)
+    assertEquals("Duncan", home.pstsg[0].ln)
+    assertEquals(21, home.pstsg[0].pts)
+    assertEquals(9, home.pstsg[0].fgm)
+    val visitor = boxScore.game.vls
+    assertEquals(99, visitor.score)
+    assertNull(visitor.pstsg[0].fn)
+    assertEquals(0, visitor.pstsg[0].pts)
+    assertEquals(-7, visitor.pstsg[0].pm)
+    assertTrue(boxScore.game.isFinal)
+  }
+
+  @Test
+  fun missingTeamsAreEmpty() {
+    val boxScore = gson.fromJson("""{"g": {"st": 1}}""", BoxScoreResponse::class.java)
+
+    assertTrue(boxScore.game.hls.pstsg.isEmpty())
+    assertTrue(boxScore.game.vls.pstsg.isEmpty())
+  }
+
+  @Test
+  fun roundTrip() {
+    val statLine = StatLine(30, 36, 8, 7, 6, 1, 2, 0, 3, 4, 2, 20, 11, 8, 4, 5, 4, 12, "Kawhi",
+        "Leonard", 202695)
+    val boxScore = BoxScoreResponse(BoxScoreValues(
+        BoxScoreTeam(listOf(statLine), 110), BoxScoreTeam(listOf(), 101), 2))
+
+    val read = gson.fromJson(gson.toJson(boxScore), BoxScoreResponse::class.java)
+
+    assertEquals(listOf(statLine), read.game.hls.pstsg)
+    assertEquals(110, read.game.hls.score)
+    assertEquals(101, read.game.vls.score)
+    assertEquals(2, read.game.st)
+  }
+}
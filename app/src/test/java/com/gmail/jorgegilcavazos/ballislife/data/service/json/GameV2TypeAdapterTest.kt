@@ -0,0 +1,83 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Broadcaster
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.MediaSource
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.reflect.TypeToken
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class GameV2TypeAdapterTest {
+
+  private val gson: Gson = GsonBuilder()
+      .registerTypeAdapter(GameV2::class.java, GameV2TypeAdapter())
+      .create()
+
+  @Test
+  fun readsGamesMapSkippingUnknownFields() {
+    val json = """
+      {"-L1": {"id": "0021700001", "gameStatus": "2", "timeUtc": 1515000000,
+               "homeTeamAbbr": "SAS", "awayTeamScore": 88, "unused": {"a": [1, 2]},
+               "broadcasters": {"tv": {"broadcaster": [
+                 {"display_name": "TNT", "home_visistor": "natl", "scope": "natl"}]}}}}
+    """
+    val type = object : TypeToken<Map<String, GameV2>>() {}.type
+
+    val games: Map<String, GameV2> = gson.fromJson(json, type)
+
+    val game = games["-L1"]!!
+    assertEquals("0021700001", game.id)
+    assertEquals("2", game.gameStatus)
+    assertEquals(1515000000L, game.timeUtc)
+    assertEquals("SAS", game.homeTeamAbbr)
+    assertEquals("88", game.awayTeamScore)
+    assertEquals("", game.arena)
+    assertNull(game.seriesSummary)
+    assertEquals(
+        MediaSource(listOf(Broadcaster("TNT", "natl", "natl"))), game.broadcasters["tv"])
+  }
+
+  @Test
+  fun missingBroadcastersAreEmpty() {
+    val game = gson.fromJson("""{"id": "1"}""", GameV2::class.java)
+
+    assertTrue(game.broadcasters.isEmpty())
+  }
+
+  @Test
+  fun roundTrip() {
+    val game = GameV2(
+        arena = "AT&T",
+        awayTeamAbbr = "MIA",
+        awayTeamCity = "Miami",
+        awayTeamId = "1610612748",
+        awayTeamKey = "MIA",
+        awayTeamNickname = "Heat",
+        awayTeamScore = "99",
+        broadcasters = mapOf("tv" to MediaSource(listOf(Broadcaster("ESPN", "natl", "natl")))),
+        city = "San Antonio",
+        date = "20180110",
+        gameClock = "",
+        gameStatus = "3",
+        homeTeamAbbr = "SAS",
+        homeTeamCity = "San Antonio",
+        homeTeamId = "1610612759",
+        homeTeamKey = "SAS",
+        homeTeamNickname = "Spurs",
+        homeTeamScore = "107",
+        id = "0021700600",
+        periodName = "Q",
+        periodStatus = "Final",
+        periodValue = "4",
+        time = "7:30 PM",
+        timeUtc = 1515633000,
+        totalPeriods = "4",
+        seriesSummary = "SAS leads 2-1")
+
+    assertEquals(game, gson.fromJson(gson.toJson(game), GameV2::class.java))
+  }
+}
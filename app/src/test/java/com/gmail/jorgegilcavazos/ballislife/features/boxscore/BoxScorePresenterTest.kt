@@ -1,9 +1,13 @@
 package com.gmail.jorgegilcavazos.ballislife.features.boxscore
 
+import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreDelta
 import com.gmail.jorgegilcavazos.ballislife.data.repository.boxscore.BoxScoreRepository
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreResponse
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreStats
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
 import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import io.reactivex.Observable
 import io.reactivex.disposables.CompositeDisposable
@@ -44,17 +48,18 @@ class BoxScorePresenterTest {
 	fun loadHomeBoxScoreSuccess() {
 		val boxScore = BoxScoreResponse(BoxScoreValues(
 				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
-		`when`(mockBoxScoreRepository.boxScore("GAME_ID", true))
+		val stats = BoxScoreStats.from(boxScore.game)
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", null, true))
 				.thenReturn(Observable.just(
 						BoxScoreUIModel.inProgress(),
-						BoxScoreUIModel.success(boxScore)))
+						BoxScoreUIModel.success(boxScore, stats)))
 
-		presenter.loadBoxScore("GAME_ID", BoxScoreSelectedTeam.HOME, true)
+		presenter.loadBoxScore("GAME_ID", null, BoxScoreSelectedTeam.HOME, true)
 
 		verify(mockView).hideBoxScore()
 		verify(mockView).setLoadingIndicator(true)
 		verify(mockView, times(2)).showBoxScoreNotAvailableMessage(false)
-		verify(mockView).showHomeBoxScore(boxScore.game)
+		verify(mockView).showHomeBoxScore(boxScore.game, stats.home)
 		verify(mockView).setLoadingIndicator(false)
 	}
 
@@ -62,28 +67,29 @@ class BoxScorePresenterTest {
 	fun loadVisitorBoxScoreSuccess() {
 		val boxScore = BoxScoreResponse(BoxScoreValues(
 				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
-		`when`(mockBoxScoreRepository.boxScore("GAME_ID", true))
+		val stats = BoxScoreStats.from(boxScore.game)
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", null, true))
 				.thenReturn(Observable.just(
 						BoxScoreUIModel.inProgress(),
-						BoxScoreUIModel.success(boxScore)))
+						BoxScoreUIModel.success(boxScore, stats)))
 
-		presenter.loadBoxScore("GAME_ID", BoxScoreSelectedTeam.VISITOR, true)
+		presenter.loadBoxScore("GAME_ID", null, BoxScoreSelectedTeam.VISITOR, true)
 
 		verify(mockView).hideBoxScore()
 		verify(mockView).setLoadingIndicator(true)
 		verify(mockView, times(2)).showBoxScoreNotAvailableMessage(false)
-		verify(mockView).showVisitorBoxScore(boxScore.game)
+		verify(mockView).showVisitorBoxScore(boxScore.game, stats.visitor)
 		verify(mockView).setLoadingIndicator(false)
 	}
 
 	@Test
 	fun loadBoxScoreNotAvailable() {
-		`when`(mockBoxScoreRepository.boxScore("GAME_ID", true))
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", null, true))
 				.thenReturn(Observable.just(
 						BoxScoreUIModel.inProgress(),
 						BoxScoreUIModel.notAvailable()))
 
-		presenter.loadBoxScore("GAME_ID", BoxScoreSelectedTeam.HOME, true)
+		presenter.loadBoxScore("GAME_ID", null, BoxScoreSelectedTeam.HOME, true)
 
 		verify(mockView, times(2)).hideBoxScore()
 		verify(mockView).setLoadingIndicator(true)
@@ -95,12 +101,66 @@ class BoxScorePresenterTest {
 	@Test
 	fun showUnknownErrorToast() {
 		val error = Exception()
-		`when`(mockBoxScoreRepository.boxScore("GAME_ID", true))
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", null, true))
 				.thenReturn(Observable.error(error))
 		`when`(mockErrorHandler.handleError(error)).thenReturn(-1)
 
-		presenter.loadBoxScore("GAME_ID", BoxScoreSelectedTeam.HOME, true)
+		presenter.loadBoxScore("GAME_ID", null, BoxScoreSelectedTeam.HOME, true)
 
 		verify(mockView).showUnknownErrorToast(-1)
 	}
-}
\ No newline at end of file
+
+	@Test
+	fun liveUpdateShowsOnlyChangedRowsOfSelectedTeam() {
+		val statLine = StatLine(2, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "A", "B", 1)
+		val boxScore = BoxScoreResponse(BoxScoreValues(
+				BoxScoreTeam(listOf(statLine), 2), BoxScoreTeam(listOf(), 0)))
+		val stats = BoxScoreStats.from(boxScore.game)
+		val changes = listOf(0)
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", null, true))
+				.thenReturn(Observable.empty())
+		`when`(mockBoxScoreRepository.liveBoxScore("GAME_ID", NbaGame.IN_GAME)).thenReturn(
+				Observable.just(BoxScoreDelta(boxScore, stats, false, true, changes, listOf())))
+
+		presenter.loadBoxScore("GAME_ID", null, BoxScoreSelectedTeam.HOME, true)
+		presenter.startLiveUpdates("GAME_ID", NbaGame.IN_GAME)
+
+		verify(mockView).updateBoxScoreRows(
+				boxScore.game, BoxScoreSelectedTeam.HOME, stats.home, changes)
+		verify(mockView, never()).showHomeBoxScore(boxScore.game, stats.home)
+	}
+
+	@Test
+	fun liveUpdateWithNewRosterShowsWholeBoxScore() {
+		val boxScore = BoxScoreResponse(BoxScoreValues(
+				BoxScoreTeam(listOf(), 0), BoxScoreTeam(listOf(), 0)))
+		val stats = BoxScoreStats.from(boxScore.game)
+		`when`(mockBoxScoreRepository.liveBoxScore("GAME_ID", NbaGame.IN_GAME)).thenReturn(
+				Observable.just(BoxScoreDelta(boxScore, stats, true, true, listOf(), listOf())))
+
+		presenter.startLiveUpdates("GAME_ID", NbaGame.IN_GAME)
+
+		verify(mockView).showVisitorBoxScore(boxScore.game, stats.visitor)
+	}
+
+	@Test
+	fun liveUpdatesDontStartBeforeGame() {
+		presenter.startLiveUpdates("GAME_ID", NbaGame.PRE_GAME)
+
+		verifyZeroInteractions(mockBoxScoreRepository)
+	}
+
+	@Test
+	fun liveUpdatesDontStartWhenLoadedBoxScoreIsFinal() {
+		val boxScore = BoxScoreResponse(BoxScoreValues(
+				BoxScoreTeam(listOf(), 100), BoxScoreTeam(listOf(), 98), 3))
+		val stats = BoxScoreStats.from(boxScore.game)
+		`when`(mockBoxScoreRepository.boxScore("GAME_ID", NbaGame.IN_GAME, true))
+				.thenReturn(Observable.just(BoxScoreUIModel.success(boxScore, stats)))
+
+		presenter.loadBoxScore("GAME_ID", NbaGame.IN_GAME, BoxScoreSelectedTeam.HOME, true)
+		presenter.startLiveUpdates("GAME_ID", NbaGame.IN_GAME)
+
+		verify(mockBoxScoreRepository, never()).liveBoxScore("GAME_ID", NbaGame.IN_GAME)
+	}
+}
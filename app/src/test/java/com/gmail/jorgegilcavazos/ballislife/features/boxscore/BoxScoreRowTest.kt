@@ -0,0 +1,68 @@
+package com.gmail.jorgegilcavazos.ballislife.features.boxscore
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import com.gmail.jorgegilcavazos.ballislife.features.model.TeamStats
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class BoxScoreRowTest {
+
+	@Test
+	fun rowsHaveSeparatorsAfterStartersAndBeforeTotal() {
+		val rows = rowsFor((1..7).map { statLine(it, it) })
+
+		assertEquals(
+				listOf(BoxScoreRow.TYPE_HEADER,
+						BoxScoreRow.TYPE_PLAYER, BoxScoreRow.TYPE_PLAYER, BoxScoreRow.TYPE_PLAYER,
+						BoxScoreRow.TYPE_PLAYER, BoxScoreRow.TYPE_PLAYER,
+						BoxScoreRow.TYPE_SEPARATOR,
+						BoxScoreRow.TYPE_PLAYER, BoxScoreRow.TYPE_PLAYER,
+						BoxScoreRow.TYPE_SEPARATOR,
+						BoxScoreRow.TYPE_TOTAL),
+				rows.map { it.type })
+		assertEquals(rows.size, rows.map { it.id }.distinct().size)
+		assertEquals(7, rows.last().row)
+	}
+
+	@Test
+	fun onlyStarters() {
+		val rows = rowsFor((1..5).map { statLine(it, it) })
+
+		assertEquals(8, rows.size)
+		assertEquals(BoxScoreRow.TYPE_TOTAL, rows.last().type)
+	}
+
+	@Test
+	fun positionOfPlayerSkipsHeaderAndSeparator() {
+		val players = (1..7).map { statLine(it, it) }
+		val rows = rowsFor(players)
+
+		players.indices.forEach { i ->
+			assertEquals(i, rows[BoxScoreRow.positionOfPlayer(rows, i)].row)
+		}
+		assertEquals(-1, BoxScoreRow.positionOfPlayer(rows, 7))
+	}
+
+	@Test
+	fun sortedRowsHaveNoStartersSeparator() {
+		val points = TeamStats.COLUMNS.indexOf("PTS")
+		val rows = rowsFor((1..7).map { statLine(it, it) }, points, true)
+
+		assertEquals(listOf(6, 5, 4, 3, 2, 1, 0),
+				rows.filter { it.type == BoxScoreRow.TYPE_PLAYER }.map { it.row })
+		assertEquals(1, rows.count { it.type == BoxScoreRow.TYPE_SEPARATOR })
+		assertEquals(2, BoxScoreRow.positionOfPlayer(rows, 5))
+	}
+
+	private fun rowsFor(
+			players: List<StatLine>,
+			sortColumn: Int = TeamStats.NO_SORT,
+			descending: Boolean = true): List<BoxScoreRow> {
+		return BoxScoreRow.rowsFor(TeamStats.from(BoxScoreTeam(players, 0)), sortColumn, descending)
+	}
+
+	private fun statLine(pid: Int, pts: Int): StatLine {
+		return StatLine(pts, 30, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "F", "L$pid", pid)
+	}
+}
@@ -1,6 +1,7 @@
 package com.gmail.jorgegilcavazos.ballislife.features.games
 
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepository
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
 import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
@@ -24,10 +25,12 @@ class GamesPresenterTest {
   @Mock private lateinit var mockNetworkUtils: NetworkUtils
   @Mock private lateinit var mockErrorHandler: ErrorHandler
   @Mock private lateinit var localRepository: LocalRepository
+  @Mock private lateinit var mockGamesRepository: GamesRepository
 
   private val loadGamesEvents = PublishRelay.create<GamesUiEvent.LoadGamesEvent>()
   private val refreshGamesEvents = PublishRelay.create<GamesUiEvent.RefreshGamesEvent>()
   private val openGameEvents = PublishRelay.create<GamesUiEvent.OpenGameEvent>()
+  private val gameUpdates = PublishRelay.create<List<GameV2>>()
 
   private lateinit var presenter: GamesPresenter
 
@@ -36,10 +39,12 @@ class GamesPresenterTest {
     `when`(mockView.loadGamesEvents()).thenReturn(loadGamesEvents)
     `when`(mockView.refreshGamesEvents()).thenReturn(refreshGamesEvents)
     `when`(mockView.openGameEvents()).thenReturn(openGameEvents)
+    `when`(mockGamesRepository.gameUpdates()).thenReturn(gameUpdates)
 
     presenter = GamesPresenter(
         localRepository,
         mockGamesModelTransformer,
+        mockGamesRepository,
         CompositeDisposable(),
         mockNetworkUtils,
         mockErrorHandler
@@ -170,6 +175,32 @@ class GamesPresenterTest {
     verify(mockView).showGameDetails(game)
   }
 
+  @Test
+  fun gameUpdatesOfDateShownAreApplied() {
+    val date = Calendar.getInstance()
+    val game = createGameV2(date.timeInMillis / 1000)
+    `when`(mockGamesModelTransformer.uiModels(anyObject())).thenReturn(Observable.never())
+    `when`(mockView.getCurrentDateShown()).thenReturn(date)
+
+    presenter.attachView(mockView)
+    gameUpdates.accept(listOf(game))
+
+    verify(mockView).updateGames(listOf(game))
+  }
+
+  @Test
+  fun gameUpdatesOfOtherDatesAreIgnored() {
+    val date = Calendar.getInstance()
+    val game = createGameV2()
+    `when`(mockGamesModelTransformer.uiModels(anyObject())).thenReturn(Observable.never())
+    `when`(mockView.getCurrentDateShown()).thenReturn(date)
+
+    presenter.attachView(mockView)
+    gameUpdates.accept(listOf(game))
+
+    verify(mockView, never()).updateGames(anyObject())
+  }
+
   @Test
   fun dismissSnackbarOnDetach() {
     `when`(mockGamesModelTransformer.uiModels(anyObject())).thenReturn(Observable.empty())
@@ -179,7 +210,7 @@ class GamesPresenterTest {
     verify(mockView).dismissSnackbar()
   }
 
-  private fun createGameV2(): GameV2 {
+  private fun createGameV2(timeUtc: Long = 23894341): GameV2 {
     return GameV2(
         arena = "AT&T",
         awayTeamAbbr = "SAS",
@@ -203,7 +234,7 @@ class GamesPresenterTest {
         periodStatus = "",
         periodValue = "",
         time = "",
-        timeUtc = 23894341,
+        timeUtc = timeUtc,
         totalPeriods = "",
         broadcasters = mapOf(),
         seriesSummary = null)
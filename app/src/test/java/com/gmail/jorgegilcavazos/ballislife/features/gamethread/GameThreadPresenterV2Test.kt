@@ -8,6 +8,7 @@ import com.gmail.jorgegilcavazos.ballislife.data.actions.models.VoteUIModel
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository
 import com.gmail.jorgegilcavazos.ballislife.data.repository.comments.ContributionRepository
 import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepository
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.LiveComments
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentDelay
 import com.gmail.jorgegilcavazos.ballislife.features.model.CommentWrapper
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadType
@@ -15,8 +16,10 @@ import com.gmail.jorgegilcavazos.ballislife.util.ErrorHandler
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
 import com.google.common.collect.FluentIterable
+import com.nhaarman.mockito_kotlin.any
 import com.nhaarman.mockito_kotlin.mock
 import io.reactivex.Observable
+import io.reactivex.Single
 import io.reactivex.disposables.CompositeDisposable
 import io.reactivex.subjects.PublishSubject
 import net.dean.jraw.models.Comment
@@ -395,6 +398,33 @@ class GameThreadPresenterV2Test {
     verify(mockView).hideNoThreadText()
   }
 
+  @Test
+  fun streamingInsertsOnlyNewComments() {
+    `when`(mockView.getCommentDelay()).thenReturn(CommentDelay.NONE)
+    val now = System.currentTimeMillis()
+    val mockComment = prepareMockComment("c1", null, now - 60000)
+    val mockCommentNode = Mockito.mock(CommentNode::class.java)
+    `when`(mockCommentNode.comment).thenReturn(mockComment)
+    `when`(mockCommentNode.depth).thenReturn(0)
+    val mockRoot = Mockito.mock(CommentNode::class.java)
+    `when`(mockRoot.walkTree()).thenReturn(FluentIterable.of(mockCommentNode))
+    val mockSubmission = Mockito.mock(Submission::class.java)
+    `when`(mockSubmission.comments).thenReturn(mockRoot)
+    val mockReply = prepareMockComment("c2", "c1", now - 1000)
+    `when`(mockGameThreadsRepository.gameThreads(HOME, VISITOR, GAME_TIME_UTC, THREAD_TYPE))
+        .thenReturn(Observable.just(GameThreadsUIModel.found(mockSubmission)))
+    `when`(mockGameThreadsRepository.newComments(mockSubmission, "t1_c1"))
+        .thenReturn(Single.just(LiveComments(listOf(mockComment, mockReply), "t1_c2")))
+
+    presenter.setShouldStream(true)
+    presenter.loadGameThread()
+
+    verify(mockGameThreadsRepository, times(1))
+        .gameThreads(HOME, VISITOR, GAME_TIME_UTC, THREAD_TYPE)
+    verify(mockView, times(1)).showComments(ArgumentMatchers.anyList())
+    verify(mockView, times(1)).insertComment(any(), eq("c1"))
+  }
+
   @Test
   fun replyToCommentInProgress() {
     `when`(mockRedditActions.replyToComment(PARENT_FULLNAME, RESPONSE))
@@ -513,6 +543,20 @@ class GameThreadPresenterV2Test {
     verify(mockView).uncollapseComments("COMMENT_ID")
   }
 
+  private fun prepareMockComment(id: String, parentId: String?, created: Long): Comment {
+    val mockComment = Mockito.mock(Comment::class.java)
+    `when`(mockComment.id).thenReturn(id)
+    `when`(mockComment.fullName).thenReturn("t1_$id")
+    `when`(mockComment.author).thenReturn("")
+    `when`(mockComment.created).thenReturn(Date(created))
+    `when`(mockComment.body).thenReturn("")
+    `when`(mockComment.data("body_html")).thenReturn("")
+    `when`(mockComment.data("parent_id"))
+        .thenReturn(if (parentId == null) "t3_$SUBMISSION_ID" else "t1_$parentId")
+    `when`(mockComment.vote).thenReturn(VoteDirection.UPVOTE)
+    return mockComment
+  }
+
   private fun setupMocksForNode(commentNode: CommentNode) {
     val mockComment1 = Mockito.mock(Comment::class.java)
     `when`(mockComment1.id).thenReturn("id")
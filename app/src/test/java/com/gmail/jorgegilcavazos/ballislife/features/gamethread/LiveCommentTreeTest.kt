@@ -0,0 +1,124 @@
+package com.gmail.jorgegilcavazos.ballislife.features.gamethread
+
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.LiveComments
+import com.google.common.collect.FluentIterable
+import junit.framework.Assert
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import net.dean.jraw.models.Submission
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import java.util.*
+
+class LiveCommentTreeTest {
+
+  companion object {
+    private const val SUBMISSION_FULLNAME = "t3_82fh"
+    private const val NOW = 1000000L
+    private const val DELAY_MS = 30000L
+  }
+
+  private lateinit var tree: LiveCommentTree
+
+  @Before
+  fun setUp() {
+    tree = LiveCommentTree()
+  }
+
+  @Test
+  fun resetShowsTheLoadedComments() {
+    val top = createComment("a", null, NOW - 60000)
+    val reply = createComment("b", "a", NOW - 50000)
+
+    val shown = tree.reset(createSubmission(node(top, 0), node(reply, 1)), 0, NOW)
+
+    Assert.assertEquals(listOf(top, reply), shown.map { it.comment })
+    Assert.assertEquals("t1_b", tree.cursor)
+  }
+
+  @Test
+  fun onlyNewCommentsAreInserted() {
+    val top = createComment("a", null, NOW - 60000)
+    tree.reset(createSubmission(node(top, 0)), 0, NOW)
+    val newTop = createComment("b", null, NOW - 2000)
+    val newReply = createComment("c", "a", NOW - 1000)
+
+    // The newest page may still list comments already loaded.
+    val inserted = tree.add(LiveComments(listOf(top, newTop, newReply), "t1_c"), 0, NOW)
+
+    Assert.assertEquals(
+        listOf(
+            LiveCommentTree.LiveComment(newTop, 0, null),
+            LiveCommentTree.LiveComment(newReply, 1, "a")),
+        inserted)
+    Assert.assertEquals("t1_c", tree.cursor)
+  }
+
+  @Test
+  fun recentCommentsAreHeldUntilOldEnough() {
+    val top = createComment("a", null, NOW - 60000)
+    val recent = createComment("b", "a", NOW - 10000)
+    tree.reset(createSubmission(node(top, 0), node(recent, 1)), DELAY_MS, NOW)
+    val newer = createComment("c", "b", NOW - 5000)
+
+    Assert.assertTrue(tree.add(LiveComments(listOf(newer), "t1_c"), DELAY_MS, NOW).isEmpty())
+    val released = tree.release(DELAY_MS, NOW + 30000)
+
+    Assert.assertEquals(
+        listOf(
+            LiveCommentTree.LiveComment(recent, 1, "a"),
+            LiveCommentTree.LiveComment(newer, 2, "b")),
+        released)
+  }
+
+  @Test
+  fun repliesToCommentsNotShownAreDropped() {
+    tree.reset(createSubmission(), 0, NOW)
+    val orphan = createComment("b", "x", NOW - 1000)
+
+    Assert.assertTrue(tree.add(LiveComments(listOf(orphan), "t1_b"), 0, NOW).isEmpty())
+    Assert.assertTrue(tree.release(0, NOW).isEmpty())
+  }
+
+  @Test
+  fun cursorIsResetAfterEmptyFetches() {
+    val top = createComment("a", null, NOW - 60000)
+    tree.reset(createSubmission(node(top, 0)), 0, NOW)
+
+    repeat(LiveCommentTree.EMPTY_FETCHES_BEFORE_RESET - 1) {
+      tree.add(LiveComments(emptyList(), "t1_a"), 0, NOW)
+    }
+    Assert.assertEquals("t1_a", tree.cursor)
+    tree.add(LiveComments(emptyList(), "t1_a"), 0, NOW)
+
+    Assert.assertNull(tree.cursor)
+  }
+
+  private fun createSubmission(vararg nodes: CommentNode): Submission {
+    val root = mock(CommentNode::class.java)
+    `when`(root.walkTree()).thenReturn(FluentIterable.from(nodes.toList()))
+    val submission = mock(Submission::class.java)
+    `when`(submission.comments).thenReturn(root)
+    return submission
+  }
+
+  private fun node(comment: Comment, depth: Int): CommentNode {
+    val node = mock(CommentNode::class.java)
+    `when`(node.comment).thenReturn(comment)
+    `when`(node.depth).thenReturn(depth)
+    return node
+  }
+
+  private fun createComment(id: String, parentId: String?, created: Long): Comment {
+    val comment = mock(Comment::class.java)
+    `when`(comment.id).thenReturn(id)
+    `when`(comment.fullName).thenReturn("t1_$id")
+    `when`(comment.created).thenReturn(Date(created))
+    `when`(comment.data("link_id")).thenReturn(SUBMISSION_FULLNAME)
+    `when`(comment.data("parent_id"))
+        .thenReturn(if (parentId == null) SUBMISSION_FULLNAME else "t1_$parentId")
+    return comment
+  }
+}
@@ -0,0 +1,150 @@
+package com.gmail.jorgegilcavazos.ballislife.features.highlights
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
+import com.squareup.picasso.Picasso
+import com.squareup.picasso.RequestCreator
+import com.squareup.picasso.Target
+import junit.framework.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.Mock
+import org.mockito.Mockito.RETURNS_SELF
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.MockitoAnnotations
+import org.mockito.junit.MockitoJUnitRunner
+
+/**
+ * Tests for the [ThumbnailPrefetcher].
+ */
+@RunWith(MockitoJUnitRunner::class)
+class ThumbnailPrefetcherTest {
+
+  @Mock private lateinit var picasso: Picasso
+  @Mock private lateinit var networkUtils: NetworkUtils
+
+  private lateinit var requestCreator: RequestCreator
+  private var now = 0L
+  private val highlights = (0 until 20).map { createHighlight(it) }
+
+  @Before
+  fun setUp() {
+    MockitoAnnotations.initMocks(this)
+    requestCreator = mock(RequestCreator::class.java, RETURNS_SELF)
+  }
+
+  @Test
+  fun onlyThumbnailsAfterTheVisibleOnesAreFetched() {
+    val prefetcher = createPrefetcher(window = 3, maxInFlight = 2)
+
+    prefetcher.onVisibleRangeChanged(0, 2, highlights)
+
+    // Three in the window but only two at a time, the closest first.
+    verify(picasso).load("hd3")
+    verify(picasso).load("hd4")
+    verify(picasso, never()).load("hd5")
+    verify(picasso, never()).load("hd2")
+  }
+
+  @Test
+  fun nextThumbnailIsFetchedWhenOneFinishes() {
+    val prefetcher = createPrefetcher(window = 3, maxInFlight = 2)
+    val targets = ArgumentCaptor.forClass(Target::class.java)
+
+    prefetcher.onVisibleRangeChanged(0, 2, highlights)
+    verify(requestCreator, times(2)).into(targets.capture())
+    targets.allValues[0].onBitmapFailed(null)
+
+    verify(picasso).load("hd5")
+  }
+
+  @Test
+  fun fetchesFarFromTheVisibleRangeAreCancelled() {
+    val prefetcher = createPrefetcher(window = 3, maxInFlight = 2)
+    val targets = ArgumentCaptor.forClass(Target::class.java)
+
+    prefetcher.onVisibleRangeChanged(0, 2, highlights)
+    verify(requestCreator, times(2)).into(targets.capture())
+    prefetcher.onVisibleRangeChanged(10, 12, highlights)
+
+    verify(picasso).cancelRequest(targets.allValues[0])
+    verify(picasso).cancelRequest(targets.allValues[1])
+    verify(picasso).load("hd13")
+    verify(picasso).load("hd14")
+  }
+
+  @Test
+  fun lowResThumbnailsOnMeteredNetworks() {
+    `when`(networkUtils.isNetworkMetered()).thenReturn(true)
+    val prefetcher = createPrefetcher(window = 1, maxInFlight = 1)
+
+    prefetcher.onVisibleRangeChanged(0, 0, highlights)
+
+    Assert.assertTrue(prefetcher.preferLowRes)
+    verify(picasso).load("sd1")
+  }
+
+  @Test
+  fun meteredNetworkIsCheckedAtMostEveryInterval() {
+    val prefetcher = createPrefetcher(window = 1, maxInFlight = 1)
+    `when`(networkUtils.isNetworkMetered()).thenReturn(true)
+
+    prefetcher.onVisibleRangeChanged(0, 0, highlights)
+    Assert.assertFalse(prefetcher.preferLowRes)
+    now += ThumbnailPrefetcher.METERED_CHECK_INTERVAL_MS
+    prefetcher.onVisibleRangeChanged(0, 0, highlights)
+
+    Assert.assertTrue(prefetcher.preferLowRes)
+    verify(networkUtils, times(2)).isNetworkMetered()
+  }
+
+  @Test
+  fun sameVisibleRangeIsNotRecomputed() {
+    val prefetcher = createPrefetcher(window = 1, maxInFlight = 1)
+    val targets = ArgumentCaptor.forClass(Target::class.java)
+
+    prefetcher.onVisibleRangeChanged(0, 2, highlights)
+    verify(requestCreator).into(targets.capture())
+    targets.value.onBitmapFailed(null)
+    // Failed fetches would be retried if the window was computed again.
+    prefetcher.onVisibleRangeChanged(0, 2, highlights)
+    prefetcher.onVisibleRangeChanged(1, 3, highlights)
+
+    verify(picasso, times(1)).load("hd3")
+    verify(picasso).load("hd4")
+  }
+
+  @Test
+  fun thumbnailOfFallsBackToTheOtherResolution() {
+    val sdOnly = createHighlight(0).copy(hdThumbnail = "")
+    val hdOnly = createHighlight(0).copy(thumbnail = null)
+
+    Assert.assertEquals("sd0", ThumbnailPrefetcher.thumbnailOf(sdOnly, false))
+    Assert.assertEquals("hd0", ThumbnailPrefetcher.thumbnailOf(hdOnly, true))
+    Assert.assertNull(ThumbnailPrefetcher.thumbnailOf(sdOnly.copy(thumbnail = ""), false))
+  }
+
+  private fun createPrefetcher(window: Int, maxInFlight: Int): ThumbnailPrefetcher {
+    `when`(picasso.load(anyString())).thenReturn(requestCreator)
+    return ThumbnailPrefetcher(picasso, networkUtils, window, maxInFlight, { now })
+  }
+
+  private fun createHighlight(position: Int): Highlight {
+    return Highlight(
+        id = position.toString(),
+        title = "Title",
+        thumbnail = "sd$position",
+        hdThumbnail = "hd$position",
+        url = "",
+        score = 0,
+        createdUtc = 0
+    )
+  }
+}
@@ -0,0 +1,86 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class BoxScoreStatsTest {
+
+  @Test
+  fun teamTotalsSumPlayers() {
+    val stats = teamStats(
+        statLine(pts = 10, fga = 8, fgm = 4), statLine(pts = 22, fga = 15, fgm = 9))
+
+    assertEquals(2, stats.totalsRow)
+    assertEquals(32, stats.stat(stats.totalsRow, TeamStatColumns.PTS))
+    assertEquals(23, stats.stat(stats.totalsRow, TeamStatColumns.FGA))
+    assertEquals(13, stats.stat(stats.totalsRow, TeamStatColumns.FGM))
+    assertEquals(60, stats.stat(stats.totalsRow, TeamStatColumns.MIN))
+    assertEquals("32", stats.text(stats.totalsRow, TeamStats.COLUMNS.indexOf("PTS")))
+  }
+
+  @Test
+  fun shootingPercentages() {
+    // 5/10 FG with 2 threes, 4/5 FT: 16 points.
+    val stats = teamStats(statLine(pts = 16, fga = 10, fgm = 5, tpa = 4, tpm = 2, fta = 5,
+        ftm = 4))
+
+    assertEquals(0.5, stats.pct(0, TeamStats.COLUMN_FG_PCT)!!, 0.0001)
+    assertEquals(0.5, stats.pct(0, TeamStats.COLUMN_TP_PCT)!!, 0.0001)
+    assertEquals(0.8, stats.pct(0, TeamStats.COLUMN_FT_PCT)!!, 0.0001)
+    assertEquals(0.6, stats.pct(0, TeamStats.COLUMN_EFG_PCT)!!, 0.0001)
+    assertEquals(16 / (2 * (10 + 0.44 * 5)), stats.pct(0, TeamStats.COLUMN_TS_PCT)!!, 0.0001)
+    assertEquals("50%", stats.text(0, TeamStats.COLUMNS.indexOf("FG%")))
+    assertEquals("60%", stats.text(0, TeamStats.COLUMNS.indexOf("EFG%")))
+  }
+
+  @Test
+  fun noAttempts() {
+    val stats = teamStats(statLine())
+
+    assertNull(stats.pct(0, TeamStats.COLUMN_FG_PCT))
+    assertNull(stats.pct(0, TeamStats.COLUMN_TS_PCT))
+    assertEquals("-", stats.text(0, TeamStats.COLUMNS.indexOf("3P%")))
+  }
+
+  @Test
+  fun playerNames() {
+    val stats = teamStats(statLine(), statLine().copy(fn = null, ln = "Nenê"))
+
+    assertEquals("F. L", stats.playerName(0))
+    assertEquals("Nenê", stats.playerName(1))
+  }
+
+  @Test
+  fun playersSortedByColumn() {
+    val stats = teamStats(
+        statLine(pts = 10, fga = 10, fgm = 5),
+        statLine(pts = 22, fga = 20, fgm = 8),
+        statLine(pts = 10),
+        statLine(pts = 2, fga = 2, fgm = 2))
+    val points = TeamStats.COLUMNS.indexOf("PTS")
+
+    assertEquals(listOf(1, 0, 2, 3), (0..3).map { stats.playerAt(it, points, true) })
+    assertEquals(listOf(3, 2, 0, 1), (0..3).map { stats.playerAt(it, points, false) })
+    // Without attempts last.
+    assertEquals(listOf(3, 0, 1, 2),
+        (0..3).map { stats.playerAt(it, TeamStats.COLUMN_FG_PCT, true) })
+    assertEquals(listOf(0, 1, 2, 3), (0..3).map { stats.playerAt(it, TeamStats.NO_SORT, true) })
+  }
+
+  private fun teamStats(vararg players: StatLine): TeamStats {
+    return TeamStats.from(BoxScoreTeam(players.toList(), 0))
+  }
+
+  private fun statLine(
+      pts: Int = 0,
+      fga: Int = 0,
+      fgm: Int = 0,
+      tpa: Int = 0,
+      tpm: Int = 0,
+      fta: Int = 0,
+      ftm: Int = 0
+  ): StatLine {
+    return StatLine(pts, 30, 0, 0, 0, 0, 0, 0, 0, 0, 0, fga, fgm, tpa, tpm, fta, ftm, 0, "F", "L")
+  }
+}
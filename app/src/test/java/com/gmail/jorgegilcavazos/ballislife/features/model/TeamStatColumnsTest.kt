@@ -0,0 +1,71 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class TeamStatColumnsTest {
+
+  @Test
+  fun statLinesRoundTrip() {
+    val statLines = listOf(
+        StatLine(30, 36, 8, 7, 6, 1, 2, 0, 3, 4, 2, 20, 11, 8, 4, 5, 4, 12, "Kawhi", "Leonard",
+            202695),
+        StatLine(4, 12, 0, 2, 2, 0, 0, 1, 0, 1, 3, 5, 2, 0, 0, 0, 0, -6, null, "Nenê"))
+
+    val columns = TeamStatColumns.from(statLines)
+
+    assertEquals(2, columns.playerCount)
+    assertEquals(30, columns.get(TeamStatColumns.PTS, 0))
+    assertEquals(-6, columns.get(TeamStatColumns.PM, 1))
+    assertEquals(34, columns.total(TeamStatColumns.PTS))
+    assertNull(columns.playerId(1))
+    assertEquals("null Nenê", columns.playerKey(1))
+    assertEquals(statLines, columns.toStatLines())
+  }
+
+  @Test
+  fun builderGrowsAndDefaultsToZero() {
+    val builder = TeamStatColumns.Builder(1)
+    repeat(20) {
+      val player = builder.addPlayer()
+      builder.setStat(player, TeamStatColumns.AST, player)
+    }
+
+    val columns = builder.build()
+
+    assertEquals(20, columns.playerCount)
+    assertEquals(19, columns.get(TeamStatColumns.AST, 19))
+    assertEquals(0, columns.get(TeamStatColumns.PTS, 19))
+    assertNull(columns.playerId(19))
+  }
+
+  @Test
+  fun sortIsStableInBothDirections() {
+    val columns = TeamStatColumns.from(listOf(
+        statLine(1, pts = 10), statLine(2, pts = 25), statLine(3, pts = 10), statLine(4, pts = 3)))
+    val order = intArrayOf(0, 1, 2, 3)
+
+    columns.sort(order, TeamStatColumns.PTS, descending = true)
+    assertArrayEquals(intArrayOf(1, 0, 2, 3), order)
+
+    columns.sort(order, TeamStatColumns.PTS, descending = false)
+    assertArrayEquals(intArrayOf(3, 0, 2, 1), order)
+  }
+
+  @Test
+  fun samePlayerLine() {
+    val before = TeamStatColumns.from(listOf(statLine(1, pts = 10), statLine(2, pts = 4)))
+    val after = TeamStatColumns.from(listOf(statLine(1, pts = 10), statLine(2, pts = 6)))
+
+    assertTrue(before.samePlayerLine(0, after, 0))
+    assertFalse(before.samePlayerLine(1, after, 1))
+  }
+
+  private fun statLine(pid: Int, pts: Int): StatLine {
+    return StatLine(pts, 30, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "F", "L$pid", pid)
+  }
+}